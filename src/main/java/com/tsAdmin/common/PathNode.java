@@ -1,6 +1,7 @@
 package com.tsAdmin.common;
 
 import com.tsAdmin.model.Demand;
+import com.tsAdmin.model.poi.Poi;
 
 /** 车辆路径点 */
 public class PathNode
@@ -17,6 +18,8 @@ public class PathNode
 
     public Demand getDemand() { return demand; }
     public boolean isOrigin() { return isOrigin; }
+    /** @return 路径点所在的兴趣点：起点为订单起点，终点为订单终点 */
+    public Poi getPoi() { return isOrigin ? demand.getOriginPoi() : demand.getDestinationPoi(); }
 
     /**
      * 根据订单生成路径点对
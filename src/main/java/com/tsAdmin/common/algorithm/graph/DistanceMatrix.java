@@ -0,0 +1,198 @@
+package com.tsAdmin.common.algorithm.graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.tsAdmin.common.Coordinate;
+import com.tsAdmin.model.poi.Poi;
+
+/**
+ * 兴趣点间的稠密距离矩阵
+ * 兴趣点位置固定不变，而所有装卸点都是兴趣点，因此路径中除车辆当前位置到首个路径点之外的每一段距离
+ * 都可以在启动时一次算好，评估时按兴趣点下标（{@link Poi#getIndex()}）查表
+ *
+ * - 距离来源：默认为坐标直线距离（与 {@link Coordinate#distance} 逐位相同）；传入路网图时使用其最短路距离
+ * - 持久化：矩阵连同兴趣点指纹写入磁盘，下次启动时指纹一致即直接读取，路网最短路的计算只需进行一次
+ *
+ * 矩阵构建后只读，可被多个调度线程同时查询
+ * 矩阵大小随兴趣点数平方增长，兴趣点超过 {@link #MAX_SIZE} 个时不建立矩阵，由调用方退回按坐标计算
+ */
+public final class DistanceMatrix
+{
+    /** 矩阵可覆盖的最大兴趣点数，对应约 128 MB 的矩阵 */
+    public static final int MAX_SIZE = 4096;
+
+    private static final int MAGIC = 0x504F4944;  // 文件头 "POID"
+
+    /** 当前生效的矩阵，由兴趣点管理器在初始化时设置 */
+    private static volatile DistanceMatrix shared;
+
+    private final int size;
+    private final long fingerprint;
+    private final double[] distances;  // 按行存储，distances[from * size + to]
+
+    private DistanceMatrix(int size, long fingerprint, double[] distances)
+    {
+        this.size = size;
+        this.fingerprint = fingerprint;
+        this.distances = distances;
+    }
+
+    /**
+     * 计算距离矩阵
+     * @param points 按兴趣点下标排列的坐标
+     * @param graph 路网图，为null时使用直线距离
+     * @param fingerprint 兴趣点指纹，见 {@link #fingerprint(List, boolean)}
+     * @return 距离矩阵
+     * @throws IllegalArgumentException 兴趣点数超过 {@link #MAX_SIZE}
+     */
+    public static DistanceMatrix build(List<Coordinate> points, GraphAlgorithm graph, long fingerprint)
+    {
+        int n = points.size();
+        if (!supports(n))
+        {
+            throw new IllegalArgumentException("兴趣点数超过距离矩阵上限: " + n + " > " + MAX_SIZE);
+        }
+
+        double[] distances = new double[entryCount(n)];
+        for (int from = 0; from < n; from++)
+        {
+            for (int to = 0; to < n; to++)
+            {
+                if (from == to)
+                {
+                    continue;
+                }
+                distances[from * n + to] = graph == null
+                    ? Coordinate.distance(points.get(from), points.get(to))
+                    : graph.shortestDistance(points.get(from), points.get(to));
+            }
+        }
+        return new DistanceMatrix(n, fingerprint, distances);
+    }
+
+    /**
+     * 兴趣点指纹：兴趣点数量、顺序、坐标或距离来源任一变化时指纹随之变化，缓存的矩阵即失效
+     * @param points 按兴趣点下标排列的坐标
+     * @param roadDistance 是否使用路网距离
+     * @return 指纹
+     */
+    public static long fingerprint(List<Coordinate> points, boolean roadDistance)
+    {
+        long hash = roadDistance ? 1 : 0;
+        for (Coordinate point : points)
+        {
+            hash = hash * 31 + Double.doubleToLongBits(point.lat);
+            hash = hash * 31 + Double.doubleToLongBits(point.lon);
+        }
+        return hash * 31 + points.size();
+    }
+
+    /**
+     * 读取持久化的矩阵
+     * @param file 文件路径
+     * @param fingerprint 期望的兴趣点指纹
+     * @return 文件存在且指纹一致时返回矩阵，否则返回null
+     * @throws IOException 文件读取失败
+     */
+    public static DistanceMatrix load(Path file, long fingerprint) throws IOException
+    {
+        if (!Files.isRegularFile(file))
+        {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file))))
+        {
+            if (in.readInt() != MAGIC || in.readLong() != fingerprint)
+            {
+                return null;
+            }
+            int n = in.readInt();
+            if (n < 0 || !supports(n))
+            {
+                return null;
+            }
+            double[] distances = new double[entryCount(n)];
+            for (int i = 0; i < distances.length; i++)
+            {
+                distances[i] = in.readDouble();
+            }
+            return new DistanceMatrix(n, fingerprint, distances);
+        }
+    }
+
+    /**
+     * 将矩阵写入磁盘
+     * @param file 文件路径，上级目录不存在时自动创建
+     * @throws IOException 文件写入失败
+     */
+    public void save(Path file) throws IOException
+    {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null)
+        {
+            Files.createDirectories(parent);
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file))))
+        {
+            out.writeInt(MAGIC);
+            out.writeLong(fingerprint);
+            out.writeInt(size);
+            for (double distance : distances)
+            {
+                out.writeDouble(distance);
+            }
+        }
+    }
+
+    /**
+     * @param pointCount 兴趣点数
+     * @return 是否可以为这么多兴趣点建立矩阵
+     */
+    public static boolean supports(int pointCount) { return pointCount <= MAX_SIZE; }
+
+    /** 矩阵元素数，按 long 计算后再收窄，调用前已由 {@link #supports} 保证不溢出 */
+    private static int entryCount(int n) { return Math.toIntExact((long)n * n); }
+
+    /** @return 矩阵覆盖的兴趣点数 */
+    public int size() { return size; }
+
+    /**
+     * @param from 起点兴趣点下标
+     * @param to 终点兴趣点下标
+     * @return 两兴趣点间的距离
+     */
+    public double distance(int from, int to) { return distances[from * size + to]; }
+
+    /** @param matrix 当前生效的矩阵，为null时所有距离按坐标计算 */
+    public static void setShared(DistanceMatrix matrix) { shared = matrix; }
+
+    /** @return 当前生效的矩阵，尚未设置时为null */
+    public static DistanceMatrix getShared() { return shared; }
+
+    /**
+     * 两个兴趣点间的距离：当前矩阵覆盖两者时查表，否则（例如兴趣点不是由管理器登记的）按坐标计算
+     * @param from 起点兴趣点
+     * @param to 终点兴趣点
+     * @return 距离
+     */
+    public static double between(Poi from, Poi to)
+    {
+        DistanceMatrix matrix = shared;
+        int i = from.getIndex();
+        int j = to.getIndex();
+        if (matrix != null && i >= 0 && j >= 0 && i < matrix.size && j < matrix.size)
+        {
+            return matrix.distances[i * matrix.size + j];
+        }
+        return Coordinate.distance(from.getPosition(), to.getPosition());
+    }
+}
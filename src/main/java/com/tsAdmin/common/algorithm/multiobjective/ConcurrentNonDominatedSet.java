@@ -0,0 +1,137 @@
+package com.tsAdmin.common.algorithm.multiobjective;  // 包声明：多目标优化算法包
+
+import java.util.List;
+import java.util.Map;
+
+import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator.ObjectiveVector;
+import com.tsAdmin.model.Assignment;
+
+/**
+ * 线程安全的非支配集
+ * 所有读写操作都在同一把对象锁下进行，供多条并行退火链共享同一个帕累托存档
+ * 
+ * 使用方式：
+ * - 每条退火链在本地非支配集上迭代，不直接竞争本锁
+ * - 链周期性调用 {@link #merge(NonDominatedSet)} 将本地前沿批量并入共享存档，一次合并只加锁一次
+ * - 前端线程读取前沿时同样受锁保护，不会与调度线程的写入冲突
+ */
+public class ConcurrentNonDominatedSet extends NonDominatedSet
+{
+    public ConcurrentNonDominatedSet()
+    {
+        super();
+    }
+
+    public ConcurrentNonDominatedSet(DominanceComparator comparator)
+    {
+        super(comparator);
+    }
+
+    @Override
+    public synchronized void setCapacity(int capacity)
+    {
+        super.setCapacity(capacity);
+    }
+
+    @Override
+    public synchronized int getCapacity()
+    {
+        return super.getCapacity();
+    }
+
+    @Override
+    public synchronized AddResult add(ObjectiveVector newVector, List<Assignment> newAssignments)
+    {
+        return super.add(newVector, newAssignments);
+    }
+
+    @Override
+    public synchronized AddAnalysis analyzeAdd(ObjectiveVector newVector)
+    {
+        return super.analyzeAdd(newVector);
+    }
+
+    @Override
+    public synchronized void forceAdd(ObjectiveVector newVector, List<Assignment> newAssignments)
+    {
+        super.forceAdd(newVector, newAssignments);
+    }
+
+    @Override
+    public synchronized int merge(NonDominatedSet other)
+    {
+        return super.merge(other);
+    }
+
+    @Override
+    public synchronized boolean contains(ObjectiveVector vector)
+    {
+        return super.contains(vector);
+    }
+
+    @Override
+    public synchronized boolean remove(NonDominatedSolution solution)
+    {
+        return super.remove(solution);
+    }
+
+    @Override
+    public synchronized void clear()
+    {
+        super.clear();
+    }
+
+    @Override
+    public synchronized List<NonDominatedSolution> getSolutions()
+    {
+        return super.getSolutions();
+    }
+
+    @Override
+    public synchronized ObjectiveVector findClosest(ObjectiveVector vector, DynamicNormalizer normalizer)
+    {
+        return super.findClosest(vector, normalizer);
+    }
+
+    @Override
+    public synchronized List<ObjectiveVector> getObjectiveVectors()
+    {
+        return super.getObjectiveVectors();
+    }
+
+    @Override
+    public synchronized int size()
+    {
+        return super.size();
+    }
+
+    @Override
+    public synchronized boolean isEmpty()
+    {
+        return super.isEmpty();
+    }
+
+    @Override
+    public synchronized NonDominatedSolution get(int index)
+    {
+        return super.get(index);
+    }
+
+    @Override
+    public synchronized double getBestValue(MultiObjectiveEvaluator.ObjectiveType objectiveType)
+    {
+        return super.getBestValue(objectiveType);
+    }
+
+    @Override
+    public synchronized double getWorstValue(MultiObjectiveEvaluator.ObjectiveType objectiveType)
+    {
+        return super.getWorstValue(objectiveType);
+    }
+
+    @Override
+    public synchronized Map<MultiObjectiveEvaluator.ObjectiveType, double[]> getValueRange()
+    {
+        return super.getValueRange();
+    }
+}
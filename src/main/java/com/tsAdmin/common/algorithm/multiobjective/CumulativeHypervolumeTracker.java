@@ -0,0 +1,170 @@
+package com.tsAdmin.common.algorithm.multiobjective;  // 包声明：多目标优化算法包
+
+import java.util.Random;
+
+import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator.ObjectiveVector;
+
+/**
+ * 累计超体积（Hypervolume）跟踪器
+ * 以蒙特卡洛方式估计一组解在归一化目标空间中支配的体积：在参考盒 [-0.1, 1.1]^5 中固定撒下一组采样点，
+ * 被某个已加入解（弱）支配的采样点所占比例即为超体积（相对参考盒体积）的估计值
+ * 参考盒在归一化范围两端各外扩 10%：上端使取到某一目标最差值的边界解（例如运量最大但等待最长的解）也能贡献体积，
+ * 下端使优于冻结时理想点的改进仍能体现为超体积增长
+ *
+ * - 冻结归一化：创建时复制归一化器当前的范围，此后不再随动态归一化器变化，保证同一次退火中的数值可比
+ * - 增量更新：每加入一个解只需扫描一遍采样点，标记新被覆盖的点，代价与前沿规模无关
+ * - 累计语义：跟踪的是所有曾经加入的解共同支配的区域，解从前沿中删除时不会撤销其覆盖，
+ *   因此累计值只增不减，其在滑动窗口内的增量可直接作为收敛判据
+ *   因被支配而删除的解，其支配区域包含于支配它的新解之内，不影响累计值与前沿超体积的一致；
+ *   有界存档按拥挤距离剔除解后，累计值会大于当前前沿的超体积，此时应以 {@link #measure} 得到前沿本身的超体积
+ *
+ * 非线程安全，每条退火链各自持有一个实例
+ */
+public class CumulativeHypervolumeTracker
+{
+    /** 默认采样点数，估计值的分辨率为 1 / 采样点数 */
+    public static final int DEFAULT_SAMPLE_COUNT = 4096;
+
+    private static final double BOX_LOWER = -0.1;  // 参考盒下界（归一化坐标）
+    private static final double BOX_UPPER = 1.1;   // 参考盒上界，即参考点坐标
+
+    private final double[] min;        // 冻结的各目标下界（比较值）
+    private final double[] range;      // 冻结的各目标跨度
+    private final double[][] samples;  // 采样点坐标，按目标分列存储
+    private final boolean[] covered;   // 采样点是否已被支配
+    private final double[] point;      // 归一化坐标缓冲，避免每次更新分配
+    private int coveredCount = 0;
+
+    /**
+     * @param normalizer 归一化器，复制其当前范围后即与之无关
+     * @param sampleCount 采样点数
+     * @param seed 采样种子，相同种子得到相同的采样点
+     */
+    public CumulativeHypervolumeTracker(DynamicNormalizer normalizer, int sampleCount, long seed)
+    {
+        int dimension = ObjectiveVector.DIMENSION;
+        this.min = new double[dimension];
+        this.range = new double[dimension];
+        this.point = new double[dimension];
+        for (int d = 0; d < dimension; d++)
+        {
+            if (normalizer.isScalable(d))
+            {
+                min[d] = normalizer.getMin(d);
+                range[d] = normalizer.getRangeSize(d);
+            }
+            else
+            {
+                // 范围退化（例如前沿只有一个解）或尚无样本时，以下界绝对值的10%（至少为1）作为跨度
+                min[d] = normalizer.isInitialized(d) ? normalizer.getMin(d) : 0.0;
+                range[d] = Math.max(1.0, Math.abs(min[d])) * 0.1;
+            }
+        }
+
+        Random random = new Random(seed);
+        this.samples = new double[dimension][sampleCount];
+        for (int i = 0; i < sampleCount; i++)
+        {
+            for (int d = 0; d < dimension; d++)
+            {
+                samples[d][i] = BOX_LOWER + random.nextDouble() * (BOX_UPPER - BOX_LOWER);
+            }
+        }
+        this.covered = new boolean[sampleCount];
+    }
+
+    /**
+     * 加入一个解，标记其新支配的采样点
+     * @param vector 解的目标向量
+     * @return 本次新覆盖的采样点数
+     */
+    public int add(ObjectiveVector vector)
+    {
+        for (int d = 0; d < point.length; d++)
+        {
+            point[d] = normalize(d, vector.getComparableValue(d));
+        }
+
+        int newlyCovered = 0;
+        for (int i = 0; i < covered.length; i++)
+        {
+            if (covered[i]) continue;
+
+            boolean dominated = true;
+            for (int d = 0; d < point.length && dominated; d++)
+            {
+                dominated = point[d] <= samples[d][i];
+            }
+            if (dominated)
+            {
+                covered[i] = true;
+                newlyCovered++;
+            }
+        }
+        coveredCount += newlyCovered;
+        return newlyCovered;
+    }
+
+    /**
+     * 加入非支配集中的全部解
+     * @param nonDominatedSet 非支配集
+     */
+    public void addAll(NonDominatedSet nonDominatedSet)
+    {
+        for (ObjectiveVector vector : nonDominatedSet.getObjectiveVectors())
+        {
+            add(vector);
+        }
+    }
+
+    /**
+     * @return 所有已加入解的累计超体积估计值（占参考盒体积的比例），取值 [0, 1]
+     */
+    public double getHypervolume()
+    {
+        return (double)coveredCount / covered.length;
+    }
+
+    /**
+     * 以相同的冻结范围与采样点估计给定前沿的超体积，不改变累计状态
+     * @param nonDominatedSet 非支配集
+     * @return 前沿超体积估计值，取值 [0, 1]
+     */
+    public double measure(NonDominatedSet nonDominatedSet)
+    {
+        boolean[] dominated = new boolean[covered.length];
+        int count = 0;
+        for (ObjectiveVector vector : nonDominatedSet.getObjectiveVectors())
+        {
+            for (int d = 0; d < point.length; d++)
+            {
+                point[d] = normalize(d, vector.getComparableValue(d));
+            }
+            for (int i = 0; i < dominated.length; i++)
+            {
+                if (dominated[i]) continue;
+
+                boolean inside = true;
+                for (int d = 0; d < point.length && inside; d++)
+                {
+                    inside = point[d] <= samples[d][i];
+                }
+                if (inside)
+                {
+                    dominated[i] = true;
+                    count++;
+                }
+            }
+        }
+        return (double)count / dominated.length;
+    }
+
+    /**
+     * 按冻结范围把比较值线性映射（下界为0、上界为1），并截断到参考盒内
+     */
+    private double normalize(int index, double comparable)
+    {
+        double normalized = (comparable - min[index]) / range[index];
+        return Math.min(BOX_UPPER, Math.max(BOX_LOWER, normalized));
+    }
+}
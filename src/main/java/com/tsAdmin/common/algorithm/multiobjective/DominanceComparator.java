@@ -36,9 +36,10 @@ public class DominanceComparator {
         boolean vector2Better = false;  // vector2是否至少在一个目标上严格优于vector1
 
         // 只比较5个优化目标（WAITING_TIME, EMPTY_DISTANCE, LOAD_WASTE, DELIVERED_TONNAGE, CARBON_EMISSION）
-        for (MultiObjectiveEvaluator.ObjectiveType type : MultiObjectiveEvaluator.ObjectiveType.values()) {
-            double value1 = vector1.getComparableValue(type);  // 已统一成"越小越好"的指标值
-            double value2 = vector2.getComparableValue(type);
+        // 按下标读取，比较过程不分配对象
+        for (int i = 0; i < ObjectiveVector.DIMENSION; i++) {
+            double value1 = vector1.getComparableValue(i);  // 已统一成"越小越好"的指标值
+            double value2 = vector2.getComparableValue(i);
 
             if (value1 < value2) {
                 vector1Better = true;
@@ -162,8 +163,8 @@ public class DominanceComparator {
      * 判断两个目标向量是否相等（所有目标值都相同）
      */
     public boolean equals(ObjectiveVector vector1, ObjectiveVector vector2, double epsilon) {
-        for (MultiObjectiveEvaluator.ObjectiveType type : MultiObjectiveEvaluator.ObjectiveType.values()) {
-            if (Math.abs(vector1.getComparableValue(type) - vector2.getComparableValue(type)) >= epsilon) {
+        for (int i = 0; i < ObjectiveVector.DIMENSION; i++) {
+            if (Math.abs(vector1.getComparableValue(i) - vector2.getComparableValue(i)) >= epsilon) {
                 return false;
             }
         }
@@ -77,20 +77,37 @@ public class DynamicNormalizer
         public double getRange() { return max - min; }  // 获取范围大小（最大值-最小值）
     }
 
-    private final Map<ObjectiveType, NormalizationRange> ranges;  // 各目标类型的归一化范围映射表
+    private final NormalizationRange[] ranges;  // 各目标类型的归一化范围，下标为目标类型序号
 
     /**
      * 构造函数：创建动态归一化器
      */
     public DynamicNormalizer()
     {
-        this.ranges = new HashMap<>();  // 创建范围映射表
-        // 初始化所有目标类型的范围
-        // 遍历所有目标类型（DISTANCE, TIME, COST）
-        for (ObjectiveType type : ObjectiveType.values())
+        this.ranges = new NormalizationRange[ObjectiveVector.DIMENSION];  // 按序号索引，查找不经过哈希
+        // 为每个目标类型创建一个未初始化的归一化范围
+        for (int i = 0; i < ranges.length; i++)
         {
-            // 为每个目标类型创建一个未初始化的归一化范围
-            ranges.put(type, new NormalizationRange());
+            ranges[i] = new NormalizationRange();
+        }
+    }
+
+    /**
+     * 拷贝构造函数：复制另一个归一化器的全部范围
+     * 用于并行退火链，每条链持有独立的归一化器，避免跨线程共享可变状态
+     * 
+     * @param other 被复制的归一化器
+     */
+    public DynamicNormalizer(DynamicNormalizer other)
+    {
+        this();
+        for (int i = 0; i < ranges.length; i++)
+        {
+            NormalizationRange range = other.ranges[i];
+            if (range.isInitialized())
+            {
+                ranges[i].setRange(range.getMin(), range.getMax());
+            }
         }
     }
 
@@ -103,7 +120,7 @@ public class DynamicNormalizer
     public void update(ObjectiveType objectiveType, double value)
     {
         double comparable = objectiveType.isMinimize() ? value : -value;  // 对最大化目标取反，统一为最小化
-        ranges.get(objectiveType).update(comparable);  // 更新对应维度的[min,max]
+        ranges[objectiveType.ordinal()].update(comparable);  // 更新对应维度的[min,max]
     }
 
     /**
@@ -113,9 +130,9 @@ public class DynamicNormalizer
      */
     public void update(ObjectiveVector vector)
     {
-        for (ObjectiveType type : ObjectiveType.values())  // 针对每个目标维度刷新范围
+        for (int i = 0; i < ranges.length; i++)  // 针对每个目标维度刷新范围
         {
-            update(type, vector.getValue(type));  // 复用单值更新逻辑
+            ranges[i].update(vector.getComparableValue(i));
         }
     }
 
@@ -156,7 +173,7 @@ public class DynamicNormalizer
         {
             throw new IllegalArgumentException("最小值不能大于最大值");
         }
-        ranges.get(objectiveType).setRange(min, max);  // 直接覆盖内部范围
+        ranges[objectiveType.ordinal()].setRange(min, max);  // 直接覆盖内部范围
     }
 
     /**
@@ -170,8 +187,20 @@ public class DynamicNormalizer
     public double normalize(ObjectiveType objectiveType, double value)
     {
         double comparable = objectiveType.isMinimize() ? value : -value;  // 方向统一后再做归一化
+        return normalizeComparable(objectiveType.ordinal(), comparable);
+    }
+
+    /**
+     * 按目标类型序号归一化比较值（已统一为"越小越好"），不分配对象
+     * 
+     * @param index 目标类型序号
+     * @param comparable 比较值
+     * @return 归一化后的值（0.0-1.0之间）
+     */
+    public double normalizeComparable(int index, double comparable)
+    {
         // 获取指定目标类型的归一化范围
-        NormalizationRange range = ranges.get(objectiveType);  // 找到对应目标的范围
+        NormalizationRange range = ranges[index];  // 找到对应目标的范围
         
         // 如果范围未初始化，无法进行归一化，返回中间值0.5
         if (!range.isInitialized())
@@ -202,6 +231,25 @@ public class DynamicNormalizer
         return normalized;
     }
 
+    /**
+     * 判断第 index 个目标能否做线性归一化：范围已初始化且跨度不小于1e-9
+     * 不能归一化的目标上所有值都映射为0.5，供列式批量内核跳过该目标
+     */
+    boolean isScalable(int index)
+    {
+        NormalizationRange range = ranges[index];
+        return range.isInitialized() && Math.abs(range.getRange()) >= 1e-9;
+    }
+
+    /** 第 index 个目标的范围是否已初始化 */
+    boolean isInitialized(int index) { return ranges[index].isInitialized(); }
+
+    /** 第 index 个目标的归一化下界（比较值） */
+    double getMin(int index) { return ranges[index].getMin(); }
+
+    /** 第 index 个目标的归一化跨度 */
+    double getRangeSize(int index) { return ranges[index].getRange(); }
+
     /**
      * 归一化目标向量
      * 
@@ -210,10 +258,10 @@ public class DynamicNormalizer
      */
     public ObjectiveVector normalize(ObjectiveVector vector)
     {
-        EnumMap<ObjectiveType, Double> normalizedValues = new EnumMap<>(ObjectiveType.class);  // 枚举映射保持键有序
-        for (ObjectiveType type : ObjectiveType.values())  // 逐维度归一化
+        double[] normalizedValues = new double[ObjectiveVector.DIMENSION];  // 按目标类型序号排列，仅分配结果本身
+        for (int i = 0; i < normalizedValues.length; i++)  // 逐维度归一化
         {
-            normalizedValues.put(type, normalize(type, vector.getValue(type)));
+            normalizedValues[i] = normalizeComparable(i, vector.getComparableValue(i));
         }
         return new ObjectiveVector(normalizedValues);
     }
@@ -243,7 +291,7 @@ public class DynamicNormalizer
      */
     public double denormalize(ObjectiveType objectiveType, double normalizedValue)
     {
-        NormalizationRange range = ranges.get(objectiveType);
+        NormalizationRange range = ranges[objectiveType.ordinal()];
         
         if (!range.isInitialized())  // 尚未有样本，无法反归一化
         {
@@ -257,7 +305,7 @@ public class DynamicNormalizer
 
     /**
      * 计算归一化后的能量差（△E）
-     * 用于概率接受机制
+     * 用于概率接受机制，按下标逐维计算，不分配对象
      * 
      * @param oldVector 旧解的目标向量
      * @param newVector 新解的目标向量
@@ -266,10 +314,10 @@ public class DynamicNormalizer
     public double calculateNormalizedEnergyDifference(ObjectiveVector oldVector, ObjectiveVector newVector)
     {
         double sumSquares = 0.0;  // 用欧氏距离衡量整体差异
-        for (ObjectiveType type : ObjectiveType.values())  // 所有目标逐一比较
+        for (int i = 0; i < ranges.length; i++)  // 所有目标逐一比较
         {
-            double delta = normalize(type, newVector.getValue(type)) -
-                           normalize(type, oldVector.getValue(type));
+            double delta = normalizeComparable(i, newVector.getComparableValue(i)) -
+                           normalizeComparable(i, oldVector.getComparableValue(i));
             sumSquares += delta * delta;
         }
         return Math.sqrt(sumSquares);  // 返回归一化空间距离
@@ -284,7 +332,7 @@ public class DynamicNormalizer
      */
     public double[] getRange(ObjectiveType objectiveType)
     {
-        NormalizationRange range = ranges.get(objectiveType);  // 获取内部存储
+        NormalizationRange range = ranges[objectiveType.ordinal()];  // 获取内部存储
         if (!range.isInitialized())  // 未初始化返回null，提示调用方
         {
             return null;
@@ -319,7 +367,7 @@ public class DynamicNormalizer
      */
     public boolean isInitialized(ObjectiveType objectiveType)
     {
-        return ranges.get(objectiveType).isInitialized();
+        return ranges[objectiveType.ordinal()].isInitialized();
     }
 
     /**
@@ -344,9 +392,9 @@ public class DynamicNormalizer
      */
     public void reset()
     {
-        for (ObjectiveType type : ObjectiveType.values())  // 所有目标重新生成空范围
+        for (int i = 0; i < ranges.length; i++)  // 所有目标重新生成空范围
         {
-            ranges.put(type, new NormalizationRange());
+            ranges[i] = new NormalizationRange();
         }
     }
 
@@ -355,7 +403,7 @@ public class DynamicNormalizer
      */
     public void reset(ObjectiveType objectiveType)
     {
-        ranges.put(objectiveType, new NormalizationRange());  // 指定目标维度恢复初始状态
+        ranges[objectiveType.ordinal()] = new NormalizationRange();  // 指定目标维度恢复初始状态
     }
 }
 
@@ -0,0 +1,142 @@
+package com.tsAdmin.common.algorithm.multiobjective;  // 包声明：多目标优化算法包
+
+import java.util.Arrays;
+
+import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator.ObjectiveVector;
+
+/**
+ * 前沿的列式（结构数组）存储
+ * 每个目标一列 double 数组，存放各解的统一比较值，下标与 {@link NonDominatedSet} 内部列表一致
+ *
+ * 在列上提供整批计算的距离内核，一次遍历得到整个前沿到查询点的归一化距离：
+ * 内层循环按列顺序访问连续内存、无分支依赖，便于 JIT 自动向量化；内核为标量实现，不依赖孵化中的 Vector API
+ * 支配查询不在此处整批计算，由 {@link NDTree} 剪枝完成（实测即使前沿只有十几个解，剪枝查询也快于整批扫描）
+ *
+ * 查询复用内部缓冲区，非线程安全，由持有它的非支配集负责同步
+ */
+class FrontStore
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final double[][] columns = new double[ObjectiveVector.DIMENSION][INITIAL_CAPACITY];
+    private int size = 0;
+
+    private double[] distances = new double[INITIAL_CAPACITY];  // 距离内核的累加缓冲
+
+    int size() { return size; }
+
+    /** 读取第 index 个解在第 objective 个目标上的比较值 */
+    double get(int objective, int index) { return columns[objective][index]; }
+
+    void add(ObjectiveVector vector)
+    {
+        ensureCapacity(size + 1);
+        for (int d = 0; d < columns.length; d++)
+        {
+            columns[d][size] = vector.getComparableValue(d);
+        }
+        size++;
+    }
+
+    /** 删除第 index 个解，其后的解依次前移，与 ArrayList 的下标保持一致 */
+    void remove(int index)
+    {
+        int moved = size - index - 1;
+        if (moved > 0)
+        {
+            for (double[] column : columns)
+            {
+                System.arraycopy(column, index + 1, column, index, moved);
+            }
+        }
+        size--;
+    }
+
+    /**
+     * 按标记一次性压缩，保留 keep[i] 为 true 的解，相对顺序不变
+     * @param keep 长度不小于当前规模的保留标记
+     */
+    void retain(boolean[] keep)
+    {
+        int write = 0;
+        for (int i = 0; i < size; i++)
+        {
+            if (!keep[i]) continue;
+            if (write != i)
+            {
+                for (double[] column : columns)
+                {
+                    column[write] = column[i];
+                }
+            }
+            write++;
+        }
+        size = write;
+    }
+
+    void clear() { size = 0; }
+
+    /**
+     * 距离内核：在归一化空间中找出距 x 最近的成员
+     * 与逐个调用 {@link DynamicNormalizer#calculateNormalizedEnergyDifference} 的结果一致（距离相同时取下标较小者），
+     * 但按列累加平方差（归一化公式逐位相同），不开方、不创建中间对象；归一化范围未建立或退化的目标对所有成员贡献为0，直接跳过
+     *
+     * @param x 查询向量
+     * @param normalizer 归一化器
+     * @return 最近成员的下标，集合为空时返回 -1
+     */
+    int nearest(ObjectiveVector x, DynamicNormalizer normalizer)
+    {
+        if (size == 0)
+        {
+            return -1;
+        }
+
+        Arrays.fill(distances, 0, size, 0.0);
+        for (int d = 0; d < columns.length; d++)
+        {
+            if (!normalizer.isScalable(d))
+            {
+                continue;
+            }
+            double[] column = columns[d];
+            double min = normalizer.getMin(d);
+            double range = normalizer.getRangeSize(d);
+            double query = normalizer.normalizeComparable(d, x.getComparableValue(d));
+            for (int i = 0; i < size; i++)
+            {
+                double normalized = Math.min(1.0, Math.max(0.0, (column[i] - min) / range));
+                double delta = query - normalized;
+                distances[i] += delta * delta;
+            }
+        }
+
+        int nearest = 0;
+        double minDistance = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++)
+        {
+            if (distances[i] < minDistance)
+            {
+                minDistance = distances[i];
+                nearest = i;
+            }
+        }
+        return nearest;
+    }
+
+    private void ensureCapacity(int required)
+    {
+        int capacity = distances.length;
+        if (required <= capacity)
+        {
+            return;
+        }
+
+        int grown = Math.max(required, capacity + (capacity >> 1));
+        for (int d = 0; d < columns.length; d++)
+        {
+            columns[d] = Arrays.copyOf(columns[d], grown);
+        }
+        distances = new double[grown];
+    }
+}
@@ -4,8 +4,10 @@ import java.util.List;  // 导入列表接口
 
 import com.tsAdmin.common.Coordinate;  // 导入坐标类
 import com.tsAdmin.common.PathNode;  // 导入路径节点类
+import com.tsAdmin.common.algorithm.graph.DistanceMatrix;  // 导入兴趣点距离矩阵
 import com.tsAdmin.model.Assignment;  // 导入分配方案模型类
 import com.tsAdmin.model.Car;  // 导入车辆模型类
+import com.tsAdmin.model.poi.Poi;  // 导入兴趣点类
 
 /**
  * 多目标评估器
@@ -41,37 +43,81 @@ public class MultiObjectiveEvaluator {
     }
 
     /**
-     * 多目标向量：内部使用 EnumMap 存储全部指标，便于扩展
+     * 多目标向量：内部使用按 {@link ObjectiveType} 序号排列的 double 数组存储全部指标
      * 对外提供原始值（getValue）和用于比较/归一化的值（getComparableValue）
+     * 
+     * 支配比较、归一化与能量差每轮调度执行数百万次，按下标读取的重载不装箱、不分配对象
      */
     public static class ObjectiveVector {
-        //存储各目标类型的值的映射表
-        private final EnumMap<ObjectiveType, Double> values;
+        /** 目标个数 */
+        public static final int DIMENSION = ObjectiveType.values().length;
+
+        private static final ObjectiveType[] TYPES = ObjectiveType.values();  // 缓存，values()每次调用都会复制数组
+        private static final boolean[] MINIMIZE = new boolean[DIMENSION];     // 下标 → 是否最小化目标
+
+        static {
+            for (int i = 0; i < DIMENSION; i++) {
+                MINIMIZE[i] = TYPES[i].isMinimize();
+            }
+        }
+
+        // 各目标原始值，下标为目标类型序号
+        private final double[] values;
 
         public ObjectiveVector(EnumMap<ObjectiveType, Double> values) {
-            // 创建一个新的枚举映射，用于存储目标值
-            this.values = new EnumMap<>(ObjectiveType.class);
-            // 遍历所有目标类型，确保每个目标都有对应的值
-            for (ObjectiveType type : ObjectiveType.values()) {
-                // 将目标值放入映射中，如果不存在则使用默认值0.0
-                this.values.put(type, values.getOrDefault(type, 0.0));
+            this.values = new double[DIMENSION];
+            // 遍历所有目标类型，确保每个目标都有对应的值，不存在则使用默认值0.0
+            for (int i = 0; i < DIMENSION; i++) {
+                this.values[i] = values.getOrDefault(TYPES[i], 0.0);
             }
         }
 
+        /**
+         * 按目标类型序号给出5个原始值
+         */
+        public ObjectiveVector(double waitingTime, double emptyDistance, double loadWaste,
+                               double deliveredTonnage, double carbonEmission) {
+            this(new double[] { waitingTime, emptyDistance, loadWaste, deliveredTonnage, carbonEmission });
+        }
+
+        /**
+         * 直接接管数组（不复制），仅供包内已按序号填好新数组的调用方使用
+         */
+        ObjectiveVector(double[] values) {
+            if (values.length != DIMENSION) {
+                throw new IllegalArgumentException("目标个数应为 " + DIMENSION + ": " + values.length);
+            }
+            this.values = values;
+        }
+
         public double getValue(ObjectiveType type) {
-            return values.getOrDefault(type, 0.0);
+            return values[type.ordinal()];
+        }
+
+        /** 按目标类型序号读取原始值 */
+        public double getValue(int index) {
+            return values[index];
         }
 
         /**
          * 获取用于比较/归一化的值：最大化目标会取相反数，统一转成"越小越好"的形式
          */
         public double getComparableValue(ObjectiveType type) {
-            double raw = getValue(type);
-            return type.isMinimize() ? raw : -raw;
+            return getComparableValue(type.ordinal());
+        }
+
+        /** 按目标类型序号读取比较值 */
+        public double getComparableValue(int index) {
+            double raw = values[index];
+            return MINIMIZE[index] ? raw : -raw;
         }
 
         public EnumMap<ObjectiveType, Double> toMap() {
-            return new EnumMap<>(values);
+            EnumMap<ObjectiveType, Double> map = new EnumMap<>(ObjectiveType.class);
+            for (int i = 0; i < DIMENSION; i++) {
+                map.put(TYPES[i], values[i]);
+            }
+            return map;
         }
 
         // 提供5个目标的便捷 getter（返回原始值）
@@ -141,16 +187,17 @@ public class MultiObjectiveEvaluator {
             return metrics;
         }
 
-        Coordinate carPosition = new Coordinate(car.getPosition());  // 车辆当前位置
+        Poi previous = null;  // 上一个路径点所在的兴趣点，为null时车辆位于当前位置
         double maxLoad = Math.max(1.0, car.getMaxLoad());  // 记录最大载重，至少为1避免除0
         double currentLoad = Math.max(0.0, maxLoad - car.getRemainingLoad());  // 当前已装载量
 
         for (PathNode pathNode : nodeList) {
-            Coordinate target = pathNode.isOrigin()
-                ? pathNode.getDemand().getOrigin()
-                : pathNode.getDemand().getDestination();
+            Poi target = pathNode.getPoi();
 
-            double distance = Coordinate.distance(carPosition, target);  // 当前位置到目标点距离
+            // 首段从车辆当前位置出发按坐标计算，其余各段两端均为兴趣点，查距离矩阵
+            double distance = previous == null
+                ? Coordinate.distance(car.getPosition(), target.getPosition())
+                : DistanceMatrix.between(previous, target);
             
             // 计算空驶里程（当前无载货时的行驶距离）
             if (currentLoad <= 1e-6) {
@@ -168,7 +215,7 @@ public class MultiObjectiveEvaluator {
             double handlingTime = pathNode.getDemand().getQuantity() * handlingTimePerUnit;
             metrics.waitingTime += handlingTime;  // 累加等待时间
 
-            carPosition.set(target);  // 更新车辆位置
+            previous = target;  // 更新车辆位置
 
             double quantity = pathNode.getDemand().getQuantity();
             if (pathNode.isOrigin()) {
@@ -187,13 +234,57 @@ public class MultiObjectiveEvaluator {
 
     /**
      * 简单的统计结构体，集中存储一次模拟的5个优化指标
+     * 5个指标均可按车辆直接累加，因此支持增量求和：总值 = 旧总值 - 旧路径指标 + 新路径指标
      */
-    private static class RouteMetrics {
+    public static class RouteMetrics {
         double waitingTime = 0.0;     // 累计等待时间（装卸耗时）
         double emptyDistance = 0.0;   // 空车运行距离
         double loadWaste = 0.0;       // 载重浪费（未利用载重 × 距离）
         double totalTonnage = 0.0;    // 已完成运量
         double carbonEmission = 0.0;  // 碳排放（吨公里 × 因子）
+
+        public RouteMetrics() {}
+
+        /**
+         * 由目标向量还原累加器，用于在已有总值上做增量修正
+         */
+        public RouteMetrics(ObjectiveVector vector) {
+            this.waitingTime = vector.getWaitingTime();
+            this.emptyDistance = vector.getEmptyDistance();
+            this.loadWaste = vector.getLoadWaste();
+            this.totalTonnage = vector.getDeliveredTonnage();
+            this.carbonEmission = vector.getCarbonEmission();
+        }
+
+        // 5个指标的只读访问
+        public double getWaitingTime() { return waitingTime; }
+        public double getEmptyDistance() { return emptyDistance; }
+        public double getLoadWaste() { return loadWaste; }
+        public double getDeliveredTonnage() { return totalTonnage; }
+        public double getCarbonEmission() { return carbonEmission; }
+
+        /** 累加另一条路径的指标 */
+        public void add(RouteMetrics other) {
+            waitingTime += other.waitingTime;
+            emptyDistance += other.emptyDistance;
+            loadWaste += other.loadWaste;
+            totalTonnage += other.totalTonnage;
+            carbonEmission += other.carbonEmission;
+        }
+
+        /** 扣除另一条路径的指标 */
+        public void subtract(RouteMetrics other) {
+            waitingTime -= other.waitingTime;
+            emptyDistance -= other.emptyDistance;
+            loadWaste -= other.loadWaste;
+            totalTonnage -= other.totalTonnage;
+            carbonEmission -= other.carbonEmission;
+        }
+
+        /** 转换为目标向量 */
+        public ObjectiveVector toObjectiveVector() {
+            return new ObjectiveVector(waitingTime, emptyDistance, loadWaste, totalTonnage, carbonEmission);
+        }
     }
 
     /**
@@ -224,16 +315,7 @@ public class MultiObjectiveEvaluator {
      * 计算多目标向量（同时计算5个目标函数的值）
      */
     public ObjectiveVector evaluateAll(Car car, List<PathNode> nodeList) {
-        RouteMetrics metrics = computeRouteMetrics(car, nodeList);
-
-        EnumMap<ObjectiveType, Double> values = new EnumMap<>(ObjectiveType.class);
-        values.put(ObjectiveType.WAITING_TIME, metrics.waitingTime);
-        values.put(ObjectiveType.EMPTY_DISTANCE, metrics.emptyDistance);
-        values.put(ObjectiveType.LOAD_WASTE, metrics.loadWaste);
-        values.put(ObjectiveType.DELIVERED_TONNAGE, metrics.totalTonnage);
-        values.put(ObjectiveType.CARBON_EMISSION, metrics.carbonEmission);
-
-        return new ObjectiveVector(values);
+        return computeRouteMetrics(car, nodeList).toObjectiveVector();
     }
 
     /**
@@ -244,6 +326,14 @@ public class MultiObjectiveEvaluator {
         return evaluateAll(assignment.getCar(), assignment.getNodeList());
     }
 
+    /**
+     * 计算Assignment的路径指标累加器
+     * 供增量评估使用：调用方可缓存单车指标，仅重算被修改的路径
+     */
+    public RouteMetrics evaluateMetrics(Assignment assignment) {
+        return computeRouteMetrics(assignment.getCar(), assignment.getNodeList());
+    }
+
     // ========== 批量计算（用于多个车辆/分配方案） ==========
 
     /**
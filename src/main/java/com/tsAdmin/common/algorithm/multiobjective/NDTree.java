@@ -0,0 +1,518 @@
+package com.tsAdmin.common.algorithm.multiobjective;  // 包声明：多目标优化算法包
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator.ObjectiveVector;
+import com.tsAdmin.common.algorithm.multiobjective.NonDominatedSet.NonDominatedSolution;
+
+/**
+ * ND-tree：非支配集的支配关系索引
+ * 每个节点记录其子树中所有点的理想点（各维最小值）与最低点（各维最大值），
+ * 查询时借助这两个包围点整棵剪枝或整棵接受：
+ * - "x 是否被支配"：理想点不弱支配 x 的子树中不可能有点支配 x；最低点支配 x 时子树中所有点都支配 x
+ * - "x 支配哪些点"：x 不弱支配最低点的子树中没有被 x 支配的点；x 支配理想点时子树中所有点都被 x 支配
+ * 前沿分布较散时两类查询的期望代价均为亚线性
+ *
+ * 插入时沿中点距离最近的子节点下降，叶节点超出容量后按最远点播种分裂；
+ * 删除后沿路径向上收紧包围点，并回收空节点与单子节点链
+ *
+ * 所有坐标均为"越小越好"的统一比较值，支配关系的定义与 {@link DominanceComparator} 一致
+ */
+class NDTree
+{
+    private static final int MAX_LEAF_SIZE = 20;  // 叶节点容量，超出即分裂
+    private static final int MAX_CHILDREN = 6;    // 分裂时产生的子节点数（目标数 + 1）
+
+    /** 树节点：叶节点持有条目，内部节点持有子节点 */
+    private static final class Node
+    {
+        Node parent;
+        final double[] ideal;     // 子树中各维最小值
+        final double[] nadir;     // 子树中各维最大值
+        List<Node> children;      // 内部节点的子节点，叶节点为null
+        List<Entry> entries;      // 叶节点的条目，内部节点为null
+
+        Node(Node parent, int dimension)
+        {
+            this.parent = parent;
+            this.ideal = new double[dimension];
+            this.nadir = new double[dimension];
+            this.entries = new ArrayList<>();
+            resetBounds();
+        }
+
+        boolean isLeaf() { return children == null; }
+        boolean isEmpty() { return isLeaf() ? entries.isEmpty() : children.isEmpty(); }
+
+        void resetBounds()
+        {
+            Arrays.fill(ideal, Double.POSITIVE_INFINITY);
+            Arrays.fill(nadir, Double.NEGATIVE_INFINITY);
+        }
+
+        void expand(double[] lower, double[] upper)
+        {
+            for (int d = 0; d < ideal.length; d++)
+            {
+                if (lower[d] < ideal[d]) ideal[d] = lower[d];
+                if (upper[d] > nadir[d]) nadir[d] = upper[d];
+            }
+        }
+    }
+
+    /** 索引条目：解与其坐标 */
+    private static final class Entry
+    {
+        final NonDominatedSolution solution;
+        final double[] point;
+        Node leaf;  // 所在叶节点
+
+        Entry(NonDominatedSolution solution, double[] point)
+        {
+            this.solution = solution;
+            this.point = point;
+        }
+    }
+
+    private final int dimension = ObjectiveVector.DIMENSION;
+    private final Map<NonDominatedSolution, Entry> entries = new IdentityHashMap<>();
+    private Node root;
+
+    /**
+     * @param vector 目标向量
+     * @return 目标向量在索引中的坐标（各目标的统一比较值）
+     */
+    static double[] pointOf(ObjectiveVector vector)
+    {
+        double[] point = new double[ObjectiveVector.DIMENSION];
+        for (int d = 0; d < point.length; d++)
+        {
+            point[d] = vector.getComparableValue(d);
+        }
+        return point;
+    }
+
+    int size() { return entries.size(); }
+
+    void clear()
+    {
+        entries.clear();
+        root = null;
+    }
+
+    /**
+     * 插入解，按对象身份区分
+     * @param solution 解
+     */
+    void insert(NonDominatedSolution solution)
+    {
+        double[] point = pointOf(solution.getObjectiveVector());
+        Entry entry = new Entry(solution, point);
+        entries.put(solution, entry);
+
+        if (root == null)
+        {
+            root = new Node(null, dimension);
+        }
+
+        Node node = root;
+        node.expand(point, point);
+        while (!node.isLeaf())
+        {
+            node = closestChild(node, point);
+            node.expand(point, point);
+        }
+
+        node.entries.add(entry);
+        entry.leaf = node;
+        if (node.entries.size() > MAX_LEAF_SIZE)
+        {
+            split(node);
+        }
+    }
+
+    /**
+     * 删除解
+     * @param solution 解
+     * @return 解原本是否在索引中
+     */
+    boolean remove(NonDominatedSolution solution)
+    {
+        Entry entry = entries.remove(solution);
+        if (entry == null)
+        {
+            return false;
+        }
+
+        Node node = entry.leaf;
+        node.entries.remove(entry);
+
+        // 回收空节点
+        while (node.parent != null && node.isEmpty())
+        {
+            Node parent = node.parent;
+            parent.children.remove(node);
+            node = parent;
+        }
+        if (node.isEmpty())
+        {
+            root = null;
+            return true;
+        }
+
+        // 单子节点链上提一层
+        if (!node.isLeaf() && node.children.size() == 1)
+        {
+            absorbOnlyChild(node);
+        }
+
+        for (Node n = node; n != null; n = n.parent)
+        {
+            recomputeBounds(n);
+        }
+        return true;
+    }
+
+    /**
+     * 判断 x 是否被索引中的某个点支配
+     */
+    boolean isDominated(double[] x)
+    {
+        if (root == null)
+        {
+            return false;
+        }
+
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty())
+        {
+            Node node = stack.pop();
+            if (!weaklyDominates(node.ideal, x))
+            {
+                continue;  // 子树中所有点都不弱支配 x
+            }
+            if (dominates(node.nadir, x))
+            {
+                return true;  // 子树中所有点都支配 x
+            }
+
+            if (node.isLeaf())
+            {
+                for (Entry entry : node.entries)
+                {
+                    if (dominates(entry.point, x))
+                    {
+                        return true;
+                    }
+                }
+            }
+            else
+            {
+                for (Node child : node.children)
+                {
+                    stack.push(child);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 收集索引中被 x 支配的所有解
+     * @param x 坐标
+     * @param out 输出列表
+     */
+    void collectDominated(double[] x, List<NonDominatedSolution> out)
+    {
+        if (root == null)
+        {
+            return;
+        }
+
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty())
+        {
+            Node node = stack.pop();
+            if (!weaklyDominates(x, node.nadir))
+            {
+                continue;  // x 不弱支配子树中的任何点
+            }
+            if (dominates(x, node.ideal))
+            {
+                collectAll(node, out);  // 子树中所有点都被 x 支配
+                continue;
+            }
+
+            if (node.isLeaf())
+            {
+                for (Entry entry : node.entries)
+                {
+                    if (dominates(x, entry.point))
+                    {
+                        out.add(entry.solution);
+                    }
+                }
+            }
+            else
+            {
+                for (Node child : node.children)
+                {
+                    stack.push(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * 判断索引中是否存在各维与 x 相差都小于 epsilon 的点
+     */
+    boolean containsEqual(double[] x, double epsilon)
+    {
+        if (root == null)
+        {
+            return false;
+        }
+
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty())
+        {
+            Node node = stack.pop();
+            if (!withinBounds(node, x, epsilon))
+            {
+                continue;
+            }
+
+            if (node.isLeaf())
+            {
+                for (Entry entry : node.entries)
+                {
+                    if (isEqual(entry.point, x, epsilon))
+                    {
+                        return true;
+                    }
+                }
+            }
+            else
+            {
+                for (Node child : node.children)
+                {
+                    stack.push(child);
+                }
+            }
+        }
+        return false;
+    }
+
+    // ========== 内部结构维护 ==========
+
+    /** 选择包围盒中点距 point 最近的子节点 */
+    private Node closestChild(Node node, double[] point)
+    {
+        Node closest = null;
+        double minDistance = Double.POSITIVE_INFINITY;
+        for (Node child : node.children)
+        {
+            double distance = 0.0;
+            for (int d = 0; d < dimension; d++)
+            {
+                double diff = point[d] - 0.5 * (child.ideal[d] + child.nadir[d]);
+                distance += diff * diff;
+            }
+            if (distance < minDistance)
+            {
+                minDistance = distance;
+                closest = child;
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * 叶节点分裂为内部节点：先选与其他点平均距离最大的点作为第一个种子，
+     * 再依次选择距已有种子最远的点，其余点分配到中点最近的子节点
+     */
+    private void split(Node leaf)
+    {
+        List<Entry> pending = leaf.entries;
+        leaf.entries = null;
+        leaf.children = new ArrayList<>(MAX_CHILDREN);
+
+        int n = pending.size();
+        boolean[] seeded = new boolean[n];
+        double[] nearestSeed = new double[n];
+        Arrays.fill(nearestSeed, Double.POSITIVE_INFINITY);
+
+        int seed = 0;
+        double maxTotal = -1.0;
+        for (int i = 0; i < n; i++)
+        {
+            double total = 0.0;
+            for (int j = 0; j < n; j++)
+            {
+                total += squaredDistance(pending.get(i).point, pending.get(j).point);
+            }
+            if (total > maxTotal)
+            {
+                maxTotal = total;
+                seed = i;
+            }
+        }
+
+        for (int k = 0; k < MAX_CHILDREN && seed >= 0; k++)
+        {
+            seeded[seed] = true;
+            Node child = new Node(leaf, dimension);
+            addToLeaf(child, pending.get(seed));
+            leaf.children.add(child);
+
+            double[] seedPoint = pending.get(seed).point;
+            int next = -1;
+            double farthest = -1.0;
+            for (int i = 0; i < n; i++)
+            {
+                if (seeded[i]) continue;
+                nearestSeed[i] = Math.min(nearestSeed[i], squaredDistance(pending.get(i).point, seedPoint));
+                if (nearestSeed[i] > farthest)
+                {
+                    farthest = nearestSeed[i];
+                    next = i;
+                }
+            }
+            seed = next;
+        }
+
+        for (int i = 0; i < n; i++)
+        {
+            if (!seeded[i])
+            {
+                addToLeaf(closestChild(leaf, pending.get(i).point), pending.get(i));
+            }
+        }
+    }
+
+    private static void addToLeaf(Node leaf, Entry entry)
+    {
+        leaf.entries.add(entry);
+        leaf.expand(entry.point, entry.point);
+        entry.leaf = leaf;
+    }
+
+    /** 用唯一子节点的内容替换本节点 */
+    private void absorbOnlyChild(Node node)
+    {
+        Node child = node.children.get(0);
+        node.children = child.children;
+        node.entries = child.entries;
+        if (node.isLeaf())
+        {
+            for (Entry entry : node.entries)
+            {
+                entry.leaf = node;
+            }
+        }
+        else
+        {
+            for (Node grandChild : node.children)
+            {
+                grandChild.parent = node;
+            }
+        }
+    }
+
+    private static void recomputeBounds(Node node)
+    {
+        node.resetBounds();
+        if (node.isLeaf())
+        {
+            for (Entry entry : node.entries)
+            {
+                node.expand(entry.point, entry.point);
+            }
+        }
+        else
+        {
+            for (Node child : node.children)
+            {
+                node.expand(child.ideal, child.nadir);
+            }
+        }
+    }
+
+    private static void collectAll(Node node, List<NonDominatedSolution> out)
+    {
+        if (node.isLeaf())
+        {
+            for (Entry entry : node.entries)
+            {
+                out.add(entry.solution);
+            }
+            return;
+        }
+        for (Node child : node.children)
+        {
+            collectAll(child, out);
+        }
+    }
+
+    // ========== 坐标比较 ==========
+
+    /** a 在所有维上不劣于 b */
+    private static boolean weaklyDominates(double[] a, double[] b)
+    {
+        for (int d = 0; d < a.length; d++)
+        {
+            if (a[d] > b[d]) return false;
+        }
+        return true;
+    }
+
+    /** a 支配 b：所有维上不劣于 b，且至少一维严格优于 b */
+    private static boolean dominates(double[] a, double[] b)
+    {
+        boolean better = false;
+        for (int d = 0; d < a.length; d++)
+        {
+            if (a[d] > b[d]) return false;
+            if (a[d] < b[d]) better = true;
+        }
+        return better;
+    }
+
+    private static boolean withinBounds(Node node, double[] x, double epsilon)
+    {
+        for (int d = 0; d < x.length; d++)
+        {
+            if (x[d] <= node.ideal[d] - epsilon || x[d] >= node.nadir[d] + epsilon) return false;
+        }
+        return true;
+    }
+
+    private static boolean isEqual(double[] a, double[] b, double epsilon)
+    {
+        for (int d = 0; d < a.length; d++)
+        {
+            if (Math.abs(a[d] - b[d]) >= epsilon) return false;
+        }
+        return true;
+    }
+
+    private static double squaredDistance(double[] a, double[] b)
+    {
+        double sum = 0.0;
+        for (int d = 0; d < a.length; d++)
+        {
+            double diff = a[d] - b[d];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+}
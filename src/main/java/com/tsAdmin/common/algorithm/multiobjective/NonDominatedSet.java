@@ -9,12 +9,25 @@ import com.tsAdmin.model.Assignment;  // 导入分配方案模型类
  * 非支配集管理类
  * 实现非支配解的存储、更新和管理
  * 包括添加新解时的支配关系检查和被支配解的删除逻辑
+ * 
+ * 有界模式：设置容量后，互不支配的新解使集合超出容量时，按拥挤距离剔除前沿中最拥挤的解
+ * （各目标上的边界解拥挤距离为无穷大，始终保留），使前沿规模与单次添加的代价保持恒定
+ * 
+ * 支配查询：使用默认比较器时，集合同时维护一棵 {@link NDTree} 索引，
+ * "新解是否被支配"与"新解支配哪些旧解"两类查询按包围点剪枝，前沿达数千个解时仍为亚线性；
+ * 使用自定义比较器时退化为顺序扫描，以保证比较器的语义
+ * 
+ * 列式存储：集合另以 {@link FrontStore} 按目标分列保存各解的比较值，
+ * 概率接受中的最近参考解查找与拥挤距离计算直接在列上进行
  */
 public class NonDominatedSet
 {
     /**
      * 非支配解条目类
      * 同时存储目标向量和对应的解对象
+     * 
+     * 不同解之间的 Assignment 采用结构共享（写时复制），同一条未修改的路径可能被多个解引用，
+     * 因此存入的 Assignment 应视为只读
      */
     public static class NonDominatedSolution
     {
@@ -45,8 +58,13 @@ public class NonDominatedSet
         public List<Assignment> getAssignments() { return new ArrayList<>(assignments); }
     }
 
+    private static final int INSERTION_SORT_THRESHOLD = 16;  // 拥挤距离排序中改用插入排序的区间长度
+
     private final List<NonDominatedSolution> solutions;  // 非支配解列表：存储所有非支配解
     private final DominanceComparator comparator;          // 支配关系比较器：用于判断解之间的支配关系
+    private final NDTree index;                            // 支配关系索引：仅在使用默认比较器时启用，否则为null
+    private final FrontStore front = new FrontStore();     // 列式存储：下标与solutions一致
+    private int capacity = 0;                              // 容量上限：0表示不限
 
     /**
      * 默认构造函数：创建非支配集，使用默认的支配关系比较器
@@ -55,6 +73,7 @@ public class NonDominatedSet
     {
         this.solutions = new ArrayList<>();  // 初始化非支配解列表为空列表
         this.comparator = new DominanceComparator();  // 创建默认的支配关系比较器
+        this.index = new NDTree();  // 默认比较器即标准帕累托支配，可由索引回答
     }
 
     /**
@@ -65,8 +84,24 @@ public class NonDominatedSet
     {
         this.solutions = new ArrayList<>();  // 初始化非支配解列表为空列表
         this.comparator = comparator;  // 使用指定的支配关系比较器
+        this.index = comparator.getClass() == DominanceComparator.class ? new NDTree() : null;  // 自定义比较器不走索引
     }
 
+    /**
+     * 设置容量上限，当前规模超出新容量时立即按拥挤距离剔除
+     * @param capacity 容量上限，0或负数表示不限
+     */
+    public void setCapacity(int capacity)
+    {
+        this.capacity = Math.max(0, capacity);
+        pruneToCapacity();
+    }
+
+    /**
+     * @return 容量上限，0表示不限
+     */
+    public int getCapacity() { return capacity; }
+
     /**
      * 添加新解到非支配集
      * 根据支配关系决定：
@@ -80,36 +115,32 @@ public class NonDominatedSet
      */
     public AddResult add(ObjectiveVector newVector, List<Assignment> newAssignments)
     {
-        // 第一步：检查新解是否被非支配集中的任何解支配
-        // 获取非支配集中所有解的目标向量列表
-        if (comparator.isDominatedBySet(newVector, getObjectiveVectors()))
+        // 第一步：判断新解是否被支配，同时找出被新解支配的旧解
+        List<NonDominatedSolution> dominatedSolutions = new ArrayList<>();
+        if (findDominance(newVector, dominatedSolutions))
         {
             // 如果新解被非支配集中的某个解支配，则新解不是非支配解
-            // 丢弃新解，返回失败结果
+            // 丢弃新解，返回失败结果（此时尚未修改集合）
             return new AddResult(false, Collections.emptyList(), AddResult.Reason.DOMINATED);
         }
 
-        // 第二步：找出被新解支配的旧解
-        // 创建列表存储被新解支配的旧解
-        List<NonDominatedSolution> dominatedSolutions = new ArrayList<>();
-        // 遍历非支配集中的所有解
-        for (NonDominatedSolution solution : solutions)  // 顺序检查每个现有非支配解
+        // 第二步：删除被支配的旧解
+        // 从非支配集中移除所有被新解支配的旧解
+        if (!dominatedSolutions.isEmpty())
         {
-            // 检查新解是否支配当前旧解
-            if (comparator.dominates(newVector, solution.getObjectiveVector()))
-            {
-                // 如果新解支配旧解，将旧解添加到被支配列表中，稍后统一删除
-                dominatedSolutions.add(solution);
-            }
+            removeAll(dominatedSolutions);  // 一次性移除被支配解，避免遍历时修改列表
         }
 
-        // 第三步：删除被支配的旧解
-        // 从非支配集中移除所有被新解支配的旧解
-        solutions.removeAll(dominatedSolutions);  // 一次性移除被支配解，避免遍历时修改列表
-
-        // 第四步：添加新解
+        // 第三步：添加新解
         // 将新解封装成NonDominatedSolution对象并添加到非支配集
-        solutions.add(new NonDominatedSolution(newVector, newAssignments));  // 新解加入帕累托前沿
+        NonDominatedSolution added = new NonDominatedSolution(newVector, newAssignments);
+        append(added);  // 新解加入帕累托前沿
+
+        // 第四步：有界模式下超出容量时剔除最拥挤的解，新解本身也可能被剔除
+        if (!pruneToCapacity().isEmpty() && !solutions.contains(added))
+        {
+            return new AddResult(false, Collections.emptyList(), AddResult.Reason.CROWDED_OUT);
+        }
 
         // 第五步：判断添加原因
         // 如果被支配的旧解列表为空，说明新解是互补支配的
@@ -131,33 +162,16 @@ public class NonDominatedSet
      */
     public AddAnalysis analyzeAdd(ObjectiveVector newVector)
     {
-        // 第一步：检查新解是否被非支配集中的任何解支配
-        // 获取非支配集中所有解的目标向量，检查新解是否被支配
-        boolean isDominated = comparator.isDominatedBySet(newVector, getObjectiveVectors());  // true表示存在更优或表现相同但更优的解
-
-        // 第二步：找出被新解支配的旧解
-        // 创建列表存储被新解支配的旧解
+        // 一旦发现新解被支配即返回，否则收集被新解支配的旧解供调用方参考
         List<NonDominatedSolution> dominatedSolutions = new ArrayList<>();
-        // 只有当新解不被支配时，才需要检查新解是否支配旧解
-        if (!isDominated)
+        if (findDominance(newVector, dominatedSolutions))
         {
-            // 遍历非支配集中的所有解
-        for (NonDominatedSolution solution : solutions)  // 针对每个旧解检查是否被新解支配
-            {
-                // 检查新解是否支配当前旧解
-                if (comparator.dominates(newVector, solution.getObjectiveVector()))
-                {
-                // 如果新解支配旧解，将旧解添加到被支配列表中，供调用方参考
-                    dominatedSolutions.add(solution);
-                }
-            }
+            // 存在更优的解：canAdd = false，isDominated = true
+            return new AddAnalysis(false, true, Collections.emptyList());
         }
 
-        // 第三步：返回分析结果
-        // canAdd = !isDominated：新解不被支配时可以添加
-        // isDominated：新解是否被支配
-        // dominatedSolutions：被新解支配的旧解列表
-        return new AddAnalysis(!isDominated, isDominated, dominatedSolutions);  // canAdd由支配关系决定
+        // 新解不被支配时可以添加；dominatedSolutions：被新解支配的旧解列表
+        return new AddAnalysis(true, false, dominatedSolutions);
     }
 
     /**
@@ -168,7 +182,277 @@ public class NonDominatedSet
     {
         // 直接将新解添加到非支配集，不进行支配关系检查
         // 注意：使用此方法可能导致非支配集中存在被支配的解
-        solutions.add(new NonDominatedSolution(newVector, newAssignments));  // 直接插入，不做任何校验
+        append(new NonDominatedSolution(newVector, newAssignments));  // 直接插入，不做任何校验
+    }
+
+    /**
+     * 判断新解是否被集合中的解支配，不被支配时收集被新解支配的旧解
+     * 启用索引时在 ND-tree 上剪枝查询，否则顺序遍历内部列表
+     * 
+     * @param newVector 新解的目标向量
+     * @param dominatedOut 输出：被新解支配的旧解
+     * @return true表示新解被支配（此时输出列表不完整，不应使用）
+     */
+    private boolean findDominance(ObjectiveVector newVector, List<NonDominatedSolution> dominatedOut)
+    {
+        if (index != null)
+        {
+            double[] point = NDTree.pointOf(newVector);
+            if (index.isDominated(point))
+            {
+                return true;
+            }
+            index.collectDominated(point, dominatedOut);
+            return false;
+        }
+
+        for (NonDominatedSolution solution : solutions)  // 顺序检查每个现有非支配解
+        {
+            DominanceComparator.DominanceRelation relation = comparator.compare(newVector, solution.getObjectiveVector());
+            if (relation == DominanceComparator.DominanceRelation.DOMINATED)
+            {
+                return true;
+            }
+            if (relation == DominanceComparator.DominanceRelation.DOMINATES)
+            {
+                dominatedOut.add(solution);
+            }
+        }
+        return false;
+    }
+
+    /** 将解追加到列表末尾并登记到列式存储与索引 */
+    private void append(NonDominatedSolution solution)
+    {
+        solutions.add(solution);
+        front.add(solution.getObjectiveVector());
+        if (index != null)
+        {
+            index.insert(solution);
+        }
+    }
+
+    /**
+     * 一次性移除多个解：列表、列式存储与索引同步压缩
+     */
+    private void removeAll(List<NonDominatedSolution> removed)
+    {
+        Set<NonDominatedSolution> removedSet = new HashSet<>(removed);  // 集合查找避免 O(n×k)
+        boolean[] keep = new boolean[solutions.size()];
+        for (int i = 0; i < keep.length; i++)
+        {
+            keep[i] = !removedSet.contains(solutions.get(i));
+        }
+        solutions.removeAll(removedSet);
+        front.retain(keep);
+        if (index != null)
+        {
+            for (NonDominatedSolution solution : removed)
+            {
+                index.remove(solution);
+            }
+        }
+    }
+
+    /**
+     * 查找归一化空间中距给定向量最近的解（用于概率接受中的参考点）
+     * 在列式存储上整批计算距离，不复制目标向量列表
+     * 
+     * @param vector 目标向量
+     * @param normalizer 归一化器
+     * @return 最近解的目标向量，集合为空时返回null
+     */
+    public ObjectiveVector findClosest(ObjectiveVector vector, DynamicNormalizer normalizer)
+    {
+        int nearest = front.nearest(vector, normalizer);
+        return nearest < 0 ? null : solutions.get(nearest).getObjectiveVector();
+    }
+
+    /**
+     * 合并另一个非支配集的前沿
+     * 逐个按支配关系添加对方的解，目标向量与已有解完全相同的解会被跳过，避免反复合并产生重复
+     * 
+     * @param other 要合并进来的非支配集
+     * @return 实际加入本集合的解数量
+     */
+    public int merge(NonDominatedSet other)
+    {
+        int added = 0;
+        for (NonDominatedSolution solution : other.getSolutions())  // 对方返回快照，合并过程不受对方并发修改影响
+        {
+            ObjectiveVector vector = solution.getObjectiveVector();
+            if (contains(vector))
+            {
+                continue;
+            }
+            if (add(vector, solution.getAssignments()).isAdded())
+            {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * 有界模式下剔除拥挤距离最小的解，直至规模不超过容量
+     * @return 被剔除的解
+     */
+    private List<NonDominatedSolution> pruneToCapacity()
+    {
+        if (capacity <= 0 || solutions.size() <= capacity)
+        {
+            return Collections.emptyList();
+        }
+
+        List<NonDominatedSolution> pruned = new ArrayList<>();
+        while (solutions.size() > capacity)
+        {
+            int mostCrowded = indexOfMostCrowded();
+            NonDominatedSolution removed = solutions.remove(mostCrowded);
+            front.remove(mostCrowded);
+            if (index != null)
+            {
+                index.remove(removed);
+            }
+            pruned.add(removed);
+        }
+        return pruned;
+    }
+
+    /**
+     * 计算每个解的拥挤距离（各目标上相邻解的归一化间距之和），返回拥挤距离最小的解的下标
+     * 各目标上的最优、最差解拥挤距离为无穷大；拥挤距离相同时剔除较早加入的解
+     */
+    private int indexOfMostCrowded()
+    {
+        int n = solutions.size();
+        double[] crowding = new double[n];
+        double[] values = new double[n];
+        int[] order = new int[n];
+
+        for (int d = 0; d < ObjectiveVector.DIMENSION; d++)
+        {
+            for (int i = 0; i < n; i++)
+            {
+                values[i] = front.get(d, i);
+                order[i] = i;
+            }
+            sortIndices(order, values, 0, n);
+
+            crowding[order[0]] = Double.POSITIVE_INFINITY;
+            crowding[order[n - 1]] = Double.POSITIVE_INFINITY;
+            double range = values[order[n - 1]] - values[order[0]];
+            if (range <= 0)
+            {
+                continue;  // 该目标上所有解取值相同，不影响拥挤程度
+            }
+            for (int k = 1; k < n - 1; k++)
+            {
+                crowding[order[k]] += (values[order[k + 1]] - values[order[k - 1]]) / range;
+            }
+        }
+
+        int mostCrowded = 0;
+        for (int i = 1; i < n; i++)
+        {
+            if (crowding[i] < crowding[mostCrowded])
+            {
+                mostCrowded = i;
+            }
+        }
+        return mostCrowded;
+    }
+
+    /**
+     * 将 order[from, to) 中的下标按 values 升序排列，取值相同时下标小者在前（与稳定排序的结果一致）
+     * 直接在 int[] 上进行快速排序，短区间改用插入排序，避免装箱与比较器调用
+     */
+    private static void sortIndices(int[] order, double[] values, int from, int to)
+    {
+        while (to - from > INSERTION_SORT_THRESHOLD)
+        {
+            int mid = (from + to) >>> 1;
+            int pivot = medianOf(values, order[from], order[mid], order[to - 1]);
+            int i = from;
+            int j = to - 1;
+            while (i <= j)
+            {
+                while (precedes(values, order[i], pivot)) i++;
+                while (precedes(values, pivot, order[j])) j--;
+                if (i <= j)
+                {
+                    int tmp = order[i];
+                    order[i++] = order[j];
+                    order[j--] = tmp;
+                }
+            }
+
+            // 递归处理较短的一段，较长的一段继续循环，递归深度为 O(log n)
+            if (j + 1 - from < to - i)
+            {
+                sortIndices(order, values, from, j + 1);
+                from = i;
+            }
+            else
+            {
+                sortIndices(order, values, i, to);
+                to = j + 1;
+            }
+        }
+
+        for (int k = from + 1; k < to; k++)
+        {
+            int key = order[k];
+            int m = k - 1;
+            while (m >= from && precedes(values, key, order[m]))
+            {
+                order[m + 1] = order[m];
+                m--;
+            }
+            order[m + 1] = key;
+        }
+    }
+
+    /** 下标 a 是否排在下标 b 之前：先比较取值，取值相同时比较下标 */
+    private static boolean precedes(double[] values, int a, int b)
+    {
+        int c = Double.compare(values[a], values[b]);
+        return c < 0 || (c == 0 && a < b);
+    }
+
+    /** 三个下标中排序居中者，作为快速排序的枢轴 */
+    private static int medianOf(double[] values, int a, int b, int c)
+    {
+        if (precedes(values, b, a))
+        {
+            int tmp = a; a = b; b = tmp;
+        }
+        if (precedes(values, c, b))
+        {
+            b = precedes(values, c, a) ? a : c;
+        }
+        return b;
+    }
+
+    /**
+     * 判断集合中是否已存在目标向量相同的解
+     * @param vector 目标向量
+     * @return true表示已存在相同目标向量的解
+     */
+    public boolean contains(ObjectiveVector vector)
+    {
+        if (index != null)
+        {
+            return index.containsEqual(NDTree.pointOf(vector), 1e-9);  // 与比较器的默认误差一致
+        }
+        for (NonDominatedSolution solution : solutions)
+        {
+            if (comparator.equals(vector, solution.getObjectiveVector()))
+            {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -179,7 +463,18 @@ public class NonDominatedSet
     public boolean remove(NonDominatedSolution solution)
     {
         // 从非支配集中移除指定的解
-        return solutions.remove(solution);  // remove返回布尔值，可直接复用
+        int position = solutions.indexOf(solution);
+        if (position < 0)
+        {
+            return false;
+        }
+        solutions.remove(position);
+        front.remove(position);  // 列式存储按同一下标删除
+        if (index != null)
+        {
+            index.remove(solution);
+        }
+        return true;
     }
 
     /**
@@ -190,6 +485,11 @@ public class NonDominatedSet
     {
         // 清空非支配解列表
         solutions.clear();  // 完整清空内部存储
+        front.clear();
+        if (index != null)
+        {
+            index.clear();
+        }
     }
 
     /**
@@ -260,7 +560,8 @@ public class NonDominatedSet
         {
             DOMINATED,         // 新解被支配
             DOMINATES_OTHERS,  // 新解支配某些旧解
-            NON_DOMINATED      // 新解互补支配
+            NON_DOMINATED,     // 新解互补支配
+            CROWDED_OUT        // 新解互补支配，但存档已满且新解最拥挤，被立即剔除
         }
 
         private final boolean added;                    // 是否成功添加
@@ -1,5 +1,4 @@
 package com.tsAdmin.common.algorithm.multiobjective;  // 包声明：多目标优化算法包
-import java.util.List;  // 导入列表接口
 import java.util.Random;  // 导入随机数生成器
 
 import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator.ObjectiveVector;  // 导入多目标向量类
@@ -144,26 +143,9 @@ public class ProbabilityAcceptance
      */
     private ObjectiveVector findClosestReference(ObjectiveVector newVector, NonDominatedSet nonDominatedSet)
     {
-        List<ObjectiveVector> vectors = nonDominatedSet.getObjectiveVectors();  // 获取当前前沿
-        if (vectors.isEmpty())  // 若暂无参考，只能返回自身
-        {
-            return newVector; // 如果非支配集为空，返回新解本身
-        }
-
-        ObjectiveVector closest = vectors.get(0);  // 用第一条记录初始化
-        double minDistance = Double.MAX_VALUE;  // 当前最小距离
-
-        for (ObjectiveVector vector : vectors)  // 遍历所有候选参考
-        {
-            double distance = normalizer.calculateNormalizedEnergyDifference(newVector, vector);  // 归一化空间距离
-            if (distance < minDistance)  // 找到更近的参考
-            {
-                minDistance = distance;
-                closest = vector;
-            }
-        }
-
-        return closest;
+        // 在前沿的列式存储上整批计算归一化距离，不复制目标向量列表
+        ObjectiveVector closest = nonDominatedSet.findClosest(newVector, normalizer);
+        return closest != null ? closest : newVector;  // 如果非支配集为空，返回新解本身
     }
 
     /**
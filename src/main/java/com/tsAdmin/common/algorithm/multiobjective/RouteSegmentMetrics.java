@@ -0,0 +1,227 @@
+package com.tsAdmin.common.algorithm.multiobjective;  // 包声明：多目标优化算法包
+import java.util.List;  // 导入列表接口
+
+import com.tsAdmin.common.Coordinate;  // 导入坐标类
+import com.tsAdmin.common.PathNode;  // 导入路径节点类
+import com.tsAdmin.common.algorithm.graph.DistanceMatrix;  // 导入兴趣点距离矩阵
+import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator.RouteMetrics;  // 导入指标累加器
+import com.tsAdmin.model.Car;  // 导入车辆模型类
+import com.tsAdmin.model.poi.Poi;  // 导入兴趣点类
+
+/**
+ * 路径分段指标缓存：用于 O(1) 计算"在某位置插入一对起终点"带来的5目标边际变化，以及移除一对起终点的边际变化
+ *
+ * 与 {@link MultiObjectiveEvaluator} 使用完全相同的路径模拟规则，缓存每一段行驶（leg）的
+ * 起点、距离、出发时载重，以及距离 / 空驶距离的前缀和。
+ * 除车辆位置出发的 leg 0 外，所有 leg 的两端都是兴趣点，距离由 {@link DistanceMatrix} 查表得到。
+ *
+ * 起点插入到原下标 i 之前、终点插入到原下标 j 之前（i ≤ j）时：
+ * - 仅 leg i 与 leg j 被拆分替换，其余 leg 距离不变
+ * - 位于 (i, j) 之间的 leg 载重整体增加 q：载重浪费减少 q·D，碳排放增加 q·D·因子，原空驶段不再空驶
+ * 因此边际指标只需常数次距离计算与前缀和查询，不修改路径也不分配对象。
+ *
+ * 前提：插入后路径满足载重约束（可先用 RouteProfile 判定），此时评估器中的载重截断不会生效，结果与整条路径重算一致。
+ * 对象可通过 {@code reset} 反复复用，内部数组只在路径变长时扩容。
+ */
+public class RouteSegmentMetrics {
+
+    private static final double EMPTY_EPSILON = 1e-6;  // 与评估器一致的空载判定阈值
+
+    private final MultiObjectiveEvaluator evaluator;  // 提供装卸耗时、碳排放因子等参数
+
+    private int size;                                 // 路径节点数 L
+    private double maxLoad;                           // 最大载重（至少为1，与评估器一致）
+    private Coordinate carPosition;                   // 车辆位置，即 leg 0 的出发点
+    private Poi[] pois = new Poi[0];                  // pois[k]：leg k 的出发兴趣点（k ≥ 1），pois[0] 不使用
+    private double[] loads = new double[0];           // loads[k]：leg k 出发时的载重，loads[L] 为终点载重
+    private double[] legDistances = new double[0];    // legDistances[k]：leg k 的距离
+    private double[] distancePrefix = new double[0];  // distancePrefix[k]：leg 0 ~ k-1 的距离之和
+    private double[] emptyPrefix = new double[0];     // emptyPrefix[k]：leg 0 ~ k-1 中空驶距离之和
+
+    public RouteSegmentMetrics(MultiObjectiveEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * 以车辆与节点列表重建缓存，O(L)
+     * @param car 车辆
+     * @param nodeList 路径节点列表
+     * @return 本对象
+     */
+    public RouteSegmentMetrics reset(Car car, List<PathNode> nodeList) {
+        int n = nodeList.size();
+        ensureCapacity(n + 1);
+
+        maxLoad = Math.max(1.0, car.getMaxLoad());
+        carPosition = car.getPosition();
+        loads[0] = Math.max(0.0, maxLoad - car.getRemainingLoad());
+        distancePrefix[0] = 0.0;
+        emptyPrefix[0] = 0.0;
+
+        for (int k = 0; k < n; k++) {
+            PathNode node = nodeList.get(k);
+            Poi target = node.getPoi();
+            double distance = distanceFrom(k, target);
+
+            legDistances[k] = distance;
+            distancePrefix[k + 1] = distancePrefix[k] + distance;
+            emptyPrefix[k + 1] = emptyPrefix[k] + (loads[k] <= EMPTY_EPSILON ? distance : 0.0);
+
+            double quantity = node.getDemand().getQuantity();
+            loads[k + 1] = node.isOrigin()
+                ? Math.min(maxLoad, loads[k] + quantity)
+                : Math.max(0.0, loads[k] - quantity);
+            pois[k + 1] = target;
+        }
+
+        size = n;
+        return this;
+    }
+
+    /** @return 缓存对应的路径节点数 */
+    public int size() { return size; }
+
+    /**
+     * 计算插入一对起终点后5个指标的边际变化，写入 out（覆盖原值）
+     * @param quantity 订单货量
+     * @param origin 订单起点兴趣点
+     * @param destination 订单终点兴趣点
+     * @param startPos 起点插入位置（0 ~ size）
+     * @param endPos 终点插入位置（startPos ~ size）
+     * @param out 输出累加器，调用方复用以避免分配
+     */
+    public void insertionDelta(double quantity, Poi origin, Poi destination,
+                               int startPos, int endPos, RouteMetrics out) {
+        out.waitingTime = 2 * quantity * evaluator.getHandlingTimePerUnit();  // 装、卸各一次
+        out.emptyDistance = 0.0;
+        out.loadWaste = 0.0;
+        out.totalTonnage = quantity;
+        out.carbonEmission = 0.0;
+
+        double startLoad = loads[startPos];
+        double carriedLoad = Math.min(maxLoad, startLoad + quantity);
+
+        // 进入起点的新 leg
+        addLeg(out, distanceFrom(startPos, origin), startLoad, 1);
+
+        if (startPos == endPos) {
+            // 起终点相邻：起点 → 终点 → 原 leg startPos 的目标
+            addLeg(out, DistanceMatrix.between(origin, destination), carriedLoad, 1);
+            if (startPos < size) {
+                addLeg(out, DistanceMatrix.between(destination, pois[startPos + 1]), startLoad, 1);
+                addLeg(out, legDistances[startPos], startLoad, -1);
+            }
+            return;
+        }
+
+        // 起点 → 原 leg startPos 的目标，替换原 leg startPos
+        addLeg(out, DistanceMatrix.between(origin, pois[startPos + 1]), carriedLoad, 1);
+        addLeg(out, legDistances[startPos], startLoad, -1);
+
+        // (startPos, endPos) 之间的 leg 距离不变，载重整体增加 quantity
+        double distance = distancePrefix[endPos] - distancePrefix[startPos + 1];
+        out.loadWaste -= quantity * distance;
+        out.carbonEmission += quantity * distance * evaluator.getCarbonEmissionFactor();
+        if (quantity > EMPTY_EPSILON) {
+            out.emptyDistance -= emptyPrefix[endPos] - emptyPrefix[startPos + 1];
+        }
+
+        // 进入终点的新 leg，以及终点 → 原 leg endPos 的目标
+        double endLoad = loads[endPos];
+        addLeg(out, distanceFrom(endPos, destination), Math.min(maxLoad, endLoad + quantity), 1);
+        if (endPos < size) {
+            addLeg(out, DistanceMatrix.between(destination, pois[endPos + 1]), endLoad, 1);
+            addLeg(out, legDistances[endPos], endLoad, -1);
+        }
+    }
+
+    /**
+     * 计算从路径中移除一对起终点后5个指标的边际变化，写入 out（覆盖原值）
+     * 与 {@link #insertionDelta} 互逆：移除的起终点两侧的 leg 各合并为一段，两者之间的 leg 载重整体减少 quantity。
+     * 载重浪费与碳排放由前缀和 O(1) 得到；之间的 leg 是否因此变为空驶需逐段判断，为 O(endIndex - startIndex)
+     *
+     * @param quantity 订单货量
+     * @param startIndex 起点在路径中的下标
+     * @param endIndex 终点在路径中的下标（大于 startIndex）
+     * @param out 输出累加器，调用方复用以避免分配
+     */
+    public void removalDelta(double quantity, int startIndex, int endIndex, RouteMetrics out) {
+        out.waitingTime = -2 * quantity * evaluator.getHandlingTimePerUnit();  // 装、卸各一次
+        out.emptyDistance = 0.0;
+        out.loadWaste = 0.0;
+        out.totalTonnage = -quantity;
+        out.carbonEmission = 0.0;
+
+        int i = startIndex;
+        int j = endIndex;
+        double startLoad = loads[i];
+
+        // 删除进入起点的 leg i
+        addLeg(out, legDistances[i], startLoad, -1);
+
+        if (j == i + 1) {
+            // 起终点相邻：删除起点 → 终点、终点 → 下一节点两段，由原起点的出发点直达下一节点
+            addLeg(out, legDistances[j], loads[j], -1);
+            if (j + 1 < size) {
+                addLeg(out, legDistances[j + 1], loads[j + 1], -1);
+                addLeg(out, distanceFrom(i, pois[j + 2]), startLoad, 1);
+            }
+            return;
+        }
+
+        // 起点 → 下一节点的 leg i+1 与 leg i 合并
+        addLeg(out, legDistances[i + 1], loads[i + 1], -1);
+        addLeg(out, distanceFrom(i, pois[i + 2]), startLoad, 1);
+
+        // leg i+2 ~ j-1 距离不变，载重整体减少 quantity
+        double distance = distancePrefix[j] - distancePrefix[i + 2];
+        out.loadWaste += quantity * distance;
+        out.carbonEmission -= quantity * distance * evaluator.getCarbonEmissionFactor();
+        for (int k = i + 2; k < j; k++) {
+            if (loads[k] > EMPTY_EPSILON && loads[k] - quantity <= EMPTY_EPSILON) {
+                out.emptyDistance += legDistances[k];
+            }
+        }
+
+        // 进入终点的 leg j 与离开终点的 leg j+1 合并
+        addLeg(out, legDistances[j], loads[j], -1);
+        if (j + 1 < size) {
+            addLeg(out, legDistances[j + 1], loads[j + 1], -1);
+            addLeg(out, distanceFrom(j, pois[j + 2]), loads[j + 1], 1);
+        }
+    }
+
+    /**
+     * leg k 的出发点到目标兴趣点的距离：leg 0 从车辆位置出发需按坐标计算，其余查距离矩阵
+     */
+    private double distanceFrom(int k, Poi target) {
+        return k == 0
+            ? Coordinate.distance(carPosition, target.getPosition())
+            : DistanceMatrix.between(pois[k], target);
+    }
+
+    /**
+     * 按评估器规则累加（sign = 1）或扣除（sign = -1）一段 leg 的指标
+     */
+    private void addLeg(RouteMetrics out, double distance, double load, int sign) {
+        if (load <= EMPTY_EPSILON) {
+            out.emptyDistance += sign * distance;
+        }
+        out.loadWaste += sign * Math.max(0.0, maxLoad - load) * distance;
+        out.carbonEmission += sign * load * distance * evaluator.getCarbonEmissionFactor();
+    }
+
+    /** 保证数组可容纳 length 个前缀值，容量不足时按两倍扩容 */
+    private void ensureCapacity(int length) {
+        if (loads.length >= length) {
+            return;
+        }
+
+        int capacity = Math.max(8, Integer.highestOneBit(length) << 1);
+        pois = new Poi[capacity];
+        loads = new double[capacity];
+        legDistances = new double[capacity];
+        distancePrefix = new double[capacity];
+        emptyPrefix = new double[capacity];
+    }
+}
@@ -0,0 +1,190 @@
+package com.tsAdmin.common.algorithm.spatial;
+
+import java.util.*;
+
+import com.tsAdmin.common.Coordinate;
+
+/**
+ * 均匀网格空间索引
+ * 将平面按固定边长划分为网格单元，每个对象登记在其坐标所在的单元中，
+ * 支持 O(1) 的位置更新与按环形逐层扩展的 k 近邻查询
+ *
+ * 所有公开方法均为同步方法：同一快照的索引可被多个调度线程（如并行求解的各分区）同时查询
+ *
+ * @param <T> 被索引的对象类型，按对象身份区分
+ */
+public class SpatialGrid<T>
+{
+    private final double cellSize;                                  // 网格边长（与坐标同单位）
+    private final Map<Long, List<T>> cells = new HashMap<>();       // 单元键 → 单元内对象
+    private final Map<T, Coordinate> positions = new IdentityHashMap<>(); // 对象 → 登记坐标
+    private final Map<T, Long> cellOf = new IdentityHashMap<>();    // 对象 → 所在单元键
+
+    // 已占用单元的行列范围，用于判断环形搜索何时覆盖全部对象（只扩不缩，保守有效）
+    private int minRow = Integer.MAX_VALUE, maxRow = Integer.MIN_VALUE;
+    private int minCol = Integer.MAX_VALUE, maxCol = Integer.MIN_VALUE;
+
+    /**
+     * @param cellSize 网格边长，宜与典型查询半径同量级
+     */
+    public SpatialGrid(double cellSize)
+    {
+        if (cellSize <= 0)
+        {
+            throw new IllegalArgumentException("网格边长必须为正数: " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * 登记或更新对象位置，仅在跨越单元时才迁移
+     * @param item 对象
+     * @param position 新坐标
+     */
+    public synchronized void update(T item, Coordinate position)
+    {
+        int row = rowOf(position), col = colOf(position);
+        long key = keyOf(row, col);
+
+        Long oldKey = cellOf.put(item, key);
+        if (oldKey == null || oldKey != key)
+        {
+            if (oldKey != null)
+            {
+                removeFromCell(oldKey, item);
+            }
+            cells.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+
+            minRow = Math.min(minRow, row);
+            maxRow = Math.max(maxRow, row);
+            minCol = Math.min(minCol, col);
+            maxCol = Math.max(maxCol, col);
+        }
+        positions.put(item, new Coordinate(position));
+    }
+
+    /**
+     * 从索引中移除对象
+     * @param item 对象
+     * @return 对象原本是否在索引中
+     */
+    public synchronized boolean remove(T item)
+    {
+        Long key = cellOf.remove(item);
+        if (key == null)
+        {
+            return false;
+        }
+        positions.remove(item);
+        removeFromCell(key, item);
+        return true;
+    }
+
+    /** 清空索引 */
+    public synchronized void clear()
+    {
+        cells.clear();
+        positions.clear();
+        cellOf.clear();
+        minRow = minCol = Integer.MAX_VALUE;
+        maxRow = maxCol = Integer.MIN_VALUE;
+    }
+
+    public synchronized int size() { return positions.size(); }
+
+    /**
+     * 查询距离中心最近的 k 个对象
+     * 从中心所在单元开始逐环向外扩展；第 r 环扫描完毕后，未扫描对象的距离必然不小于 r × 边长，
+     * 因此当已找到 k 个距离不超过该下界的对象时即可提前结束
+     *
+     * @param center 查询中心
+     * @param k 数量上限
+     * @return 按距离升序排列的对象列表，长度不超过 k
+     */
+    public synchronized List<T> nearest(Coordinate center, int k)
+    {
+        List<T> result = new ArrayList<>();
+        if (k <= 0 || positions.isEmpty())
+        {
+            return result;
+        }
+
+        int row0 = rowOf(center), col0 = colOf(center);
+        int maxRing = Math.max(Math.max(row0 - minRow, maxRow - row0), Math.max(col0 - minCol, maxCol - col0));
+        maxRing = Math.max(0, maxRing);
+
+        List<T> found = new ArrayList<>();
+        List<Double> distances = new ArrayList<>();
+        for (int r = 0; r <= maxRing; r++)
+        {
+            for (int dr = -r; dr <= r; dr++)
+            {
+                // 顶行与底行扫描整行，中间行只扫描左右两端
+                int step = (dr == -r || dr == r) ? 1 : Math.max(1, 2 * r);
+                for (int dc = -r; dc <= r; dc += step)
+                {
+                    List<T> cell = cells.get(keyOf(row0 + dr, col0 + dc));
+                    if (cell == null) continue;
+                    for (T item : cell)
+                    {
+                        found.add(item);
+                        distances.add(Coordinate.distance(center, positions.get(item)));
+                    }
+                }
+            }
+
+            if (found.size() >= k && countWithin(distances, r * cellSize) >= k)
+            {
+                break;
+            }
+        }
+
+        Integer[] order = new Integer[found.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingDouble(distances::get));
+        for (int i = 0; i < Math.min(k, order.length); i++)
+        {
+            result.add(found.get(order[i]));
+        }
+        return result;
+    }
+
+    private static int countWithin(List<Double> distances, double radius)
+    {
+        int count = 0;
+        for (double distance : distances)
+        {
+            if (distance <= radius) count++;
+        }
+        return count;
+    }
+
+    private void removeFromCell(long key, T item)
+    {
+        List<T> cell = cells.get(key);
+        if (cell == null) return;
+
+        for (int i = 0; i < cell.size(); i++)
+        {
+            if (cell.get(i) == item)
+            {
+                // 与末尾元素交换后删除，O(1)
+                cell.set(i, cell.get(cell.size() - 1));
+                cell.remove(cell.size() - 1);
+                break;
+            }
+        }
+        if (cell.isEmpty())
+        {
+            cells.remove(key);
+        }
+    }
+
+    private int rowOf(Coordinate position) { return (int)Math.floor(position.lat / cellSize); }
+    private int colOf(Coordinate position) { return (int)Math.floor(position.lon / cellSize); }
+
+    private static long keyOf(int row, int col)
+    {
+        return ((long)row << 32) ^ (col & 0xffffffffL);
+    }
+}
@@ -6,7 +6,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import com.tsAdmin.control.scheduler.MOSAScheduler;
+import com.tsAdmin.control.scheduler.ParetoFront;
+import com.tsAdmin.control.scheduler.ParetoScheduler;
+import com.tsAdmin.control.scheduler.SchedulingProblem;
 import com.tsAdmin.model.Assignment;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -64,28 +66,43 @@ public class DataController extends Controller
             selected[i] = "true".equals(objStrs[i]) || "1".equals(objStrs[i]);
         }
 
-        // 2. 获取 MOSAScheduler 实例
-        MOSAScheduler mosa = DataUpdater.getScheduler();
-        if (mosa == null) {
-            renderJson(Map.of("code", 500, "msg", "MOSA 调度器未运行"));
+        // 2. 获取当前生效的调度器，只有维护帕累托前沿的调度器才能选解
+        if (!(DataUpdater.getScheduler() instanceof ParetoScheduler scheduler)) {
+            renderJson(Map.of("code", 409, "msg", "当前调度器不维护帕累托前沿"));
             return;
         }
 
-        // 3. 执行理想点法筛选
-        List<Assignment> bestSolution = mosa.selectSolutionByObjectives(selected);
+        // 3. 在最近一次发布的前沿上执行理想点法筛选
+        ParetoFront front = scheduler.getFront();
+        List<Assignment> bestSolution = front == null ? null : front.select(selected);
         if (bestSolution == null || bestSolution.isEmpty()) {
             renderJson(Map.of("code", 404, "msg", "无可用解"));
             return;
         }
 
-        // 4. 同步新解到车辆，并更新 CarStatistics
-        mosa.syncAssignmentsToCars(bestSolution, CarManager.carList.values());
-        mosa.updateCarStats(bestSolution); // 你已实现的方法
+        // 4. 在前沿所基于的快照上提交新解：跳过此后已派发的路径点与已送达的订单
+        scheduler.commit(front.getProblem(), bestSolution);
 
         // 5. 返回成功
         renderJson(Map.of("code", 200, "msg", "Pareto 解已更新"));
     }
 
+    /**
+     * 获取当前调度器最近一次调度的收敛指标
+     * <p>返回数据格式：{"hypervolume":{@code Double}}，超体积取值 [0, 1]，尚未调度时为0；
+     * 当前调度器不维护帕累托前沿时返回 {"code":409, "msg":{@code String}}
+     */
+    public void getSchedulerQuality()
+    {
+        if (!(DataUpdater.getScheduler() instanceof ParetoScheduler scheduler))
+        {
+            renderJson(Map.of("code", 409, "msg", "当前调度器不维护帕累托前沿"));
+            return;
+        }
+        ParetoFront front = scheduler.getFront();
+        renderJson(Map.of("hypervolume", front == null ? 0.0 : front.getHypervolume()));
+    }
+
     /**
      * 获取仪表盘数据
      * TODO: 修改仪表盘数据获取
@@ -143,35 +160,39 @@ public class DataController extends Controller
         Car car = CarManager.carList.get(uuid);
         Map<String, Double> dest = null;
 
-        // 车辆计时器滴答一次并在计时器归零时进行车辆状态转换
-        car.tick(car.getState());
-        if(car.getStateTimer().timeUp()) car.changeState();
-
-        // 仅在车辆进入了接单行驶/运货行驶状态时给dest赋值，其他状态返回的dest为null
-        switch (car.getState())
+        // 车辆状态转换与路径点派发会修改车辆路径和订单列表，与调度快照的捕获、提交互斥
+        synchronized (SchedulingProblem.LOCK)
         {
-            case ORDER_TAKEN:
-            {
-                PathNode pathnode = car.fetchFirstNode();
-                dest = Map.of(
-                    "lat", pathnode.getDemand().getOrigin().lat,
-                    "lon", pathnode.getDemand().getOrigin().lon
-                );
-                break;
-            }
+            // 车辆计时器滴答一次并在计时器归零时进行车辆状态转换
+            car.tick(car.getState());
+            if(car.getStateTimer().timeUp()) car.changeState();
 
-            case TRANSPORTING:
+            // 仅在车辆进入了接单行驶/运货行驶状态时给dest赋值，其他状态返回的dest为null
+            switch (car.getState())
             {
-                PathNode pathnode = car.fetchFirstNode();
-                dest = Map.of(
-                    "lat", pathnode.getDemand().getDestination().lat,
-                    "lon", pathnode.getDemand().getDestination().lon
-                );
-                break;
-            }
+                case ORDER_TAKEN:
+                {
+                    PathNode pathnode = car.fetchFirstNode();
+                    dest = Map.of(
+                        "lat", pathnode.getDemand().getOrigin().lat,
+                        "lon", pathnode.getDemand().getOrigin().lon
+                    );
+                    break;
+                }
 
-            default:
-                break;
+                case TRANSPORTING:
+                {
+                    PathNode pathnode = car.fetchFirstNode();
+                    dest = Map.of(
+                        "lat", pathnode.getDemand().getDestination().lat,
+                        "lon", pathnode.getDemand().getDestination().lon
+                    );
+                    break;
+                }
+
+                default:
+                    break;
+            }
         }
         renderJson(JsonKit.toJson(dest));
     }
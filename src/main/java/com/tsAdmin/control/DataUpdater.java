@@ -1,17 +1,55 @@
 package com.tsAdmin.control;
 
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 import com.tsAdmin.common.ConfigLoader;
+import com.tsAdmin.control.manager.CarManager;
+import com.tsAdmin.control.manager.DemandManager;
 import com.tsAdmin.control.manager.PoiManager;
 import com.tsAdmin.control.scheduler.*;
+import com.tsAdmin.model.Assignment;
 
 public class DataUpdater implements Runnable
 {
+    private static final Logger logger = LogManager.getLogger(DataUpdater.class);
+
     private volatile boolean running = true;
     private static int UPDATE_INTERVAL;
 
     private static MOSAScheduler scheduler = new MOSAScheduler();
+    private static ALNSScheduler alnsScheduler = new ALNSScheduler();
+    private static DecompositionScheduler decompositionScheduler = new DecompositionScheduler();
+    private static ProductTypeScheduler productTypeScheduler = new ProductTypeScheduler();
+
+    /**
+     * 流水线模式下的调度线程：第 N 周期的求解与第 N+1 周期的兴趣点更新重叠进行
+     */
+    private static final ExecutorService SCHEDULE_EXECUTOR = Executors.newSingleThreadExecutor(runnable ->
+    {
+        Thread thread = new Thread(runnable, "scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
 
-    public static MOSAScheduler getScheduler() { return scheduler; }
+    /** 流水线模式下正在求解的上一周期调度任务 */
+    private PendingSchedule pending;
+
+    /** 新订单的批处理窗口，只有放行的订单才进入调度快照 */
+    private final DemandBatcher batcher = new DemandBatcher();
+
+    // 事件驱动调度：上次调度时的车辆版本号，以及距上次调度经过的周期数
+    private long scheduledCarVersion = -1;
+    private int idleTicks = 0;
+
+    /** @return 配置项 DataUpdater.applied_scheduler 当前指定的调度器 */
+    public static BaseScheduler getScheduler() { return appliedScheduler(); }
 
     public void stop() { running = false; }
 
@@ -27,12 +65,43 @@ public class DataUpdater implements Runnable
 
             // 这里开始数据更新逻辑
 
-            PoiManager.update();
-            scheduler.schedule();
+            // 兴趣点更新会生成新订单，与调度快照的捕获、提交互斥；调度本身在快照上进行，不持有锁
+            boolean released;
+            synchronized (SchedulingProblem.LOCK)
+            {
+                PoiManager.update();
+                released = batcher.update(DemandManager.getPendingDemands());
+            }
+
+            if (ConfigLoader.getBoolean("DataUpdater.pipelined", false))
+            {
+                // 屏障：先提交上一周期的结果，再判断是否需要开始新的调度
+                commitPending();
+                if (shouldSchedule(released))
+                {
+                    schedulePipelined();
+                }
+            }
+            else
+            {
+                if (pending != null)
+                {
+                    // 运行中关闭了流水线模式，先提交尚未完成的调度
+                    commitPending();
+                }
+                if (shouldSchedule(released))
+                {
+                    scheduleSerial(start);
+                }
+            }
 
             // 这里结束数据更新逻辑
 
             long cost = System.currentTimeMillis() - start;
+            if (cost > UPDATE_INTERVAL)
+            {
+                logger.warn("Data update took {} ms, exceeding the update interval of {} ms", cost, UPDATE_INTERVAL);
+            }
             long sleep = UPDATE_INTERVAL - cost;
             if (sleep > 0)
             {
@@ -47,5 +116,138 @@ public class DataUpdater implements Runnable
                 }
             }
         }
+
+        if (pending != null)
+        {
+            pending.future.cancel(true);
+            pending = null;
+        }
+    }
+
+    /**
+     * 串行模式：兴趣点更新之后在本线程中捕获快照、求解并提交
+     * @param start 本周期开始时刻（毫秒）
+     */
+    private void scheduleSerial(long start)
+    {
+        BaseScheduler applied = appliedScheduler();
+        SchedulingProblem problem = SchedulingProblem.capture(batcher::isReleased);
+        List<Assignment> assignments;
+        if (ConfigLoader.getBoolean("DataUpdater.anytime", false))
+        {
+            // 限时模式：调度器只使用本周期剩余时间的一部分，到时返回当前最优解
+            long remaining = UPDATE_INTERVAL - (System.currentTimeMillis() - start);
+            assignments = applied.schedule(problem, budgetOf(remaining));
+        }
+        else
+        {
+            assignments = applied.schedule(problem);
+        }
+        applied.commit(problem, assignments);
+    }
+
+    /**
+     * 流水线模式（调用前已在屏障处提交上一周期的结果，提交时剔除期间已被车辆派发的路径点）：
+     * 捕获本周期快照，交由调度线程求解，本线程随即进入休眠并开始下一周期的兴趣点更新
+     * 求解可使用整个周期的时间，而不仅是兴趣点更新之后的剩余时间
+     */
+    private void schedulePipelined()
+    {
+        BaseScheduler applied = appliedScheduler();
+        SchedulingProblem problem = SchedulingProblem.capture(batcher::isReleased);
+        long budget = budgetOf(UPDATE_INTERVAL);
+        boolean anytime = ConfigLoader.getBoolean("DataUpdater.anytime", false);
+
+        Future<List<Assignment>> future = SCHEDULE_EXECUTOR.submit(() ->
+            anytime ? applied.schedule(problem, budget) : applied.schedule(problem));
+        pending = new PendingSchedule(applied, problem, future);
+    }
+
+    /**
+     * 周期屏障：等待流水线中上一周期的求解结束并提交结果
+     */
+    private void commitPending()
+    {
+        if (pending == null)
+        {
+            return;
+        }
+
+        PendingSchedule current = pending;
+        pending = null;
+        try
+        {
+            current.scheduler.commit(current.problem, current.future.get());
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e)
+        {
+            logger.error("Pipelined scheduling failed", e.getCause());
+        }
+    }
+
+    /**
+     * 事件驱动调度：仅在批处理窗口放行了新订单、车辆空闲状态变化，或距上次调度超过配置的最长间隔时才调度
+     * 关闭事件驱动（DataUpdater.event_driven）时每周期都调度
+     * @param released 本周期批处理窗口是否放行了新订单
+     * @return 本周期是否需要调度
+     */
+    private boolean shouldSchedule(boolean released)
+    {
+        long carVersion = CarManager.getVersion();
+        int maxIdleTicks = ConfigLoader.getInt("DataUpdater.max_idle_ticks", 12);
+
+        boolean changed = released || carVersion != scheduledCarVersion;
+        if (ConfigLoader.getBoolean("DataUpdater.event_driven", false) && !changed && ++idleTicks < maxIdleTicks)
+        {
+            return false;
+        }
+
+        scheduledCarVersion = carVersion;
+        idleTicks = 0;
+        return true;
+    }
+
+    private static BaseScheduler appliedScheduler()
+    {
+        switch (ConfigLoader.getString("DataUpdater.applied_scheduler", ""))
+        {
+            case "ALNS":
+                return alnsScheduler;
+            case "Decomposition":
+                return decompositionScheduler;
+            case "ProductType":
+                return productTypeScheduler;
+            default:
+                return scheduler;
+        }
+    }
+
+    /**
+     * @param available 可用时间（毫秒）
+     * @return 按配置比例折算的调度时间预算
+     */
+    private static long budgetOf(long available)
+    {
+        int budgetPercent = ConfigLoader.getInt("DataUpdater.time_budget", 80);
+        return Math.max(0, available) * budgetPercent / 100;
+    }
+
+    /** 流水线中尚未提交的调度任务 */
+    private static class PendingSchedule
+    {
+        final BaseScheduler scheduler;
+        final SchedulingProblem problem;
+        final Future<List<Assignment>> future;
+
+        PendingSchedule(BaseScheduler scheduler, SchedulingProblem problem, Future<List<Assignment>> future)
+        {
+            this.scheduler = scheduler;
+            this.problem = problem;
+            this.future = future;
+        }
     }
 }
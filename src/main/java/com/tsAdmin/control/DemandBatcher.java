@@ -0,0 +1,105 @@
+package com.tsAdmin.control;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.tsAdmin.common.ConfigLoader;
+import com.tsAdmin.common.Timer;
+import com.tsAdmin.model.Demand;
+
+/**
+ * 滚动时域的订单批处理窗口
+ * 新到达的订单先在窗口中积累，满足以下任一条件时整批放行，参与此后的调度：
+ * - 窗口中的订单数达到配置项 DemandBatcher.batch_size
+ * - 窗口中最早到达的订单已等待配置项 DemandBatcher.window 分钟（模拟时间，每周期前进 {@link Timer#TICK_SPEED} 分钟）
+ * - 窗口中有紧急订单：终点库存比例不高于配置项 DemandBatcher.urgent_stock，可直接越过窗口
+ *
+ * 窗口长度为0时每个新订单到达后立即放行，与不分批时的行为一致
+ * 已放行的订单在被分配之前一直参与调度；未放行的订单不进入调度快照
+ *
+ * 只由数据更新线程在调度状态锁内调用，非线程安全
+ */
+public class DemandBatcher
+{
+    private final Map<String, Integer> arrivalTicks = new HashMap<>();  // 窗口中的订单UUID → 到达周期
+    private final Set<String> released = new HashSet<>();              // 已放行、尚未分配的订单UUID
+    private int tick = 0;
+
+    /**
+     * 推进一个周期：登记新到达的订单，并在满足放行条件时放行整个窗口
+     * @param pendingDemands 当前全部待分配订单
+     * @return 本周期是否有订单被放行
+     */
+    public boolean update(List<Demand> pendingDemands)
+    {
+        int window = Math.max(0, ConfigLoader.getInt("DemandBatcher.window", 0));
+        int batchSize = Math.max(1, ConfigLoader.getInt("DemandBatcher.batch_size", 50));
+        double urgentStock = ConfigLoader.getInt("DemandBatcher.urgent_stock", 20) / 100.0;
+        return update(pendingDemands, window, batchSize, urgentStock);
+    }
+
+    /**
+     * 按给定的窗口参数推进一个周期
+     * @param pendingDemands 当前全部待分配订单
+     * @param window 窗口长度（分钟），0为不分批
+     * @param batchSize 整批放行的订单数
+     * @param urgentStock 紧急订单的终点库存比例上限
+     * @return 本周期是否有订单被放行
+     */
+    boolean update(List<Demand> pendingDemands, int window, int batchSize, double urgentStock)
+    {
+        tick++;
+
+        // 已分配或已移除的订单不再跟踪
+        Set<String> pending = new HashSet<>();
+        for (Demand demand : pendingDemands)
+        {
+            pending.add(demand.getUUID());
+        }
+        arrivalTicks.keySet().retainAll(pending);
+        released.retainAll(pending);
+
+        boolean urgent = false;
+        int oldestTick = tick;
+        for (Demand demand : pendingDemands)
+        {
+            String uuid = demand.getUUID();
+            if (released.contains(uuid))
+            {
+                continue;
+            }
+            int arrival = arrivalTicks.computeIfAbsent(uuid, key -> tick);
+            oldestTick = Math.min(oldestTick, arrival);
+            urgent |= demand.getDestinationStockRatio() <= urgentStock;
+        }
+
+        if (arrivalTicks.isEmpty())
+        {
+            return false;
+        }
+
+        int waited = (tick - oldestTick) * Timer.TICK_SPEED;
+        if (window == 0 || arrivalTicks.size() >= batchSize || waited >= window || urgent)
+        {
+            released.addAll(arrivalTicks.keySet());
+            arrivalTicks.clear();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param demand 待分配订单
+     * @return 订单是否已放行，可纳入调度快照
+     */
+    public boolean isReleased(Demand demand)
+    {
+        return released.contains(demand.getUUID());
+    }
+
+    /** @return 窗口中尚未放行的订单数 */
+    public int getHeldCount() { return arrivalTicks.size(); }
+}
@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.tsAdmin.common.ConfigLoader;
 import com.tsAdmin.common.Coordinate;
@@ -16,6 +17,9 @@ public class CarManager
 {
     public static Map<String, Car> carList = new HashMap<>();
 
+    /** 车辆版本号，车辆空闲状态发生变化时递增，调度循环据此判断是否需要重新调度 */
+    private static final AtomicLong version = new AtomicLong();
+
     private static final int[] LOADS = { 2, 5, 8, 12, 18, 24, 30, 35 };
     private static final int[] VOLUMES = { 12, 16, 32, 48, 64, 86, 108, 140 };
     private static final Coordinate defaultLocation = new Coordinate(30.67646, 104.10248);
@@ -62,6 +66,31 @@ public class CarManager
 
             carList.put(uuid, car);
         }
+        version.incrementAndGet();
+    }
+
+    /** @return 车型核载等级（t）的副本，车辆的核载从中随机选取 */
+    public static int[] getLoads() { return LOADS.clone(); }
+
+    /** @return 车型容积等级（m³）的副本，车辆的容积从中随机选取 */
+    public static int[] getVolumes() { return VOLUMES.clone(); }
+
+    /** @return 车辆版本号 */
+    public static long getVersion() { return version.get(); }
+
+    /**
+     * 车辆状态变化时更新版本号：仅在车辆变为空闲或不再空闲时递增
+     * <p><i>只处理登记在 carList 中的车辆本体，调度快照中的车辆副本不影响版本号</i>
+     * @param car 状态发生变化的车辆
+     * @param from 原状态
+     * @param to 新状态
+     */
+    public static void onCarStateChanged(Car car, CarState from, CarState to)
+    {
+        if ((from == CarState.AVAILABLE) != (to == CarState.AVAILABLE) && carList.get(car.getUUID()) == car)
+        {
+            version.incrementAndGet();
+        }
     }
 
     /**
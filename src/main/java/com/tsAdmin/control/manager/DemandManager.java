@@ -1,11 +1,19 @@
 package com.tsAdmin.control.manager;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.tsAdmin.common.ConfigLoader;
 import com.tsAdmin.control.DBManager;
+import com.tsAdmin.model.Car;
 import com.tsAdmin.model.Demand;
 import com.tsAdmin.model.Product;
 import com.tsAdmin.model.ProductType;
@@ -13,11 +21,27 @@ import com.tsAdmin.model.poi.*;
 
 public class DemandManager
 {
+    private static final Logger logger = LogManager.getLogger(DemandManager.class);
+
     public static Map<String, Demand> demandList = new HashMap<>();
 
+    /**
+     * 待分配订单队列，按到达顺序排列；订单被分配或移除时出队
+     * <p><i>与 demandList 一样，修改须在调度状态锁内进行</i>
+     */
+    private static final Map<String, Demand> pendingDemands = new LinkedHashMap<>();
+
+    /**
+     * 已拆分的大货量订单：原订单UUID → 尚未送达的子运单
+     * <p><i>原订单本身不进入订单列表，由其子运单代替参与调度；全部子运单送达后移除</i>
+     */
+    private static final Map<String, List<Demand>> shipments = new HashMap<>();
+
     public static void init()
     {
         demandList.clear();
+        pendingDemands.clear();
+        shipments.clear();
 
         List<Map<String, String>> records = DBManager.getDemandList();
         for (Map<String, String> record : records)
@@ -31,8 +55,7 @@ public class DemandManager
             Poi destination = PoiManager.poiList.get(record.get("destination_UUID"));
             Product product = new Product(type, quantity, volume);
 
-            Demand demand = new Demand(uuid, origin, destination, product);
-            demandList.put(uuid, demand);
+            register(new Demand(uuid, origin, destination, product));
         }
     }
 
@@ -41,7 +64,7 @@ public class DemandManager
      * @param origin 起点，必须是 {@code Dumper} 的实现
      * @param destination 终点，必须是 {@code Purchaser} 或其子类，兴趣点调用时一般为 {@code this}
      * @param quantity 需求的质量
-     * @return 生成的订单
+     * @return 生成的订单；超出单车运力而被拆分时返回原订单，实际参与调度的是其子运单
      */
     public static Demand generateDemand(Poi origin, Poi destination, int quantity)
     {
@@ -49,12 +72,141 @@ public class DemandManager
         String uuid = UUID.randomUUID().toString().replace("-", "");
 
         Demand demand = new Demand(uuid, origin, destination, product);
-        demandList.put(uuid, demand);
+        register(demand);
         return demand;
     }
 
     public static void removeDemand(String uuid)
     {
-        demandList.remove(uuid);
+        Demand removed = demandList.remove(uuid);
+        pendingDemands.remove(uuid);
+
+        // 子运单送达：全部子运单送达后原订单完成
+        if (removed != null && removed.getParent() != null)
+        {
+            String parentUuid = removed.getParent().getUUID();
+            List<Demand> remaining = shipments.get(parentUuid);
+            if (remaining != null && remaining.remove(removed) && remaining.isEmpty())
+            {
+                shipments.remove(parentUuid);
+                logger.debug("All shipments of demand(UUID:{}) were delivered", parentUuid);
+            }
+        }
+    }
+
+    /**
+     * 标记订单已分配并将其移出待分配队列
+     * @param demand 订单
+     */
+    public static void markAssigned(Demand demand)
+    {
+        demand.setAssigned();
+        pendingDemands.remove(demand.getUUID());
+    }
+
+    /** @return 按到达顺序排列的待分配订单副本 */
+    public static List<Demand> getPendingDemands()
+    {
+        return new ArrayList<>(pendingDemands.values());
+    }
+
+    /**
+     * 登记新订单：单车装得下的订单直接进入待分配队列，
+     * 否则（配置项 DemandManager.split_delivery 开启时）按车队运力拆分为若干子运单，由子运单代替原订单进入队列
+     */
+    private static void register(Demand demand)
+    {
+        int[] sizes = ConfigLoader.getBoolean("DemandManager.split_delivery", true)
+            ? shipmentSizes(demand.getQuantity(), demand.getVolume())
+            : new int[] { demand.getQuantity() };
+        if (sizes.length <= 1)
+        {
+            demandList.put(demand.getUUID(), demand);
+            pendingDemands.put(demand.getUUID(), demand);
+            return;
+        }
+
+        List<Demand> children = new ArrayList<>(sizes.length);
+        for (int size : sizes)
+        {
+            String uuid = UUID.randomUUID().toString().replace("-", "");
+            double volume = demand.getVolume() * size / demand.getQuantity();
+            Demand child = new Demand(uuid, demand, new Product(demand.getType(), size, volume));
+            demandList.put(uuid, child);
+            pendingDemands.put(uuid, child);
+            children.add(child);
+        }
+        shipments.put(demand.getUUID(), children);
+        logger.debug("Demand(UUID:{}, quantity:{}) was split into {} shipments", demand.getUUID(), demand.getQuantity(), sizes.length);
+    }
+
+    /**
+     * 按车队运力拆分货量
+     * 每辆车的有效运力为核载与按货物密度折算的容积中较小者；取最少的子运单数 n，使均分后的每份货量
+     * 至少有 n 辆车装得下，这样所有子运单可以在同一次调度中分给不同车辆同时运输
+     * 车队为空时按车型等级 {@link CarManager#getLoads()} × {@link CarManager#getVolumes()} 的组合估计车队构成
+     *
+     * @param quantity 货量
+     * @param volume 体积
+     * @return 各子运单的货量，单车装得下（或没有可用运力）时只有一份
+     */
+    static int[] shipmentSizes(int quantity, double volume)
+    {
+        double density = volume > 0 ? quantity / volume : Double.POSITIVE_INFINITY;  // 每单位容积的货量
+
+        List<Integer> capacities = new ArrayList<>();
+        if (CarManager.carList.isEmpty())
+        {
+            for (int load : CarManager.getLoads())
+            {
+                for (int carVolume : CarManager.getVolumes())
+                {
+                    capacities.add(effectiveCapacity(load, carVolume, density));
+                }
+            }
+        }
+        else
+        {
+            for (Car car : CarManager.carList.values())
+            {
+                capacities.add(effectiveCapacity(car.getMaxLoad(), car.getMaxVolume(), density));
+            }
+        }
+        capacities.removeIf(capacity -> capacity <= 0);
+        capacities.sort(Collections.reverseOrder());
+        if (capacities.isEmpty() || quantity <= capacities.getFirst())
+        {
+            return new int[] { quantity };
+        }
+
+        // 子运单数递增时每份货量递减、装得下的车辆数递增，所有车辆都装得下时必然停止
+        int count = (quantity + capacities.getFirst() - 1) / capacities.getFirst();
+        while (true)
+        {
+            int size = (quantity + count - 1) / count;
+            int fitting = 0;
+            while (fitting < capacities.size() && capacities.get(fitting) >= size)
+            {
+                fitting++;
+            }
+            if (fitting >= count || fitting == capacities.size())
+            {
+                break;
+            }
+            count++;
+        }
+
+        int[] sizes = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            sizes[i] = quantity / count + (i < quantity % count ? 1 : 0);
+        }
+        return sizes;
+    }
+
+    /** @return 车辆可装载的该密度货物的最大货量 */
+    private static int effectiveCapacity(int maxLoad, int maxVolume, double density)
+    {
+        return (int)Math.min(maxLoad, Math.floor(maxVolume * density));
     }
 }
@@ -1,4 +1,9 @@
 package com.tsAdmin.control.manager;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -8,6 +13,7 @@ import org.apache.logging.log4j.Logger;
 
 import com.tsAdmin.common.ConfigLoader;
 import com.tsAdmin.common.Coordinate;
+import com.tsAdmin.common.algorithm.graph.DistanceMatrix;
 import com.tsAdmin.control.DBManager;
 import com.tsAdmin.model.ProductType;
 import com.tsAdmin.model.poi.*;
@@ -16,6 +22,9 @@ public class PoiManager
 {
     private static final Logger logger = LogManager.getLogger(PoiManager.class);
 
+    /** 兴趣点距离矩阵的持久化文件名，位于配置项 PoiManager.cache_dir 指定的目录下 */
+    private static final String DISTANCE_CACHE_FILE = "poi_distance.bin";
+
     public static Map<String, Poi> poiList = new HashMap<>();
 
     public static Poi getPoi(String uuid) { return poiList.get(uuid); }
@@ -61,6 +70,8 @@ public class PoiManager
             poiList.put(uuid, toAdd);
         }
 
+        initDistanceMatrix();
+
         // 初始化兴趣点初始库存
         if (DBManager.getCount("poi_stock") > 0)
         {
@@ -80,6 +91,72 @@ public class PoiManager
         }
     }
 
+    /**
+     * 为兴趣点分配下标并准备距离矩阵
+     * 下标按UUID排序分配，兴趣点不变时每次启动得到相同的下标，持久化的矩阵因此可以直接复用；
+     * 配置项 PoiManager.distance_cache 关闭时每次启动重新计算且不写入磁盘；
+     * 兴趣点数超过 {@link DistanceMatrix#MAX_SIZE} 时不建立矩阵，所有距离按坐标计算
+     */
+    private static void initDistanceMatrix()
+    {
+        List<Poi> pois = new ArrayList<>(poiList.values());
+        pois.sort(Comparator.comparing(Poi::getUUID));
+        List<Coordinate> points = new ArrayList<>(pois.size());
+        for (int i = 0; i < pois.size(); i++)
+        {
+            pois.get(i).setIndex(i);
+            points.add(pois.get(i).getPosition());
+        }
+
+        if (!DistanceMatrix.supports(pois.size()))
+        {
+            logger.warn("{} POIs exceed the distance matrix limit of {}, distances are computed from coordinates",
+                pois.size(), DistanceMatrix.MAX_SIZE);
+            DistanceMatrix.setShared(null);
+            return;
+        }
+
+        Path cacheFile = Paths.get(ConfigLoader.getString("PoiManager.cache_dir", "cache"), DISTANCE_CACHE_FILE);
+        boolean cached = ConfigLoader.getBoolean("PoiManager.distance_cache", true);
+        long fingerprint = DistanceMatrix.fingerprint(points, false);
+        DistanceMatrix matrix = null;
+        if (cached)
+        {
+            try
+            {
+                matrix = DistanceMatrix.load(cacheFile, fingerprint);
+            }
+            catch (IOException e)
+            {
+                logger.warn("Failed to load POI distance matrix from {}, rebuilding", cacheFile, e);
+            }
+        }
+
+        if (matrix == null)
+        {
+            long startTime = System.currentTimeMillis();
+            matrix = DistanceMatrix.build(points, null, fingerprint);
+            logger.info("POI distance matrix built: {} POIs in {} ms", pois.size(), System.currentTimeMillis() - startTime);
+
+            if (cached)
+            {
+                try
+                {
+                    matrix.save(cacheFile);
+                }
+                catch (IOException e)
+                {
+                    logger.warn("Failed to save POI distance matrix to {}", cacheFile, e);
+                }
+            }
+        }
+        else
+        {
+            logger.info("POI distance matrix loaded from {}", cacheFile);
+        }
+        DistanceMatrix.setShared(matrix);
+    }
+
     /** 更新所有兴趣点，每周期调用 */
     public static void update()
     {
@@ -0,0 +1,736 @@
+package com.tsAdmin.control.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.tsAdmin.common.ConfigLoader;
+import com.tsAdmin.common.PathNode;
+import com.tsAdmin.common.algorithm.graph.DistanceMatrix;
+import com.tsAdmin.common.algorithm.multiobjective.ConcurrentNonDominatedSet;
+import com.tsAdmin.common.algorithm.multiobjective.DynamicNormalizer;
+import com.tsAdmin.common.algorithm.multiobjective.CumulativeHypervolumeTracker;
+import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator;
+import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator.RouteMetrics;
+import com.tsAdmin.common.algorithm.multiobjective.NonDominatedSet;
+import com.tsAdmin.common.algorithm.multiobjective.RouteSegmentMetrics;
+import com.tsAdmin.model.Assignment;
+import com.tsAdmin.model.Car;
+import com.tsAdmin.model.Demand;
+
+/**
+ * 自适应大邻域搜索调度器（ALNS - Adaptive Large Neighborhood Search）
+ *
+ * 算法流程：
+ * 1. 初始化：以贪心解为起点，每辆车对应一条路径
+ * 2. 破坏：按自适应权重选择破坏算子，从当前解中移除若干订单
+ *    - 随机移除 / 最差移除（移除收益最大者）/ Shaw 相关移除（起终点相近者）/ 整条路径移除
+ * 3. 修复：按自适应权重选择修复算子，将移除的订单重新插入
+ *    - 贪心插入 / regret-2 / regret-3 插入，插入位置的可行性与边际成本均为 O(1) 评估
+ * 4. 接受：按模拟退火准则接受新解，被接受的解同时送入非支配集
+ * 5. 自适应：每个迭代段结束后，按各算子在段内取得的得分更新权重
+ *
+ * 单目标比较使用与 {@link GreedyScheduler} 相同的5目标加权和
+ * 最大迭代次数与修复时优先考虑的邻近车辆数分别由配置项 ALNSScheduler.max_iterations、ALNSScheduler.candidate_cars 设置
+ */
+public class ALNSScheduler extends BaseScheduler implements ParetoScheduler
+{
+    // ========== ALNS算法参数 ==========
+
+    /** 权重更新的迭代段长度 */
+    private final int SEGMENT_LENGTH = 50;
+
+    /** 权重更新的反应系数：新权重 = (1 - ρ) × 旧权重 + ρ × 段内平均得分 */
+    private final double REACTION_FACTOR = 0.1;
+
+    /** 算子得分：产生新的全局最优解 / 改进当前解 / 被接受的劣解 */
+    private final double SCORE_GLOBAL_BEST = 33.0;
+    private final double SCORE_IMPROVED = 9.0;
+    private final double SCORE_ACCEPTED = 13.0;
+
+    /** 冷却率：每次迭代后温度的衰减系数 */
+    private final double COOLING_RATE = 0.9975;
+
+    /** 初始温度设定：初始解变差该比例时以50%概率接受 */
+    private final double START_WORSENING = 0.05;
+
+    /** 每次破坏移除的订单数上限（绝对值与占比） */
+    private final int MAX_REMOVAL = 30;
+    private final double MAX_REMOVAL_RATIO = 0.3;
+
+    /** 最差移除与 Shaw 移除的随机化指数，越大越接近确定性选择 */
+    private final double RANDOMIZATION_POWER = 3.0;
+
+    private static final double EPSILON = 1e-9;
+
+    /** 破坏算子 */
+    private enum DestroyOperator { RANDOM, WORST, SHAW, ROUTE }
+
+    /** 修复算子，k 为 regret 的考虑层数（k = 1 即贪心插入） */
+    private enum RepairOperator
+    {
+        GREEDY(1), REGRET_2(2), REGRET_3(3);
+
+        private final int k;
+
+        RepairOperator(int k) { this.k = k; }
+    }
+
+    /** 可移除的订单：起终点与所在路径下标 */
+    private static class Request
+    {
+        private final PathNode start, end;
+        private final int route;
+
+        private Request(PathNode start, PathNode end, int route)
+        {
+            this.start = start;
+            this.end = end;
+            this.route = route;
+        }
+    }
+
+    // ========== 核心组件 ==========
+
+    private final MultiObjectiveEvaluator evaluator = new MultiObjectiveEvaluator();
+
+    /** 非支配集：被接受的解均送入其中，本调度器生效时由前端读取 */
+    private final NonDominatedSet nonDominatedSet = new ConcurrentNonDominatedSet();
+
+    /** 本次调度所求解的问题快照 */
+    private SchedulingProblem problem;
+
+    /** 最近一次求解发布的前沿，供前端选解 */
+    private volatile ParetoFront front;
+
+    /** 修复时优先考虑的邻近车辆数，均不可行时再考虑全部车辆 */
+    private int candidateCars = 32;
+
+    // 算子权重与段内统计
+    private final double[] destroyWeights = new double[DestroyOperator.values().length];
+    private final double[] destroyScores = new double[DestroyOperator.values().length];
+    private final int[] destroyUses = new int[DestroyOperator.values().length];
+    private final double[] repairWeights = new double[RepairOperator.values().length];
+    private final double[] repairScores = new double[RepairOperator.values().length];
+    private final int[] repairUses = new int[RepairOperator.values().length];
+
+    // 修复阶段的单条路径缓存，下标与解中路径一一对应
+    private RouteProfile[] profiles = new RouteProfile[0];
+    private RouteSegmentMetrics[] segments = new RouteSegmentMetrics[0];
+    private final RouteMetrics delta = new RouteMetrics();
+
+    /**
+     * 限时模式的截止时刻（System.nanoTime），仅在 deadlineEnabled 时有效
+     */
+    private long deadlineNanos;
+    private boolean deadlineEnabled = false;
+
+    /**
+     * 限时（anytime）调度：在给定的墙钟时间预算内运行，截止时返回目前找到的最优解
+     * @param problem 问题快照
+     * @param timeBudgetMillis 时间预算（毫秒）
+     * @return 搜索过程中加权成本最小的分配方案，尚未提交
+     */
+    @Override
+    public List<Assignment> schedule(SchedulingProblem problem, long timeBudgetMillis)
+    {
+        deadlineNanos = System.nanoTime() + Math.max(0, timeBudgetMillis) * 1_000_000L;
+        deadlineEnabled = true;
+        try
+        {
+            return schedule(problem);
+        }
+        finally
+        {
+            deadlineEnabled = false;
+        }
+    }
+
+    /**
+     * 调度方法，使用自适应大邻域搜索在问题快照上优化分配方案
+     *
+     * @param problem 问题快照
+     * @return 搜索过程中加权成本最小的分配方案（仅包含路径有变化的车辆），尚未提交
+     */
+    @Override
+    public List<Assignment> schedule(SchedulingProblem problem)
+    {
+        this.problem = problem;
+        int maxIterations = Math.max(0, ConfigLoader.getInt("ALNSScheduler.max_iterations", 1000));
+        candidateCars = ConfigLoader.getInt("ALNSScheduler.candidate_cars", 32);
+
+        // ========== 第一步：生成初始解 ==========
+        List<Assignment> current = buildInitialSolution(problem);
+        RouteMetrics currentMetrics = evaluate(current);
+        double currentCost = scalarCost(currentMetrics);
+
+        List<Assignment> best = current;
+        double bestCost = currentCost;
+
+        nonDominatedSet.clear();
+        nonDominatedSet.setCapacity(ConfigLoader.getInt("NonDominatedSet.capacity", 0));
+        nonDominatedSet.add(currentMetrics.toObjectiveVector(), current);
+
+        Arrays.fill(destroyWeights, 1.0);
+        Arrays.fill(repairWeights, 1.0);
+        resetSegment();
+
+        // ========== 第二步：设置初始温度 ==========
+        double temperature = Math.max(EPSILON, -START_WORSENING * Math.abs(currentCost) / Math.log(0.5));
+
+        // ========== 第三步：ALNS主循环 ==========
+        for (int iteration = 0; iteration < maxIterations; iteration++)
+        {
+            if (deadlineEnabled && System.nanoTime() >= deadlineNanos)
+            {
+                break;
+            }
+
+            DestroyOperator destroyOperator = DestroyOperator.values()[rouletteSelect(destroyWeights)];
+            RepairOperator repairOperator = RepairOperator.values()[rouletteSelect(repairWeights)];
+            destroyUses[destroyOperator.ordinal()]++;
+            repairUses[repairOperator.ordinal()]++;
+
+            // 3.1 破坏与修复
+            List<Assignment> candidate = deepCopyAssignments(current);
+            List<Request> removed = destroy(destroyOperator, candidate);
+            if (removed.isEmpty())
+            {
+                break;  // 没有可移除的订单，搜索空间为空
+            }
+
+            if (repair(repairOperator, candidate, removed))
+            {
+                // 3.2 评估与接受
+                RouteMetrics candidateMetrics = evaluate(candidate);
+                double candidateCost = scalarCost(candidateMetrics);
+
+                double score = 0.0;
+                if (candidateCost < bestCost - EPSILON)
+                {
+                    best = candidate;
+                    bestCost = candidateCost;
+                    score = SCORE_GLOBAL_BEST;
+                }
+                else if (candidateCost < currentCost - EPSILON)
+                {
+                    score = SCORE_IMPROVED;
+                }
+
+                boolean accepted = candidateCost < currentCost
+                    || random.nextDouble() < Math.exp((currentCost - candidateCost) / temperature);
+                if (accepted)
+                {
+                    current = candidate;
+                    currentCost = candidateCost;
+                    if (score == 0.0)
+                    {
+                        score = SCORE_ACCEPTED;
+                    }
+                    nonDominatedSet.add(candidateMetrics.toObjectiveVector(), candidate);
+                }
+
+                destroyScores[destroyOperator.ordinal()] += score;
+                repairScores[repairOperator.ordinal()] += score;
+            }
+
+            // 3.3 迭代段结束时更新算子权重
+            if ((iteration + 1) % SEGMENT_LENGTH == 0)
+            {
+                updateWeights(destroyWeights, destroyScores, destroyUses);
+                updateWeights(repairWeights, repairScores, repairUses);
+                resetSegment();
+            }
+
+            temperature *= COOLING_RATE;
+        }
+
+        publishFront();
+
+        // ========== 第四步：返回结果，只提交与已提交路径不同的路径 ==========
+        // 路径均以已提交的路径为初值，被搜索清空的路径也要提交，否则其中移到别处的路径点会在两辆车上重复
+        List<Assignment> result = new ArrayList<>();
+        for (int r = 0; r < best.size(); r++)
+        {
+            if (!best.get(r).getNodeList().equals(problem.getCars().get(r).getNodeList()))
+            {
+                result.add(best.get(r));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取非支配集（用于外部访问）
+     */
+    public NonDominatedSet getNonDominatedSet()
+    {
+        return nonDominatedSet;
+    }
+
+    @Override
+    public ParetoFront getFront() { return front; }
+
+    /**
+     * 搜索结束后由前沿重建归一化器并计算超体积，与问题快照一并发布
+     */
+    private void publishFront()
+    {
+        DynamicNormalizer frontNormalizer = new DynamicNormalizer();
+        frontNormalizer.updateFromNonDominatedSet(nonDominatedSet);
+        CumulativeHypervolumeTracker tracker = new CumulativeHypervolumeTracker(frontNormalizer,
+            CumulativeHypervolumeTracker.DEFAULT_SAMPLE_COUNT, random.nextLong());
+        front = new ParetoFront(problem, nonDominatedSet, frontNormalizer, tracker.measure(nonDominatedSet));
+    }
+
+    // ========== 初始解 ==========
+
+    /**
+     * 以贪心解为起点，为每辆车建立一条路径（未分配新订单的车辆沿用已提交的路径），便于修复时考虑全部车辆
+     */
+    private List<Assignment> buildInitialSolution(SchedulingProblem problem)
+    {
+        Map<String, Assignment> greedyRoutes = new HashMap<>();
+        for (Assignment assignment : new GreedyScheduler().schedule(problem))
+        {
+            greedyRoutes.put(assignment.getCar().getUUID(), assignment);
+        }
+
+        List<Assignment> solution = new ArrayList<>();
+        for (Car car : problem.getCars())
+        {
+            Assignment route = greedyRoutes.get(car.getUUID());
+            solution.add(route != null ? new Assignment(route) : committedRoute(car));
+        }
+
+        profiles = new RouteProfile[solution.size()];
+        segments = new RouteSegmentMetrics[solution.size()];
+        for (int r = 0; r < solution.size(); r++)
+        {
+            profiles[r] = new RouteProfile();
+            segments[r] = new RouteSegmentMetrics(evaluator);
+        }
+        return solution;
+    }
+
+    // ========== 破坏算子 ==========
+
+    /**
+     * 应用破坏算子，被移除的订单从候选解中删除
+     * @return 被移除的订单
+     */
+    private List<Request> destroy(DestroyOperator operator, List<Assignment> solution)
+    {
+        List<Request> requests = collectRequests(solution);
+        if (requests.isEmpty())
+        {
+            return requests;
+        }
+
+        int limit = Math.max(1, Math.min(MAX_REMOVAL, (int)(requests.size() * MAX_REMOVAL_RATIO)));
+        int count = 1 + random.nextInt(limit);
+
+        List<Request> removed;
+        switch (operator)
+        {
+            case WORST:
+                removed = worstRemoval(solution, requests, count);
+                break;
+            case SHAW:
+                removed = shawRemoval(requests, count);
+                break;
+            case ROUTE:
+                removed = routeRemoval(requests);
+                break;
+            default:
+                Collections.shuffle(requests, random);
+                removed = new ArrayList<>(requests.subList(0, count));
+                break;
+        }
+
+        for (Request request : removed)
+        {
+            List<PathNode> nodes = solution.get(request.route).getNodeList();
+            nodes.remove(request.end);
+            nodes.remove(request.start);
+        }
+        return removed;
+    }
+
+    /** 收集解中所有可移除的订单 */
+    private List<Request> collectRequests(List<Assignment> solution)
+    {
+        List<Request> requests = new ArrayList<>();
+        for (int r = 0; r < solution.size(); r++)
+        {
+            List<PathNode> nodes = solution.get(r).getNodeList();
+            for (PathNode node : nodes)
+            {
+                if (node.isOrigin())
+                {
+                    PathNode end = findPairNode(nodes, node.getDemand(), true);
+                    if (end != null)
+                    {
+                        requests.add(new Request(node, end, r));
+                    }
+                }
+            }
+        }
+        return requests;
+    }
+
+    /**
+     * 最差移除：优先移除"移除收益"（路径成本的下降量）最大的订单
+     */
+    private List<Request> worstRemoval(List<Assignment> solution, List<Request> requests, int count)
+    {
+        // 每条路径只重建一次分段缓存并记录节点下标，各订单的移除收益由 RouteSegmentMetrics 增量得到
+        Map<PathNode, Integer> positions = new IdentityHashMap<>();
+        Set<Integer> cachedRoutes = new HashSet<>();
+        double[] gains = new double[requests.size()];
+        for (int i = 0; i < requests.size(); i++)
+        {
+            Request request = requests.get(i);
+            if (cachedRoutes.add(request.route))
+            {
+                Assignment route = solution.get(request.route);
+                List<PathNode> nodes = route.getNodeList();
+                for (int k = 0; k < nodes.size(); k++)
+                {
+                    positions.put(nodes.get(k), k);
+                }
+                segments[request.route].reset(route.getCar(), nodes);
+            }
+
+            segments[request.route].removalDelta(request.start.getDemand().getQuantity(),
+                positions.get(request.start), positions.get(request.end), delta);
+            gains[i] = -scalarCost(delta);
+        }
+
+        Integer[] order = new Integer[requests.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Double.compare(gains[b], gains[a]));
+
+        return randomizedPick(requests, new ArrayList<>(Arrays.asList(order)), count);
+    }
+
+    /**
+     * Shaw 相关移除：以随机订单为种子，移除起点、终点与其最接近的订单
+     */
+    private List<Request> shawRemoval(List<Request> requests, int count)
+    {
+        Demand seed = requests.get(random.nextInt(requests.size())).start.getDemand();
+        double[] relatedness = new double[requests.size()];
+        for (int i = 0; i < requests.size(); i++)
+        {
+            Demand demand = requests.get(i).start.getDemand();
+            relatedness[i] = DistanceMatrix.between(seed.getOriginPoi(), demand.getOriginPoi())
+                           + DistanceMatrix.between(seed.getDestinationPoi(), demand.getDestinationPoi());
+        }
+
+        Integer[] order = new Integer[requests.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Double.compare(relatedness[a], relatedness[b]));
+
+        return randomizedPick(requests, new ArrayList<>(Arrays.asList(order)), count);
+    }
+
+    /**
+     * 整条路径移除：随机选择一条非空路径，移除其中全部可移除订单
+     */
+    private List<Request> routeRemoval(List<Request> requests)
+    {
+        int route = requests.get(random.nextInt(requests.size())).route;
+        List<Request> removed = new ArrayList<>();
+        for (Request request : requests)
+        {
+            if (request.route == route)
+            {
+                removed.add(request);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 按 y^p 随机化地从有序候选中依次选取，p 越大越偏向排在前面的候选
+     */
+    private List<Request> randomizedPick(List<Request> requests, List<Integer> order, int count)
+    {
+        List<Request> picked = new ArrayList<>(count);
+        while (picked.size() < count && !order.isEmpty())
+        {
+            int index = (int)(Math.pow(random.nextDouble(), RANDOMIZATION_POWER) * order.size());
+            picked.add(requests.get(order.remove(index)));
+        }
+        return picked;
+    }
+
+    // ========== 修复算子 ==========
+
+    /**
+     * 应用修复算子，将移除的订单重新插入候选解
+     * 每个待插入订单缓存其在各候选路径中的最小插入成本，插入一个订单后只需重算被修改的那条路径
+     * 
+     * @return 所有订单均插入成功返回true
+     */
+    private boolean repair(RepairOperator operator, List<Assignment> solution, List<Request> removed)
+    {
+        for (int r = 0; r < solution.size(); r++)
+        {
+            refreshRoute(solution, r);
+        }
+
+        List<Request> pending = new ArrayList<>(removed);
+        if (operator == RepairOperator.GREEDY)
+        {
+            Collections.shuffle(pending, random);
+        }
+
+        List<int[]> candidateRoutes = new ArrayList<>(pending.size());
+        List<double[]> candidateCosts = new ArrayList<>(pending.size());
+        int[] position = new int[2];
+        for (Request request : pending)
+        {
+            int[] routes = nearbyRoutes(solution, request.start.getDemand());
+            double[] costs = insertionCosts(routes, request.start.getDemand(), position);
+            if (routes.length < solution.size() && min(costs) == Double.MAX_VALUE)
+            {
+                // 邻近车辆均不可行时考虑全部车辆
+                routes = allRoutes(solution.size());
+                costs = insertionCosts(routes, request.start.getDemand(), position);
+            }
+            candidateRoutes.add(routes);
+            candidateCosts.add(costs);
+        }
+
+        while (!pending.isEmpty())
+        {
+            // 选出本轮要插入的订单：贪心按顺序取，regret-k 取后悔值最大者
+            int chosen = operator.k > 1 ? maxRegret(candidateCosts, operator.k) : 0;
+
+            Request request = pending.remove(chosen);
+            int[] routes = candidateRoutes.remove(chosen);
+            double[] costs = candidateCosts.remove(chosen);
+
+            int best = argMin(costs);
+            if (costs[best] == Double.MAX_VALUE)
+            {
+                return false;
+            }
+
+            int route = routes[best];
+            bestInsertion(route, request.start.getDemand(), position, Double.MAX_VALUE);
+            List<PathNode> nodes = solution.get(route).getNodeList();
+            nodes.add(position[0], request.start);
+            nodes.add(position[1] + 1, request.end);
+            refreshRoute(solution, route);
+
+            // 只有被插入的路径发生变化，其余缓存成本仍然有效
+            for (int i = 0; i < pending.size(); i++)
+            {
+                int[] otherRoutes = candidateRoutes.get(i);
+                for (int j = 0; j < otherRoutes.length; j++)
+                {
+                    if (otherRoutes[j] == route)
+                    {
+                        candidateCosts.get(i)[j] = bestInsertion(route, pending.get(i).start.getDemand(), position, Double.MAX_VALUE);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 选出后悔值最大的订单：后悔值 = Σ(第 j 小插入成本 - 最小插入成本)，j = 2 ~ k
+     * 可行路径不足 k 条的订单后悔值视为无穷大，优先插入；后悔值相同时取最小成本更低者
+     */
+    private int maxRegret(List<double[]> candidateCosts, int k)
+    {
+        int chosen = 0;
+        double maxRegret = -1.0, chosenCost = Double.MAX_VALUE;
+        double[] smallest = new double[k];
+        for (int i = 0; i < candidateCosts.size(); i++)
+        {
+            Arrays.fill(smallest, Double.MAX_VALUE);
+            for (double cost : candidateCosts.get(i))
+            {
+                for (int j = 0; j < k; j++)
+                {
+                    if (cost < smallest[j])
+                    {
+                        System.arraycopy(smallest, j, smallest, j + 1, k - j - 1);
+                        smallest[j] = cost;
+                        break;
+                    }
+                }
+            }
+
+            double regret = 0.0;
+            for (int j = 1; j < k; j++)
+            {
+                regret += smallest[j] == Double.MAX_VALUE ? Double.MAX_VALUE / k : smallest[j] - smallest[0];
+            }
+            if (regret > maxRegret || (regret == maxRegret && smallest[0] < chosenCost))
+            {
+                maxRegret = regret;
+                chosenCost = smallest[0];
+                chosen = i;
+            }
+        }
+        return chosen;
+    }
+
+    /** 计算订单在每条候选路径中的最小插入成本 */
+    private double[] insertionCosts(int[] routes, Demand demand, int[] position)
+    {
+        double[] costs = new double[routes.length];
+        for (int j = 0; j < routes.length; j++)
+        {
+            costs[j] = bestInsertion(routes[j], demand, position, Double.MAX_VALUE);
+        }
+        return costs;
+    }
+
+    /**
+     * 距订单起点最近车辆的路径，由快照的车辆空间索引查询（解中路径与快照车辆按下标一一对应）
+     * 未启用筛选或车辆不多时返回全部路径
+     */
+    private int[] nearbyRoutes(List<Assignment> solution, Demand demand)
+    {
+        if (candidateCars <= 0 || candidateCars >= solution.size())
+        {
+            return allRoutes(solution.size());
+        }
+        return problem.nearestCars(demand.getOrigin(), candidateCars);
+    }
+
+    private static int[] allRoutes(int count)
+    {
+        int[] all = new int[count];
+        for (int r = 0; r < count; r++) all[r] = r;
+        return all;
+    }
+
+    private static int argMin(double[] values)
+    {
+        int best = 0;
+        for (int i = 1; i < values.length; i++)
+        {
+            if (values[i] < values[best]) best = i;
+        }
+        return best;
+    }
+
+    private static double min(double[] values)
+    {
+        return values.length == 0 ? Double.MAX_VALUE : values[argMin(values)];
+    }
+
+    /**
+     * 基于路径缓存 O(1) 评估每个候选位置，返回最小边际成本
+     * @param position 输出：最优位置
+     * @param bound 只关心小于该值的成本
+     * @return 最小边际成本，无可行位置时返回 MAX_VALUE
+     */
+    private double bestInsertion(int route, Demand demand, int[] position, double bound)
+    {
+        RouteProfile profile = profiles[route];
+        if (!profile.isFeasible())
+        {
+            return Double.MAX_VALUE;
+        }
+
+        double quantity = demand.getQuantity();
+        double volume = demand.getVolume();
+        int size = profile.size();
+        double minCost = Double.MAX_VALUE;
+        for (int startPos = 0; startPos <= size; startPos++)
+        {
+            // 区间最小剩余量随 endPos 右移单调不增，一旦不可行即可剪枝
+            for (int endPos = startPos; endPos <= size; endPos++)
+            {
+                if (!profile.canInsert(quantity, volume, startPos, endPos)) break;
+
+                segments[route].insertionDelta(quantity, demand.getOriginPoi(), demand.getDestinationPoi(), startPos, endPos, delta);
+                double cost = scalarCost(delta);
+                if (cost < minCost && cost < bound)
+                {
+                    minCost = cost;
+                    position[0] = startPos;
+                    position[1] = endPos;
+                }
+            }
+        }
+        return minCost;
+    }
+
+    /** 重建单条路径的可行性剖面与分段指标缓存 */
+    private void refreshRoute(List<Assignment> solution, int route)
+    {
+        Assignment assignment = solution.get(route);
+        profiles[route].reset(assignment.getCar(), assignment.getNodeList());
+        segments[route].reset(assignment.getCar(), assignment.getNodeList());
+    }
+
+    // ========== 评估与自适应 ==========
+
+    /** 计算整套方案的5目标合计值 */
+    private RouteMetrics evaluate(List<Assignment> solution)
+    {
+        RouteMetrics total = new RouteMetrics();
+        for (Assignment assignment : solution)
+        {
+            total.add(evaluator.evaluateMetrics(assignment));
+        }
+        return total;
+    }
+
+    private double scalarCost(RouteMetrics metrics)
+    {
+        return GreedyScheduler.weightedCost(metrics.getWaitingTime(), metrics.getEmptyDistance(),
+            metrics.getLoadWaste(), metrics.getDeliveredTonnage(), metrics.getCarbonEmission());
+    }
+
+    /** 轮盘赌选择 */
+    private int rouletteSelect(double[] weights)
+    {
+        double sum = 0.0;
+        for (double weight : weights) sum += weight;
+
+        double threshold = random.nextDouble() * sum;
+        for (int i = 0; i < weights.length; i++)
+        {
+            threshold -= weights[i];
+            if (threshold <= 0) return i;
+        }
+        return weights.length - 1;
+    }
+
+    /** 按段内平均得分平滑更新权重，权重设下限避免算子被彻底淘汰 */
+    private void updateWeights(double[] weights, double[] scores, int[] uses)
+    {
+        for (int i = 0; i < weights.length; i++)
+        {
+            if (uses[i] > 0)
+            {
+                weights[i] = Math.max(0.05, (1 - REACTION_FACTOR) * weights[i] + REACTION_FACTOR * scores[i] / uses[i]);
+            }
+        }
+    }
+
+    private void resetSegment()
+    {
+        Arrays.fill(destroyScores, 0.0);
+        Arrays.fill(destroyUses, 0);
+        Arrays.fill(repairScores, 0.0);
+        Arrays.fill(repairUses, 0);
+    }
+}
@@ -19,10 +19,75 @@ public abstract class BaseScheduler
 {
     // ========== 共享组件 ==========
 
-    protected final Random random = new Random();
+    protected final Random random;
+
+    /** 插入位置枚举器与路径剖面，在同一调度器实例内复用，避免插入热点路径上的对象分配 */
+    private final InsertionPositionSampler positionSampler = new InsertionPositionSampler();
+    private final RouteProfile insertionProfile = new RouteProfile();
+
+    protected BaseScheduler() { this(new Random()); }
+
+    /**
+     * 使用指定随机数生成器创建调度器
+     * @param random 随机数生成器，并行运行的调度器实例应各自持有独立的生成器
+     */
+    protected BaseScheduler(Random random) { this.random = random; }
 
     // ========== 接口方法（必须由子类实现） ==========
-    public abstract List<Assignment> schedule();
+
+    /**
+     * 在问题快照上求解，不读写车辆与订单管理器中的共享状态
+     * @param problem 问题快照
+     * @return 分配结果列表，尚未提交
+     */
+    public abstract List<Assignment> schedule(SchedulingProblem problem);
+
+    /**
+     * 限时求解：支持 anytime 的调度器在截止时返回目前找到的最优解，默认实现忽略时间预算
+     * @param problem 问题快照
+     * @param timeBudgetMillis 时间预算（毫秒）
+     * @return 分配结果列表，尚未提交
+     */
+    public List<Assignment> schedule(SchedulingProblem problem, long timeBudgetMillis)
+    {
+        return schedule(problem);
+    }
+
+    /**
+     * 捕获当前状态的快照、求解并原子提交结果
+     * @return 已提交的分配结果列表
+     */
+    public List<Assignment> schedule()
+    {
+        SchedulingProblem problem = SchedulingProblem.capture();
+        List<Assignment> assignments = schedule(problem);
+        commit(problem, assignments);
+        return assignments;
+    }
+
+    /**
+     * 捕获当前状态的快照、限时求解并原子提交结果
+     * @param timeBudgetMillis 时间预算（毫秒）
+     * @return 已提交的分配结果列表
+     */
+    public List<Assignment> schedule(long timeBudgetMillis)
+    {
+        SchedulingProblem problem = SchedulingProblem.capture();
+        List<Assignment> assignments = schedule(problem, timeBudgetMillis);
+        commit(problem, assignments);
+        return assignments;
+    }
+
+    /**
+     * 提交求解结果，子类可扩展提交时需要同步更新的数据
+     * 流水线模式下由调用方在周期屏障处调用，提交的可能是上一周期快照的求解结果
+     * @param problem 求解所用的问题快照
+     * @param assignments 分配结果列表
+     */
+    public void commit(SchedulingProblem problem, List<Assignment> assignments)
+    {
+        problem.commit(assignments);
+    }
 
     // ========== 公共工具方法（供外部调用） ==========
 
@@ -75,28 +140,31 @@ public abstract class BaseScheduler
     }
 
     /**
-     * 计算路径总成本
-     * @param car 车辆
-     * @param nodeList 路径节点列表
-     * @return 总成本
+     * 以车辆快照中已提交的路径为初值创建分配方案
+     * 提交时车辆路径被结果整体替换，求解必须从已提交的路径出发，否则尚未派发的路径点会丢失
+     * @param car 车辆快照
+     * @return 包含车辆已提交路径的分配方案
      */
- 
+    protected static Assignment committedRoute(Car car) {
+        Assignment assignment = new Assignment(car);
+        assignment.getNodeList().addAll(car.getNodeList());
+        return assignment;
+    }
+
     /**
      * 对分配方案进行深拷贝
      * 功能：创建分配方案的完全独立副本，避免修改原始数据
      * 重要性：优化算法需要多次尝试不同的解，如果不深拷贝会相互影响
      * 
+     * 车辆快照与路径点在调度过程中只读，因此只复制每条路径的节点列表，不再重新分配 Car 与 PathNode
+     * 
      * @param assignments 原分配方案
      * @return 拷贝后的分配方案
      */
     protected List<Assignment> deepCopyAssignments(List<Assignment> assignments) {
-        List<Assignment> copies = new ArrayList<>();
+        List<Assignment> copies = new ArrayList<>(assignments.size());
         for (Assignment original : assignments) {
-            Assignment copy = new Assignment(new Car(original.getCar()));
-            for (PathNode op : original.getNodeList()) {
-                copy.addPathNode(new PathNode(op.getDemand(), op.isOrigin()));
-            }
-            copies.add(copy);
+            copies.add(new Assignment(original));
         }
         return copies;
     }
@@ -135,13 +203,13 @@ public abstract class BaseScheduler
      * 在节点列表中查找同一订单的配对节点
      * 
      * @param nodeList 要搜索的节点列表
-     * @param orderUUID 要查找的订单UUID
+     * @param demand 要查找的订单（按对象引用比较，与 {@link #extractPair} 一致）
      * @param isOrigin 当前选中的节点类型（true=起点，false=终点）
      * @return 配对的节点，如果找不到返回null
      */
-    protected PathNode findPairNode(List<PathNode> nodeList, String orderUUID, boolean isOrigin) {
+    protected PathNode findPairNode(List<PathNode> nodeList, Demand demand, boolean isOrigin) {
         for (PathNode node : nodeList) {
-            boolean sameOrder = node.getDemand().getUUID().equals(orderUUID);
+            boolean sameOrder = node.getDemand() == demand;
             boolean oppositeType = node.isOrigin() != isOrigin;
             if (sameOrder && oppositeType) {
                 return node;
@@ -162,10 +230,11 @@ public abstract class BaseScheduler
         }
 
         PathNode selected = nodes.get(random.nextInt(nodes.size()));
-        String demandId = selected.getDemand().getUUID();
+        Demand demand = selected.getDemand();
 
+        // 同一订单的起终点引用同一个 Demand 对象，直接比较引用，避免 UUID 字符串比较
         for (PathNode node : nodes) {
-            if (node.getDemand().getUUID().equals(demandId) && 
+            if (node.getDemand() == demand &&
                 node.isOrigin() != selected.isOrigin()) {
                 PathNode start = selected.isOrigin() ? selected : node;
                 PathNode end = selected.isOrigin() ? node : selected;
@@ -185,22 +254,25 @@ public abstract class BaseScheduler
     protected boolean insertPairAtRandomPositions(Assignment assignment, PathNode startNode, PathNode endNode) {
         List<PathNode> nodes = assignment.getNodeList();
         int size = nodes.size();
-        List<int[]> candidatePositions = new ArrayList<>();
-        for (int startPos = 0; startPos <= size; startPos++) {
-            for (int endPos = startPos; endPos <= size; endPos++) {
-                candidatePositions.add(new int[]{startPos, endPos});
-            }
+
+        // 先构建载重/体积前缀剖面，之后每个候选位置的可行性判定都是 O(1)
+        RouteProfile profile = insertionProfile.reset(assignment.getCar(), nodes);
+        if (!profile.isFeasible()) {
+            return false;
         }
-        Collections.shuffle(candidatePositions, random);
+        double quantity = startNode.getDemand().getQuantity();
+        double volume = startNode.getDemand().getVolume();
 
-        for (int[] position : candidatePositions) {
-            nodes.add(position[0], startNode);
-            nodes.add(position[1] + 1, endNode);
-            if (isFeasibleRoute(assignment)) {
+        // 惰性随机枚举候选位置，只在找到可行位置后才修改节点列表
+        positionSampler.reset(size, random);
+        while (positionSampler.next()) {
+            int startPos = positionSampler.startPos();
+            int endPos = positionSampler.endPos();
+            if (profile.canInsert(quantity, volume, startPos, endPos)) {
+                nodes.add(startPos, startNode);
+                nodes.add(endPos + 1, endNode);
                 return true;
             }
-            nodes.remove(endNode);
-            nodes.remove(startNode);
         }
         return false;
     }
@@ -0,0 +1,178 @@
+package com.tsAdmin.control.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.tsAdmin.common.ConfigLoader;
+import com.tsAdmin.common.Coordinate;
+import com.tsAdmin.model.Car;
+import com.tsAdmin.model.Demand;
+
+/**
+ * 地理分区调度器
+ * 兴趣点集中在各城市周边，订单与车辆天然按地域聚集；本调度器把全局问题按地理位置分解为若干区域子问题，
+ * 各区域由独立的子调度器并行求解，最后在区域之间做一次轻量的边界修复（见 {@link PartitionedScheduler}）
+ *
+ * 划分方式：
+ * 1. 以待分配订单的起点做 k-means 聚类（区域数为配置项 DecompositionScheduler.regions），
+ *    聚类中心沿用上一周期的结果作为初值，使区域划分在周期之间保持稳定，热启动的子调度器可以继续使用其前沿
+ * 2. 每辆车划入距其最近的区域中心；没有车辆的区域，其订单并入最近的有车区域
+ *
+ * 全局搜索的代价随问题规模超线性增长，分解后变为多个小规模搜索，可随CPU核数扩展；
+ * 代价是跨区域的协同只在边界修复中考虑
+ */
+public class DecompositionScheduler extends PartitionedScheduler
+{
+    /** k-means 最大迭代次数 */
+    private static final int KMEANS_ITERATIONS = 20;
+
+    // 上一周期的聚类中心
+    private Coordinate[] centroids;
+
+    public DecompositionScheduler() { super("DecompositionScheduler.sub_scheduler"); }
+
+    @Override
+    protected List<Partition> partition(SchedulingProblem problem)
+    {
+        List<Demand> demands = problem.getDemands();
+        int regionCount = Math.max(1, Math.min(ConfigLoader.getInt("DecompositionScheduler.regions", 8), demands.size()));
+        cluster(demands, regionCount);
+
+        List<Partition> regions = new ArrayList<>(regionCount);
+        for (int r = 0; r < regionCount; r++)
+        {
+            regions.add(new Partition());
+        }
+        for (Car car : problem.getCars())
+        {
+            regions.get(nearestCentroid(car.getPosition(), null)).cars.add(car);
+        }
+        boolean[] hasCars = new boolean[regionCount];
+        for (int r = 0; r < regionCount; r++)
+        {
+            hasCars[r] = !regions.get(r).cars.isEmpty();
+        }
+        for (Demand demand : demands)
+        {
+            regions.get(nearestCentroid(demand.getOrigin(), hasCars)).demands.add(demand);
+        }
+        return regions;
+    }
+
+    // ========== 聚类 ==========
+
+    /**
+     * 以订单起点做 k-means 聚类，结果保存在 {@link #centroids} 中
+     * 区域数不变时以上一周期的中心为初值，否则按 k-means++ 重新选取初始中心
+     */
+    private void cluster(List<Demand> demands, int regionCount)
+    {
+        if (centroids == null || centroids.length != regionCount)
+        {
+            centroids = seedCentroids(demands, regionCount);
+        }
+
+        int[] labels = new int[demands.size()];
+        for (int iteration = 0; iteration < KMEANS_ITERATIONS; iteration++)
+        {
+            boolean changed = iteration == 0;
+            for (int i = 0; i < demands.size(); i++)
+            {
+                int label = nearestCentroid(demands.get(i).getOrigin(), null);
+                changed |= label != labels[i];
+                labels[i] = label;
+            }
+            if (!changed)
+            {
+                break;
+            }
+
+            double[] sumLat = new double[regionCount];
+            double[] sumLon = new double[regionCount];
+            int[] counts = new int[regionCount];
+            for (int i = 0; i < demands.size(); i++)
+            {
+                Coordinate origin = demands.get(i).getOrigin();
+                sumLat[labels[i]] += origin.lat;
+                sumLon[labels[i]] += origin.lon;
+                counts[labels[i]]++;
+            }
+            for (int r = 0; r < regionCount; r++)
+            {
+                // 空簇保留原中心
+                if (counts[r] > 0)
+                {
+                    centroids[r] = new Coordinate(sumLat[r] / counts[r], sumLon[r] / counts[r]);
+                }
+            }
+        }
+    }
+
+    /**
+     * k-means++ 初始中心：每个新中心以与已有中心最近距离的平方为权重随机选取
+     */
+    private Coordinate[] seedCentroids(List<Demand> demands, int regionCount)
+    {
+        Coordinate[] seeds = new Coordinate[regionCount];
+        seeds[0] = new Coordinate(demands.get(random.nextInt(demands.size())).getOrigin());
+
+        double[] weights = new double[demands.size()];
+        for (int r = 1; r < regionCount; r++)
+        {
+            double total = 0.0;
+            for (int i = 0; i < demands.size(); i++)
+            {
+                Coordinate origin = demands.get(i).getOrigin();
+                double nearest = Double.MAX_VALUE;
+                for (int s = 0; s < r; s++)
+                {
+                    nearest = Math.min(nearest, Coordinate.distance(origin, seeds[s]));
+                }
+                weights[i] = nearest * nearest;
+                total += weights[i];
+            }
+
+            int chosen = random.nextInt(demands.size());
+            if (total > 0)
+            {
+                double target = random.nextDouble() * total;
+                for (int i = 0; i < weights.length; i++)
+                {
+                    target -= weights[i];
+                    if (target <= 0)
+                    {
+                        chosen = i;
+                        break;
+                    }
+                }
+            }
+            seeds[r] = new Coordinate(demands.get(chosen).getOrigin());
+        }
+        return seeds;
+    }
+
+    /**
+     * @param position 坐标
+     * @param allowed 非空时只考虑标记为 true 的区域
+     * @return 距坐标最近的区域中心编号
+     */
+    private int nearestCentroid(Coordinate position, boolean[] allowed)
+    {
+        int nearest = -1;
+        double minDistance = Double.MAX_VALUE;
+        for (int r = 0; r < centroids.length; r++)
+        {
+            if (allowed != null && !allowed[r])
+            {
+                continue;
+            }
+            double distance = Coordinate.distance(position, centroids[r]);
+            if (distance < minDistance)
+            {
+                minDistance = distance;
+                nearest = r;
+            }
+        }
+        return nearest;
+    }
+}
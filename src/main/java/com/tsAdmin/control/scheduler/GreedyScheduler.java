@@ -1,15 +1,19 @@
 package com.tsAdmin.control.scheduler;
 
 import com.tsAdmin.common.PathNode;
+import com.tsAdmin.common.ConfigLoader;
+import com.tsAdmin.common.Coordinate;
 import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator;
-import com.tsAdmin.control.manager.DemandManager;
+import com.tsAdmin.common.algorithm.multiobjective.RouteSegmentMetrics;
 import com.tsAdmin.model.Assignment;
 import com.tsAdmin.model.Demand;
 import com.tsAdmin.model.Car;
 import com.tsAdmin.control.manager.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 /**
  * 贪心调度器（基于5目标评估器）
@@ -19,6 +23,16 @@ import java.util.List;
  * 1. 使用 MultiObjectiveEvaluator 评估每个候选分配方案
  * 2. 将5个目标加权组合成单一成本值
  * 3. 选择成本最小的车辆进行分配
+ * 
+ * 两种插入模式（配置项 GreedyScheduler.cheapest_insertion）：
+ * - 追加（默认）：只追加到路径末尾，对整条路径重新评估
+ * - 最廉插入：在每条路径的所有可行位置中选择边际成本最小者，基于分段缓存 O(1) 评估
+ * 
+ * 候选车辆先经空间索引筛选为距订单起点最近的 k 辆（配置项 GreedyScheduler.candidate_cars），
+ * 均不可行时逐步扩大搜索范围
+ * 
+ * {@link #construct(SchedulingProblem, Random)} 可传入随机数生成器打乱订单顺序，
+ * 供其他调度器并行采样使用
  */
 public class GreedyScheduler extends BaseScheduler
 {
@@ -30,89 +44,231 @@ public class GreedyScheduler extends BaseScheduler
     private static final double CARBON_WEIGHT = 0.15;
     
     @Override
-    public List<Assignment> schedule()
+    public List<Assignment> schedule(SchedulingProblem problem)
+    {
+        return construct(problem, null);
+    }
+
+    /**
+     * 在问题快照上构造贪心解，只读访问快照，可在多个线程中并发调用
+     * 
+     * @param problem 问题快照
+     * @param random 非空时先随机打乱订单顺序，得到随机化的贪心解；为空时按快照顺序分配
+     * @return 分配结果列表（仅包含分到订单的车辆）
+     */
+    public List<Assignment> construct(SchedulingProblem problem, Random random)
     {
         List<Assignment> assignments = new ArrayList<>();
-        
-        // ========== 第一步：筛选未分配完成的demand ==========
-        List<Demand> newDemands = new ArrayList<>();
-        for (Demand demand : DemandManager.demandList.values())
-        {
-            if (!demand.isAssigned()) {
-                newDemands.add(demand);
-            }
-        }
-        
-        // 如果没有新的demand，直接返回空的分配结果
-        if (newDemands.isEmpty()) {
-            return assignments;
+
+        List<Demand> newDemands = new ArrayList<>(problem.getDemands());
+        if (random != null) {
+            Collections.shuffle(newDemands, random);
         }
-        
-        // ========== 第二步：深拷贝车辆 ==========
+
+        // 快照中的车辆只读，构造过程在其副本上进行；副本从已提交的路径出发，新订单插入其中
         List<Car> carsCopy = new ArrayList<>();
-        for (Car car : CarManager.carList.values())
+        for (Car car : problem.getCars())
         {
-            carsCopy.add(new Car(car)); // 深拷贝车辆
+            Car copy = new Car(car);
+            copy.setNodeList(new ArrayList<>(car.getNodeList()));
+            carsCopy.add(copy);
         }
 
         // 创建多目标评估器
         MultiObjectiveEvaluator evaluator = new MultiObjectiveEvaluator();
 
-        // ========== 第三步：贪心分配新的demand ==========
+        if (ConfigLoader.getBoolean("GreedyScheduler.cheapest_insertion", false)) {
+            scheduleByCheapestInsertion(problem, newDemands, carsCopy, assignments, evaluator);
+        }
+        else {
+            scheduleByAppending(problem, newDemands, carsCopy, assignments, evaluator);
+        }
+        return assignments;
+    }
+
+    /**
+     * 追加模式：每个订单只考虑追加到各车路径末尾，并对整条路径重新评估
+     */
+    private void scheduleByAppending(SchedulingProblem problem, List<Demand> newDemands, List<Car> carsCopy,
+                                     List<Assignment> assignments, MultiObjectiveEvaluator evaluator)
+    {
+        int candidateCount = ConfigLoader.getInt("GreedyScheduler.candidate_cars", 32);
+        RouteProfile[] profiles = new RouteProfile[carsCopy.size()];  // 按需构建，车辆被分配订单后重建
+
         for (Demand demand : newDemands) 
         {
-            if (demand.isAssigned()) continue; // 安全检查
-
-            Car bestCar = null;
+            int bestIndex = -1;
             double minCost = Double.MAX_VALUE;
 
             PathNode startNode = new PathNode(demand, true);
             PathNode endNode = new PathNode(demand, false);
 
-            for (Car car : carsCopy) {
-                if (!canAddDemandPairToSequence(car, startNode, endNode)) {
-                    continue;
-                }
+            boolean[] tried = null;  // 扩大搜索范围后跳过前几轮已评估的车辆
+            for (int k = candidateCount; ; k *= 4) {
+                int[] candidates = candidates(problem, demand.getOrigin(), k);
+                for (int c : candidates) {
+                    if (tried != null && tried[c]) continue;
+                    Car car = carsCopy.get(c);
+                    if (!canAddDemandPairToSequence(profileOf(profiles, carsCopy, c), demand)) {
+                        continue;
+                    }
 
-                // 临时添加并评估
-                List<PathNode> originalNodes = new ArrayList<>(car.getNodeList());
-                car.getNodeList().add(startNode);
-                car.getNodeList().add(endNode);
+                    // 临时添加并评估
+                    List<PathNode> originalNodes = new ArrayList<>(car.getNodeList());
+                    car.getNodeList().add(startNode);
+                    car.getNodeList().add(endNode);
 
-                double cost = calculateMultiObjectiveCost(car, evaluator);
+                    double cost = calculateMultiObjectiveCost(car, evaluator);
 
-                car.getNodeList().clear();
-                car.getNodeList().addAll(originalNodes);
+                    car.getNodeList().clear();
+                    car.getNodeList().addAll(originalNodes);
 
-                if (cost < minCost) {
-                    minCost = cost;
-                    bestCar = car;
+                    if (cost < minCost) {
+                        minCost = cost;
+                        bestIndex = c;
+                    }
                 }
+                // 邻近车辆均不可行时扩大搜索范围，直至覆盖全部车辆
+                if (bestIndex >= 0 || candidates.length >= carsCopy.size()) break;
+                tried = markTried(tried, candidates, carsCopy.size());
+            }
+
+            // ========== 分配结果处理 ==========
+            if (bestIndex >= 0) {
+                Car bestCar = carsCopy.get(bestIndex);
+                int size = bestCar.getNodeList().size();
+                assignDemand(assignments, bestCar, startNode, endNode, size, size);
+                profiles[bestIndex].reset(bestCar, bestCar.getNodeList());
             }
-                
-                // ========== 分配结果处理 ==========
-                if (bestCar != null) {
-                    Assignment assignment = getAssignmentForCar(assignments, bestCar);
-                    assignment.addPathNode(startNode);
-                    assignment.addPathNode(endNode);
-
-                    bestCar.addPathNode(startNode);
-                    bestCar.addPathNode(endNode);
-
-                    // 更新订单分配状态
-
-                    int quantity = Math.min(demand.getQuantity(), bestCar.getMaxLoad());
-                    double volume = quantity / (demand.getQuantity() / demand.getVolume());
-                    demand.setQuantity(demand.getQuantity() - quantity);
-                    demand.setVolume(demand.getVolume() - volume);
-                    demand.setAssigned();
+        }
+    }
+
+    /**
+     * 最廉插入模式：在每辆车路径的所有可行位置中，选择5目标边际成本最小的 (车辆, 起点位置, 终点位置)
+     * 
+     * 每辆车缓存 {@link RouteProfile}（O(1) 可行性）与 {@link RouteSegmentMetrics}（O(1) 边际指标），
+     * 评估候选位置时既不修改路径也不分配对象，只有被选中的车辆在插入后重建缓存
+     */
+    private void scheduleByCheapestInsertion(SchedulingProblem problem, List<Demand> newDemands, List<Car> carsCopy,
+                                             List<Assignment> assignments, MultiObjectiveEvaluator evaluator)
+    {
+        int carCount = carsCopy.size();
+        RouteProfile[] profiles = new RouteProfile[carCount];
+        RouteSegmentMetrics[] segments = new RouteSegmentMetrics[carCount];
+        for (int c = 0; c < carCount; c++) {
+            Car car = carsCopy.get(c);
+            profiles[c] = RouteProfile.of(car, car.getNodeList());
+            segments[c] = new RouteSegmentMetrics(evaluator).reset(car, car.getNodeList());
+        }
+        MultiObjectiveEvaluator.RouteMetrics delta = new MultiObjectiveEvaluator.RouteMetrics();
+        int candidateCount = ConfigLoader.getInt("GreedyScheduler.candidate_cars", 32);
+
+        for (Demand demand : newDemands)
+        {
+            double quantity = demand.getQuantity();
+            double volume = demand.getVolume();
+
+            int bestIndex = -1, bestStart = -1, bestEnd = -1;
+            double minCost = Double.MAX_VALUE;
+
+            boolean[] tried = null;  // 扩大搜索范围后跳过前几轮已评估的车辆
+            for (int k = candidateCount; ; k *= 4) {
+                int[] candidates = candidates(problem, demand.getOrigin(), k);
+                for (int c : candidates) {
+                    if (tried != null && tried[c]) continue;
+                    if (!profiles[c].isFeasible()) continue;
+                    int size = segments[c].size();
+
+                    for (int startPos = 0; startPos <= size; startPos++) {
+                        // 区间最小剩余量随 endPos 右移单调不增，一旦不可行即可剪枝
+                        for (int endPos = startPos; endPos <= size; endPos++) {
+                            if (!profiles[c].canInsert(quantity, volume, startPos, endPos)) break;
+
+                            segments[c].insertionDelta(quantity, demand.getOriginPoi(), demand.getDestinationPoi(), startPos, endPos, delta);
+                            double cost = calculateMultiObjectiveCost(delta);
+                            if (cost < minCost) {
+                                minCost = cost;
+                                bestIndex = c; bestStart = startPos; bestEnd = endPos;
+                            }
+                        }
+                    }
                 }
+                // 邻近车辆均不可行时扩大搜索范围，直至覆盖全部车辆
+                if (bestIndex >= 0 || candidates.length >= carCount) break;
+                tried = markTried(tried, candidates, carCount);
             }
-        
 
-        // ========== 第四步：同步结果 ==========
-        syncAssignmentsToCars(assignments);
-        return assignments;
+            // ========== 分配结果处理 ==========
+            if (bestIndex >= 0) {
+                Car bestCar = carsCopy.get(bestIndex);
+                assignDemand(assignments, bestCar, new PathNode(demand, true), new PathNode(demand, false), bestStart, bestEnd);
+                profiles[bestIndex].reset(bestCar, bestCar.getNodeList());
+                segments[bestIndex].reset(bestCar, bestCar.getNodeList());
+            }
+        }
+    }
+
+    /**
+     * 基于快照的车辆空间索引（{@link SchedulingProblem#nearestCars}）选出距订单起点最近的 k 辆车
+     * k 不小于车辆总数或未启用筛选（k ≤ 0）时返回全部车辆
+     * 车辆副本与快照车辆按下标一一对应，返回的快照下标即副本下标
+     * 
+     * @param problem 问题快照
+     * @param origin 订单起点
+     * @param k 候选数量
+     * @return 候选车辆副本下标
+     */
+    private int[] candidates(SchedulingProblem problem, Coordinate origin, int k)
+    {
+        int carCount = problem.getCars().size();
+        if (k <= 0 || k >= carCount) {
+            int[] all = new int[carCount];
+            for (int c = 0; c < carCount; c++) all[c] = c;
+            return all;
+        }
+        return problem.nearestCars(origin, k);
+    }
+
+    /**
+     * 标记本轮已评估的候选车辆，首次扩大搜索范围时才分配标记数组
+     * @param tried 已有标记，尚未分配时为null
+     * @param candidates 本轮候选车辆下标
+     * @param carCount 车辆总数
+     * @return 标记数组
+     */
+    private static boolean[] markTried(boolean[] tried, int[] candidates, int carCount)
+    {
+        if (tried == null) {
+            tried = new boolean[carCount];
+        }
+        for (int c : candidates) {
+            tried[c] = true;
+        }
+        return tried;
+    }
+
+    /**
+     * 将订单的起终点插入到车辆（及其Assignment）路径的指定位置
+     * 车辆副本与对应Assignment的节点序列始终保持一致，因此使用相同的插入下标
+     * 订单分配状态在结果提交时才更新，见 {@link SchedulingProblem#commit(List)}
+     */
+    private void assignDemand(List<Assignment> assignments, Car car, PathNode startNode, PathNode endNode,
+                              int startPos, int endPos)
+    {
+        Assignment assignment = getAssignmentForCar(assignments, car);
+        assignment.getNodeList().add(startPos, startNode);
+        assignment.getNodeList().add(endPos + 1, endNode);
+
+        car.getNodeList().add(startPos, startNode);
+        car.getNodeList().add(endPos + 1, endNode);
+    }
+
+    /**
+     * 基于插入前后的5目标边际变化计算综合成本
+     */
+    private double calculateMultiObjectiveCost(MultiObjectiveEvaluator.RouteMetrics delta) {
+        return weightedCost(delta.getWaitingTime(), delta.getEmptyDistance(), delta.getLoadWaste(),
+                            delta.getDeliveredTonnage(), delta.getCarbonEmission());
     }
 
     /**
@@ -126,82 +282,50 @@ public class GreedyScheduler extends BaseScheduler
         // 计算5个目标值
         MultiObjectiveEvaluator.ObjectiveVector vector = evaluator.evaluateAll(tempAssignment);
         
-        double waitingTime = vector.getWaitingTime();
-        double emptyDistance = vector.getEmptyDistance();
-        double loadWaste = vector.getLoadWaste();
-        double tonnage = vector.getDeliveredTonnage(); // 越大越好
-        double carbonEmission = vector.getCarbonEmission();
-        
+        return weightedCost(vector.getWaitingTime(), vector.getEmptyDistance(), vector.getLoadWaste(),
+                            vector.getDeliveredTonnage(), vector.getCarbonEmission());
+    }
+
+    /**
+     * 将5个目标加权组合成单一成本值（越小越好）
+     * 同包内的单目标调度器（如 ALNS）共用这组权重
+     */
+    static double weightedCost(double waitingTime, double emptyDistance, double loadWaste,
+                                double tonnage, double carbonEmission) {
         // 综合成本 = 各目标加权和（运量取负值，因为越大越好）
-        double totalCost = 
-            waitingTime * WAITING_WEIGHT +
-            emptyDistance * EMPTY_DISTANCE_WEIGHT +
-            loadWaste * LOAD_WASTE_WEIGHT +
-            carbonEmission * CARBON_WEIGHT -
-            tonnage * TONNAGE_WEIGHT; // 减去运量，因为运量越大成本越低
-        
-        return totalCost;
+        return waitingTime * WAITING_WEIGHT +
+               emptyDistance * EMPTY_DISTANCE_WEIGHT +
+               loadWaste * LOAD_WASTE_WEIGHT +
+               carbonEmission * CARBON_WEIGHT -
+               tonnage * TONNAGE_WEIGHT; // 减去运量，因为运量越大成本越低
     }
 
     /**
-     * 模拟整个序列执行过程，判断是否可以添加一对起点-终点操作
-     * 重要：需要模拟从车辆当前位置开始，执行整个序列后的载重和体积状态
+     * 判断是否可以在序列末尾添加一对起点-终点操作
+     * 与邻域插入共用 {@link RouteProfile}：原序列需可行，且序列末尾的剩余载重/体积足以容纳该订单
      */
-    private boolean canAddDemandPairToSequence(Car car, PathNode startNode, PathNode endNode) {
-        double remainingLoad = car.getRemainingLoad();
-        double remainingVolume = car.getRemainingVolume();
-        
-        // 特殊处理大货量订单
-        if(startNode.getDemand().getQuantity() > 30000) {
-            if(car.getMaxLoad() < 0.33 * startNode.getDemand().getQuantity()) 
-                return false;
-            else 
-                return true;
-        }
+    private boolean canAddDemandPairToSequence(RouteProfile profile, Demand demand) {
+        int size = profile.size();
+        return profile.canInsert(demand.getQuantity(), demand.getVolume(), size, size);
+    }
 
-        // 模拟执行现有序列
-        for (PathNode existingNode : car.getNodeList()) {
-            if (existingNode.isOrigin()) {
-                remainingLoad -= existingNode.getDemand().getQuantity();
-                remainingVolume -= existingNode.getDemand().getVolume();
-            } else {
-                remainingLoad += existingNode.getDemand().getQuantity();
-                remainingVolume += existingNode.getDemand().getVolume();
-            }
-            
-            if (remainingLoad < 0 || remainingLoad > car.getMaxLoad() || 
-                remainingVolume < 0 || remainingVolume > car.getMaxVolume()) {
-                return false;
-            }
+    /** 取第 c 辆车副本的路径剖面，首次查询时构建 */
+    private static RouteProfile profileOf(RouteProfile[] profiles, List<Car> carsCopy, int c) {
+        if (profiles[c] == null) {
+            Car car = carsCopy.get(c);
+            profiles[c] = RouteProfile.of(car, car.getNodeList());
         }
-        
-        // 模拟执行新添加的起点-终点对
-        remainingLoad -= startNode.getDemand().getQuantity();
-        remainingVolume -= startNode.getDemand().getVolume();
-        
-        if (remainingLoad < 0 || remainingVolume < 0) {
-            return false;
-        }
-        
-        remainingLoad += endNode.getDemand().getQuantity();
-        remainingVolume += endNode.getDemand().getVolume();
-        
-        if (remainingLoad < 0 || remainingLoad > car.getMaxLoad() || 
-            remainingVolume < 0 || remainingVolume > car.getMaxVolume()) {
-            return false;
-        }
-        
-        return true;
+        return profiles[c];
     }
 
-    // 获取该车辆的Assignment对象，如果没有则创建一个新的
+    // 获取该车辆的Assignment对象，如果没有则以车辆当前路径创建一个新的
     private Assignment getAssignmentForCar(List<Assignment> assignments, Car car) {
         for (Assignment assignment : assignments) {
             if (assignment.getCar().getUUID().equals(car.getUUID())) {
                 return assignment;
             }
         }
-        Assignment newAssignment = new Assignment(car);
+        Assignment newAssignment = committedRoute(car);
         assignments.add(newAssignment);
         return newAssignment;
     }
@@ -0,0 +1,89 @@
+package com.tsAdmin.control.scheduler;
+
+import java.util.Random;
+
+/**
+ * 插入位置的惰性随机枚举器
+ *
+ * 长度为 n 的路径共有 T = (n+1)(n+2)/2 个候选插入位置 (startPos, endPos)，startPos ≤ endPos ≤ n。
+ * 将其按 t = endPos(endPos+1)/2 + startPos 编号为 [0, T) 的一维下标，
+ * 再用仿射置换 t = (a·k + b) mod T（gcd(a, T) = 1）按随机顺序逐个产出，
+ * 既保证每个位置恰好出现一次，又无需物化并打乱候选列表，枚举过程不分配任何对象。
+ *
+ * 用法：
+ * <pre>
+ * sampler.reset(size, random);
+ * while (sampler.next()) { use(sampler.startPos(), sampler.endPos()); }
+ * </pre>
+ */
+public class InsertionPositionSampler
+{
+    private long total;
+    private long multiplier;
+    private long offset;
+    private long step;
+    private int startPos;
+    private int endPos;
+
+    /**
+     * 开始一轮新的枚举
+     * @param size 路径当前节点数
+     * @param random 随机数生成器
+     */
+    public void reset(int size, Random random)
+    {
+        total = (long)(size + 1) * (size + 2) / 2;
+        multiplier = 1;
+        if (total > 2)
+        {
+            do
+            {
+                multiplier = 1 + (long)(random.nextDouble() * (total - 1));
+            }
+            while (gcd(multiplier, total) != 1);
+        }
+        offset = (long)(random.nextDouble() * total);
+        step = 0;
+    }
+
+    /**
+     * 前进到下一个候选位置
+     * @return false表示所有位置都已枚举完毕
+     */
+    public boolean next()
+    {
+        if (step >= total)
+        {
+            return false;
+        }
+
+        long t = (multiplier * step + offset) % total;
+        step++;
+
+        // 三角数解码：endPos 为满足 endPos(endPos+1)/2 ≤ t 的最大整数
+        int d = (int)((Math.sqrt(8.0 * t + 1) - 1) / 2);
+        while ((long)(d + 1) * (d + 2) / 2 <= t) d++;
+        while ((long)d * (d + 1) / 2 > t) d--;
+
+        endPos = d;
+        startPos = (int)(t - (long)d * (d + 1) / 2);
+        return true;
+    }
+
+    /** @return 当前候选的起点插入位置 */
+    public int startPos() { return startPos; }
+
+    /** @return 当前候选的终点插入位置（相对原路径下标） */
+    public int endPos() { return endPos; }
+
+    private static long gcd(long a, long b)
+    {
+        while (b != 0)
+        {
+            long tmp = a % b;
+            a = b;
+            b = tmp;
+        }
+        return a;
+    }
+}
@@ -1,16 +1,28 @@
 package com.tsAdmin.control.scheduler;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.EnumMap;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.tsAdmin.common.ConfigLoader;
+import com.tsAdmin.common.Coordinate;
 import com.tsAdmin.common.PathNode;
 import com.tsAdmin.common.algorithm.multiobjective.*;
 import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator.ObjectiveVector;
+import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator.RouteMetrics;
 import com.tsAdmin.model.Assignment;
 import com.tsAdmin.model.*; 
 import com.tsAdmin.control.manager.*; 
@@ -23,15 +35,22 @@ import com.tsAdmin.common.algorithm.multiobjective.ProbabilityAcceptance;
  * 整合所有模块，实现完整的MOSA算法流程
  * 
  * 算法流程：
- * 1. 初始化：使用贪心算法生成初始解，进行初步采样
+ * 1. 初始化：使用贪心算法生成初始解，进行初步采样；热启动时改为修复上一周期的前沿
  * 2. 邻域生成：通过交换或转移操作生成新解
  * 3. 支配关系判断：判断新解与非支配集的关系
  * 4. 非支配集更新：根据支配关系更新非支配集
  * 5. 概率接受：当新解互补支配时，使用归一化能量差计算接受概率
  * 6. 动态归一化更新：更新归一化范围
  */
-public class MOSAScheduler extends BaseScheduler
+public class MOSAScheduler extends BaseScheduler implements ParetoScheduler
 {
+    private static final Logger logger = LogManager.getLogger(MOSAScheduler.class);
+
+    /**
+     * 并行退火链使用的线程池，所有调度器实例共享，线程数与CPU核数一致
+     */
+    private static final ForkJoinPool CHAIN_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
     // ========== MOSA算法核心组件 ==========
     
     /**
@@ -54,6 +73,49 @@ public class MOSAScheduler extends BaseScheduler
      */
     private final ProbabilityAcceptance acceptance;
     private static final int MAX_NEIGHBOR_ATTEMPTS = 20;
+
+    /**
+     * 单车路径指标缓存：Assignment 未重写 equals/hashCode，按对象身份索引
+     * 使用弱引用键，被丢弃的候选解可随 GC 自动清出缓存
+     */
+    private final Map<Assignment, RouteMetrics> routeMetricsCache = new WeakHashMap<>();
+
+    /**
+     * 最近一次邻域操作修改过的路径（候选解中经写时复制得到的 Assignment 对象）
+     */
+    private final List<Assignment> touchedRoutes = new ArrayList<>();
+
+    /**
+     * touchedRoutes 中各路径在候选解中的下标（与 touchedRoutes 按位置一一对应）
+     */
+    private int[] touchedIndices = new int[2];
+
+    /**
+     * 前沿中各解的非空路径下标：按解对象身份索引，使用弱引用键，被淘汰的解随 GC 清出
+     * 邻域操作从中随机抽取路径，每个解只在首次作为父解时扫描一次车队
+     */
+    private final Map<NonDominatedSet.NonDominatedSolution, int[]> nonEmptyRouteIndex = new WeakHashMap<>();
+
+    /**
+     * 是否启用增量评估：只重算邻域操作修改过的路径，其余路径沿用父解的合计值
+     */
+    private boolean incrementalEvaluation = true;
+
+    /**
+     * 累计超体积跟踪器：以本次退火开始时冻结的归一化范围估计所有被接受的解共同支配的体积，作为收敛判据
+     */
+    private CumulativeHypervolumeTracker hypervolumeTracker;
+
+    /**
+     * 本次调度所求解的问题快照，前沿为空时退回贪心解使用
+     */
+    private SchedulingProblem problem;
+
+    /**
+     * 最近一次调度结束时发布的前沿，供前端选解与绘制收敛曲线
+     * 各周期的归一化范围不同，其超体积只反映该周期内的收敛程度
+     */
+    private volatile ParetoFront front;
     
     // ========== MOSA算法参数 ==========
     
@@ -82,77 +144,258 @@ public class MOSAScheduler extends BaseScheduler
      */
     private final int INITIAL_SAMPLE_SIZE = 50;
 
+    /**
+     * 并行模式下各退火链与共享存档交换前沿的间隔（迭代次数）
+     * 默认值：50
+     */
+    private final int CHAIN_MERGE_INTERVAL = 50;
+
+    /**
+     * 限时模式下重新估计冷却率的间隔（迭代次数）
+     * 默认值：16
+     */
+    private final int COOLING_ADAPT_INTERVAL = 16;
+
+    /**
+     * 限时模式的截止时刻（System.nanoTime），仅在 deadlineEnabled 时有效
+     */
+    private long deadlineNanos;
+    private boolean deadlineEnabled = false;
+
+    /**
+     * 热启动时的初始温度系数：修复后的前沿已接近收敛，初始温度取冷启动计算值的该比例
+     * 默认值：0.2
+     */
+    private final double WARM_START_TEMPERATURE_RATIO = 0.2;
+
+    /**
+     * 热启动插入新订单时优先尝试的邻近车辆数，均不可行时再尝试其余车辆
+     * 默认值：32
+     */
+    private final int WARM_START_NEAREST_CARS = 32;
+
+    /**
+     * relocate 选择目标车辆时的锦标赛规模：随机抽取的候选路径数，取其中离订单起点最近者
+     * 默认值：4
+     */
+    private final int RELOCATE_TOURNAMENT_SIZE = 4;
+
+    /**
+     * 收敛判据：最近 convergence_window 次迭代内超体积增量低于 convergence_threshold（‰）时提前结束退火
+     * 窗口为0时不启用，仅由迭代次数、截止时刻或最小温度终止
+     * 按迭代次数终止时窗口不超过迭代上限的 1 / MIN_CONVERGENCE_WINDOWS，否则判据在达到上限前无从生效
+     */
+    private int convergenceWindow = 1000;
+    private double convergenceThreshold = 0.001;
+    private static final int MIN_CONVERGENCE_WINDOWS = 4;
+
     /**
      * 默认构造函数：创建MOSA调度器，初始化所有核心组件
+     * 对外的非支配集使用线程安全实现，既作为并行退火链的共享存档，也允许前端线程并发读取
      */
     public MOSAScheduler()
     {
+        this(new Random(), new ConcurrentNonDominatedSet(), new DynamicNormalizer());
+    }
+
+    /**
+     * 退火链构造函数：每条链持有独立的随机数生成器、本地非支配集和归一化器
+     * @param random 随机数生成器
+     * @param nonDominatedSet 非支配集
+     * @param normalizer 动态归一化器
+     */
+    private MOSAScheduler(Random random, NonDominatedSet nonDominatedSet, DynamicNormalizer normalizer)
+    {
+        super(random);
         this.evaluator = new MultiObjectiveEvaluator();  // 创建多目标评估器
-        this.nonDominatedSet = new NonDominatedSet();  // 创建非支配集
-        this.normalizer = new DynamicNormalizer();  // 创建动态归一化器
+        this.nonDominatedSet = nonDominatedSet;
+        this.normalizer = normalizer;
         // 创建概率接受机制，传入归一化器（共享同一个归一化器）
-        this.acceptance = new ProbabilityAcceptance(normalizer);
+        this.acceptance = new ProbabilityAcceptance(random, normalizer);
     }
 
     /**
-     * 调度方法，使用多目标模拟退火算法优化分配方案
+     * 限时（anytime）调度：在给定的墙钟时间预算内运行，截止时返回目前找到的最优前沿中的解
+     * 退火不再受固定迭代次数限制，冷却率按实际可完成的迭代次数自适应调整，使温度恰在截止时降至最小温度
      * 
-     * @return 分配结果列表（从非支配集中选择）
+     * @param problem 问题快照
+     * @param timeBudgetMillis 时间预算（毫秒）
+     * @return 分配结果列表（从非支配集中选择），尚未提交
      */
     @Override
-    public List<Assignment> schedule()
+    public List<Assignment> schedule(SchedulingProblem problem, long timeBudgetMillis)
     {
-        // ========== 第一步：生成初始解 ==========
-        // 使用贪心算法生成初始解，作为算法的起点
-        List<Assignment> initialAssignments = new GreedyScheduler().schedule();
-        
-        // ========== 第二步：初步采样 ==========
-        // 生成多个采样解，用于计算上界阈值和初始化归一化范围
-        List<List<Assignment>> sampleAssignments = performInitialSampling(INITIAL_SAMPLE_SIZE);
-        
-        // ========== 第三步：初始化非支配集和归一化器 ==========
-        // 将初始解添加到非支配集中
-        initializeNonDominatedSet(initialAssignments);
-        
-        // 使用采样结果更新归一化范围（用于上界计算）
-        // 如果采样结果不为空，计算采样解的目标向量并更新归一化器
-        if (!sampleAssignments.isEmpty())
-        {  
-            List<ObjectiveVector> sampleVectors = new ArrayList<>();
-            for (List<Assignment> sample : sampleAssignments)
-            {
-                if (sample == null || sample.isEmpty())
-                {
-                    continue;
-                }
-                sampleVectors.add(calculateTotalObjectiveVector(sample));
-            }
+        deadlineNanos = System.nanoTime() + Math.max(0, timeBudgetMillis) * 1_000_000L;
+        deadlineEnabled = true;
+        try
+        {
+            return schedule(problem);
+        }
+        finally
+        {
+            deadlineEnabled = false;
+        }
+    }
+
+    /**
+     * 调度方法，使用多目标模拟退火算法在问题快照上优化分配方案
+     * 
+     * @param problem 问题快照
+     * @return 分配结果列表（从非支配集中选择），尚未提交
+     */
+    @Override
+    public List<Assignment> schedule(SchedulingProblem problem)
+    {
+        this.problem = problem;
+        incrementalEvaluation = ConfigLoader.getBoolean("MOSAScheduler.incremental_evaluation", true);
+        int chainCount = Math.max(1, ConfigLoader.getInt("MOSAScheduler.parallel_chains", 1));
+        boolean warmStart = ConfigLoader.getBoolean("MOSAScheduler.warm_start", false);
+        nonDominatedSet.setCapacity(ConfigLoader.getInt("NonDominatedSet.capacity", 0));
+        convergenceWindow = Math.max(0, ConfigLoader.getInt("MOSAScheduler.convergence_window", 1000));
+        convergenceThreshold = ConfigLoader.getInt("MOSAScheduler.convergence_threshold", 1) / 1000.0;
+        routeMetricsCache.clear();
+        nonEmptyRouteIndex.clear();
+
+        double temperature;
+        if (warmStart && repairPreviousFront(problem))
+        {
+            // ========== 热启动：沿用并修复上一周期的前沿，跳过贪心初始解与初步采样 ==========
+            // 修复后的前沿已接近收敛，以较低温度继续退火
+            temperature = calculateInitialTemperature() * WARM_START_TEMPERATURE_RATIO;
+        }
+        else
+        {
+            // ========== 第一步：生成初始解 ==========
+            // 使用贪心算法生成初始解，作为算法的起点
+            List<Assignment> initialAssignments = new GreedyScheduler().schedule(problem);
+
+            // ========== 第二步：初步采样 ==========
+            // 在问题快照上并行生成多个采样解，用于计算上界阈值和初始化归一化范围
+            List<ObjectiveVector> sampleVectors = performInitialSampling(problem, INITIAL_SAMPLE_SIZE);
+            
+            // ========== 第三步：初始化非支配集和归一化器 ==========
+            // 将初始解添加到非支配集中
+            initializeNonDominatedSet(initialAssignments);
+            
+            // 使用采样结果更新归一化范围（用于上界计算）
             if (!sampleVectors.isEmpty())
             {
                 normalizer.update(sampleVectors);
             }
+            
+            // 从非支配集更新归一化范围（用于确定下界和范围）
+            updateNormalizer();
+
+            // ========== 第四步：设置初始温度 ==========
+            // 根据非支配集中解的多样性计算初始温度
+            temperature = calculateInitialTemperature();
         }
-        
-        // 从非支配集更新归一化范围（用于确定下界和范围）
-        updateNormalizer();
 
-        // ========== 第四步：设置初始温度 ==========
-        // 根据非支配集中解的多样性计算初始温度
-         double temperature = calculateInitialTemperature();
+        // 冻结当前归一化范围，从现有前沿开始跟踪超体积
+        long hypervolumeSeed = random.nextLong();
+        hypervolumeTracker = new CumulativeHypervolumeTracker(normalizer, CumulativeHypervolumeTracker.DEFAULT_SAMPLE_COUNT, hypervolumeSeed);
+        hypervolumeTracker.addAll(nonDominatedSet);
 
         // ========== 第五步：MOSA主循环 ==========
-        // 迭代优化，直到达到最大迭代次数或温度低于最小值
-        for (int iteration = 0; iteration < MAX_ITERATION_TIME && temperature > MIN_TEMPERATURE; iteration++)
+        // 单链模式直接在本实例上退火；并行模式下多条独立退火链共享同一个帕累托存档
+        if (chainCount > 1 && !nonDominatedSet.isEmpty())
         {
+            runParallelChains(temperature, chainCount, hypervolumeSeed);
+            hypervolumeTracker.addAll(nonDominatedSet);
+        }
+        else
+        {
+            anneal(temperature, null);
+        }
+        front = new ParetoFront(problem, nonDominatedSet, normalizer, hypervolumeTracker.measure(nonDominatedSet));
+
+        // ========== 第六步：从非支配集中选择最终解 ==========
+    // ❌ 删除原来的 selectFinalSolution() 调用！
+    // 临时返回第一个解以满足接口
+      List<Assignment> finalAssignments = nonDominatedSet.isEmpty() ? 
+        new GreedyScheduler().schedule(problem) : 
+        nonDominatedSet.get(0).getAssignments();
+
+        // 返回最终分配方案，由 commit 同步到车辆对象并更新 CarStat
+        return finalAssignments;
+    }
+
+    /**
+     * 提交最终分配方案：同步到车辆对象，并在同一临界区内更新 CarStat
+     */
+    @Override
+    public void commit(SchedulingProblem problem, List<Assignment> assignments)
+    {
+        synchronized (SchedulingProblem.LOCK)
+        {
+            super.commit(problem, assignments);
+            updateCarStats(assignments);
+        }
+    }
+
+    /**
+     * MOSA主循环：迭代优化，直到达到最大迭代次数或温度低于最小值，或超体积在滑动窗口内不再增长
+     * 
+     * @param initialTemperature 初始温度
+     * @param sharedArchive 并行模式下的共享存档；单链模式传入null
+     */
+    private void anneal(double initialTemperature, NonDominatedSet sharedArchive)
+    {
+        // 迭代优化，直到达到最大迭代次数（限时模式下为截止时刻）或温度低于最小值
+        double temperature = initialTemperature;
+        double coolingRate = COOLING_RATE;
+        long loopStart = System.nanoTime();
+        int window = deadlineEnabled ? convergenceWindow : Math.min(convergenceWindow, MAX_ITERATION_TIME / MIN_CONVERGENCE_WINDOWS);
+        double[] hypervolumeHistory = new double[window];  // 环形缓冲：最近一个窗口内各次迭代开始时的超体积
+        for (int iteration = 0; temperature > MIN_TEMPERATURE; iteration++)
+        {
+            if (deadlineEnabled)
+            {
+                long now = System.nanoTime();
+                if (now >= deadlineNanos)
+                {
+                    break;
+                }
+                if (iteration > 0 && iteration % COOLING_ADAPT_INTERVAL == 0)
+                {
+                    coolingRate = adaptiveCoolingRate(temperature, iteration, now - loopStart, deadlineNanos - now);
+                }
+            }
+            else if (iteration >= MAX_ITERATION_TIME)
+            {
+                break;
+            }
+
+            // 收敛判据：与一个窗口之前相比超体积增量不足阈值时提前结束，平静周期可在毫秒级返回
+            if (window > 0)
+            {
+                double hypervolume = hypervolumeTracker.getHypervolume();
+                int slot = iteration % window;
+                if (iteration >= window && hypervolume - hypervolumeHistory[slot] < convergenceThreshold)
+                {
+                    logger.debug("MOSA converged after {} iterations, hypervolume {}", iteration, hypervolume);
+                    break;
+                }
+                hypervolumeHistory[slot] = hypervolume;
+            }
+
             // 5.1 生成邻域解
             // 从当前非支配集中选择一个解作为当前解
-            List<Assignment> currentAssignments = getCurrentAssignments();
+            NonDominatedSet.NonDominatedSolution currentSolution = getCurrentSolution();
+            List<Assignment> currentAssignments = currentSolution != null
+                ? currentSolution.getAssignments()
+                : new GreedyScheduler().schedule(problem);
+            int[] nonEmptyRoutes = currentSolution != null
+                ? nonEmptyRouteIndex.computeIfAbsent(currentSolution, solution -> nonEmptyRoutes(currentAssignments))
+                : nonEmptyRoutes(currentAssignments);
             // 通过邻域操作生成新解（交换、转移等）
-            List<Assignment> newAssignments = generateNeighborSolution(currentAssignments);
+            List<Assignment> newAssignments = generateNeighborSolution(currentAssignments, nonEmptyRoutes);
 
             // 5.2 计算新解的多目标向量（所有车辆的总和）
-            // 将所有车辆的目标值相加，得到总目标向量
-            ObjectiveVector newVector = calculateTotalObjectiveVector(newAssignments);
+            // 增量模式下只重算被修改的路径，由父解总值推导新总值；否则将所有车辆的目标值相加
+            ObjectiveVector newVector = (incrementalEvaluation && currentSolution != null)
+                ? calculateIncrementalObjectiveVector(currentSolution.getObjectiveVector(), currentAssignments, newAssignments)
+                : calculateTotalObjectiveVector(newAssignments);
 
             // 5.3 判断是否接受新解
             // 根据新解与非支配集的关系和温度，计算接受概率并决定是否接受
@@ -170,12 +413,13 @@ public class MOSAScheduler extends BaseScheduler
                 if (addResult.isAdded())
                 {
                     updateNormalizer();
+                    hypervolumeTracker.add(newVector);
                 }
             }
 
             // 5.5 降温
             // 按照冷却率降低温度：新温度 = 旧温度 × 冷却率
-            temperature *= COOLING_RATE;
+            temperature *= coolingRate;
 
             // 5.6 温度扰动机制（防止过早收敛）
             // 每10%的迭代次数，轻微提高温度，增加探索能力
@@ -184,23 +428,358 @@ public class MOSAScheduler extends BaseScheduler
                 // 温度提高5%，增加接受劣解的概率，防止过早收敛
                 temperature *= 1.05;
             }
+
+            // 5.7 并行模式下周期性与共享存档交换前沿
+            if (sharedArchive != null && (iteration + 1) % CHAIN_MERGE_INTERVAL == 0)
+            {
+                exchangeWithArchive(sharedArchive);
+            }
         }
 
-        // ========== 第六步：从非支配集中选择最终解 ==========
-    // ❌ 删除原来的 selectFinalSolution() 调用！
-    // 临时返回第一个解以满足接口
-      List<Assignment> finalAssignments = nonDominatedSet.isEmpty() ? 
-        new GreedyScheduler().schedule() : 
-        nonDominatedSet.get(0).getAssignments();
+        if (sharedArchive != null)
+        {
+            sharedArchive.merge(nonDominatedSet);
+        }
+    }
+
+    /**
+     * 按实测迭代耗时估计截止前还能完成的迭代次数 n，取冷却率 r 使 T × r^n = 最小温度
+     * 
+     * @param temperature 当前温度
+     * @param iterations 已完成的迭代次数
+     * @param elapsedNanos 已用时间
+     * @param remainingNanos 剩余时间
+     * @return 冷却率
+     */
+    private double adaptiveCoolingRate(double temperature, int iterations, long elapsedNanos, long remainingNanos)
+    {
+        double nanosPerIteration = Math.max(1.0, (double)elapsedNanos / iterations);
+        double remainingIterations = Math.max(1.0, remainingNanos / nanosPerIteration);
+        return Math.pow(MIN_TEMPERATURE / temperature, 1.0 / remainingIterations);
+    }
 
-        // ========== 第七步：同步结果 ==========
-        // 将最终分配方案同步到车辆对象中
-        syncAssignmentsToCars(finalAssignments, CarManager.carList.values());
-         // ========== 第八步：更新 CarStat！==========
-       updateCarStats(finalAssignments); // ← 新增方法
+    /** @return 限时模式下是否已到截止时刻 */
+    private boolean deadlineReached()
+    {
+        return deadlineEnabled && System.nanoTime() >= deadlineNanos;
+    }
 
-        // 返回最终分配方案
-        return finalAssignments;
+    /**
+     * 并行运行多条独立退火链
+     * 每条链拥有独立的随机数生成器、温度、本地非支配集与归一化器，
+     * 周期性地把本地前沿并入共享存档（即本实例的非支配集）并取回其他链的成果
+     * 
+     * @param initialTemperature 初始温度
+     * @param chainCount 退火链数量
+     * @param hypervolumeSeed 超体积采样种子，各链与本实例使用相同的采样点
+     */
+    private void runParallelChains(double initialTemperature, int chainCount, long hypervolumeSeed)
+    {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int k = 0; k < chainCount; k++)
+        {
+            MOSAScheduler chain = new MOSAScheduler(
+                new Random(random.nextLong()), new NonDominatedSet(), new DynamicNormalizer(normalizer));
+            chain.incrementalEvaluation = incrementalEvaluation;
+            chain.deadlineNanos = deadlineNanos;
+            chain.deadlineEnabled = deadlineEnabled;
+            chain.problem = problem;
+            chain.convergenceWindow = convergenceWindow;
+            chain.convergenceThreshold = convergenceThreshold;
+            chain.nonDominatedSet.setCapacity(nonDominatedSet.getCapacity());
+            chain.nonDominatedSet.merge(nonDominatedSet);
+            chain.hypervolumeTracker = new CumulativeHypervolumeTracker(normalizer, CumulativeHypervolumeTracker.DEFAULT_SAMPLE_COUNT, hypervolumeSeed);
+            chain.hypervolumeTracker.addAll(chain.nonDominatedSet);
+
+            // 各链初始温度错开，温度越高的链越偏向探索
+            double chainTemperature = initialTemperature * (1.0 + (double)k / chainCount);
+            tasks.add(CHAIN_POOL.submit(() -> chain.anneal(chainTemperature, nonDominatedSet)));
+        }
+
+        for (ForkJoinTask<?> task : tasks)
+        {
+            try
+            {
+                joinChainTask(task);
+            }
+            catch (RuntimeException e)
+            {
+                logger.error("MOSA annealing chain failed", e);
+            }
+        }
+
+        updateNormalizer();
+    }
+
+    /**
+     * 等待 {@link #CHAIN_POOL} 中的任务完成
+     * 分区调度时调用方是分区线程池的工作线程（见 {@link PartitionedScheduler}），直接 join 会使其空等而不被补偿；
+     * 以 {@link ForkJoinPool.ManagedBlocker} 阻塞，调用方所在的线程池可临时补充线程继续求解其他分区
+     * @param task 已提交的任务
+     * @return 任务结果
+     */
+    private static <T> T joinChainTask(ForkJoinTask<T> task)
+    {
+        if (!(Thread.currentThread() instanceof ForkJoinWorkerThread worker) || worker.getPool() == CHAIN_POOL)
+        {
+            return task.join();
+        }
+
+        try
+        {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker()
+            {
+                @Override
+                public boolean block()
+                {
+                    task.quietlyJoin();
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable()
+                {
+                    return task.isDone();
+                }
+            });
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        return task.join();
+    }
+
+    /**
+     * 与共享存档交换前沿：先推送本地前沿，再拉取共享前沿
+     * @param sharedArchive 共享存档
+     */
+    private void exchangeWithArchive(NonDominatedSet sharedArchive)
+    {
+        sharedArchive.merge(nonDominatedSet);
+        if (nonDominatedSet.merge(sharedArchive) > 0)
+        {
+            updateNormalizer();
+            hypervolumeTracker.addAll(nonDominatedSet);
+        }
+    }
+
+    /**
+     * 热启动：修复上一周期保留下来的帕累托前沿，使其与当前车辆、订单状态一致
+     * 
+     * 修复规则（以快照中车辆的待执行路径点判断订单的执行状态）：
+     * - 已送达（不在订单列表中）或起终点均已派发的订单：从所有解中删除
+     * - 起点已派发、终点仍待执行的订单：锁定在原车辆上，其终点按原顺序置于该车路径最前
+     * - 其余订单：保留在各解中原来的位置；刷新车辆快照后若路径不可行，则取出重新插入
+     * - 已提交到车辆路径、却不在该解中的订单（该解未被选用，或其车辆未参与上一周期的求解）：重新插入
+     * - 新订单：优先插入邻近车辆的路径，任一订单无法插入的解被丢弃
+     * 修复后的解重新评估目标向量并重建非支配集与归一化器
+     * 
+     * @return 修复后仍有可用解返回true；否则返回false，由调用方退回冷启动
+     */
+    boolean repairPreviousFront(SchedulingProblem problem)
+    {
+        if (nonDominatedSet.isEmpty())
+        {
+            return false;
+        }
+
+        // ========== 1. 扫描车辆快照的待执行路径点 ==========
+        Map<Demand, Car> lockedDemands = new IdentityHashMap<>();          // 起点已派发、终点待执行
+        Set<Demand> pendingPickups = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Demand> executingDemands = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<PathNode[]> committedPairs = new ArrayList<>();                // 起点尚未派发的已提交订单
+        for (Car car : problem.getCars())
+        {
+            for (PathNode node : car.getNodeList())
+            {
+                if (node.isOrigin())
+                {
+                    pendingPickups.add(node.getDemand());
+                    committedPairs.add(new PathNode[]{ node, findPairNode(car.getNodeList(), node.getDemand(), true) });
+                }
+            }
+        }
+        for (Car car : problem.getCars())
+        {
+            for (PathNode node : car.getNodeList())
+            {
+                if (!node.isOrigin() && !pendingPickups.contains(node.getDemand()))
+                {
+                    lockedDemands.put(node.getDemand(), car);
+                }
+            }
+        }
+        for (Car car : problem.getCars())
+        {
+            Demand current = car.getCurrDemand();
+            if (current != null && !pendingPickups.contains(current) && !lockedDemands.containsKey(current))
+            {
+                executingDemands.add(current);
+            }
+        }
+
+        // ========== 2. 为每辆车构建刷新后的基础路径（车辆快照 + 锁定终点） ==========
+        List<Car> cars = problem.getCars();
+        List<Assignment> baseRoutes = new ArrayList<>(cars.size());
+        Map<String, Integer> routeIndex = new HashMap<>();
+        for (Car car : cars)
+        {
+            Assignment base = new Assignment(car);
+            for (PathNode node : car.getNodeList())
+            {
+                if (!node.isOrigin() && lockedDemands.get(node.getDemand()) == car)
+                {
+                    base.addPathNode(node);
+                }
+            }
+            routeIndex.put(car.getUUID(), baseRoutes.size());
+            baseRoutes.add(base);
+        }
+
+        // ========== 3. 待插入的新订单 ==========
+        List<PathNode[]> newPairs = new ArrayList<>();
+        for (Demand demand : problem.getDemands())
+        {
+            newPairs.add(new PathNode[]{ new PathNode(demand, true), new PathNode(demand, false) });
+        }
+
+        // ========== 4. 逐个修复前沿中的解 ==========
+        List<List<Assignment>> repairedSolutions = new ArrayList<>();
+        for (NonDominatedSet.NonDominatedSolution solution : nonDominatedSet.getSolutions())
+        {
+            List<Assignment> repaired = repairSolution(problem, solution.getAssignments(), baseRoutes, routeIndex,
+                lockedDemands, executingDemands, committedPairs, newPairs);
+            if (repaired != null)
+            {
+                repairedSolutions.add(repaired);
+            }
+        }
+
+        if (repairedSolutions.isEmpty())
+        {
+            return false;
+        }
+
+        // ========== 5. 重建非支配集与归一化器 ==========
+        nonDominatedSet.clear();
+        for (List<Assignment> repaired : repairedSolutions)
+        {
+            nonDominatedSet.add(calculateTotalObjectiveVector(repaired), repaired);
+        }
+        normalizer.reset();
+        updateNormalizer();
+        return true;
+    }
+
+    /**
+     * 修复单个解
+     * @return 修复后的解（与 baseRoutes 按下标一一对应）；有新订单无法插入时返回null
+     */
+    private List<Assignment> repairSolution(SchedulingProblem problem, List<Assignment> oldAssignments, List<Assignment> baseRoutes,
+        Map<String, Integer> routeIndex, Map<Demand, Car> lockedDemands, Set<Demand> executingDemands,
+        List<PathNode[]> committedPairs, List<PathNode[]> newPairs)
+    {
+        List<Assignment> repaired = new ArrayList<>(baseRoutes.size());
+        for (Assignment base : baseRoutes)
+        {
+            repaired.add(new Assignment(base));
+        }
+
+        // 保留仍未派发的订单，车辆已不存在或刷新后不可行的路径中的订单留待重新插入
+        List<PathNode[]> reinsertPairs = new ArrayList<>();
+        Set<Demand> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Assignment oldRoute : oldAssignments)
+        {
+            Integer index = routeIndex.get(oldRoute.getCar().getUUID());
+            Assignment route = index != null ? repaired.get(index) : null;
+
+            for (PathNode node : oldRoute.getNodeList())
+            {
+                Demand demand = node.getDemand();
+                kept.add(demand);
+                boolean alive = problem.isAlive(demand)
+                    && !lockedDemands.containsKey(demand)
+                    && !executingDemands.contains(demand);
+                if (!alive)
+                {
+                    continue;
+                }
+
+                if (route != null)
+                {
+                    route.addPathNode(node);
+                }
+                else if (node.isOrigin())
+                {
+                    reinsertPairs.add(new PathNode[]{ node, findPairNode(oldRoute.getNodeList(), demand, true) });
+                }
+            }
+
+            if (route != null && !isFeasibleRoute(route))
+            {
+                List<PathNode> nodes = route.getNodeList();
+                int lockedCount = baseRoutes.get(index).getNodeList().size();
+                for (int i = lockedCount; i < nodes.size(); i++)
+                {
+                    if (nodes.get(i).isOrigin())
+                    {
+                        reinsertPairs.add(new PathNode[]{ nodes.get(i), findPairNode(nodes, nodes.get(i).getDemand(), true) });
+                    }
+                }
+                nodes.subList(lockedCount, nodes.size()).clear();
+            }
+        }
+
+        for (PathNode[] pair : committedPairs)
+        {
+            if (!kept.contains(pair[0].getDemand()))
+            {
+                reinsertPairs.add(pair);
+            }
+        }
+        reinsertPairs.addAll(newPairs);
+        for (PathNode[] pair : reinsertPairs)
+        {
+            if (pair[1] == null || !insertNearby(problem, repaired, pair))
+            {
+                return null;
+            }
+        }
+        return repaired;
+    }
+
+    /**
+     * 将订单插入解中：先尝试距订单起点最近的若干车辆，均不可行时按随机顺序尝试其余车辆
+     * @param problem 问题快照，解中路径与其车辆按下标一一对应
+     * @return 是否插入成功
+     */
+    private boolean insertNearby(SchedulingProblem problem, List<Assignment> routes, PathNode[] pair)
+    {
+        boolean[] tried = new boolean[routes.size()];
+        for (int index : problem.nearestCars(pair[0].getDemand().getOrigin(), WARM_START_NEAREST_CARS))
+        {
+            tried[index] = true;
+            if (insertPairAtRandomPositions(routes.get(index), pair[0], pair[1]))
+            {
+                return true;
+            }
+        }
+
+        int[] order = new int[routes.size()];
+        for (int r = 0; r < order.length; r++)
+        {
+            order[r] = r;
+        }
+        shuffle(order);
+        for (int r : order)
+        {
+            if (!tried[r] && insertPairAtRandomPositions(routes.get(r), pair[0], pair[1]))
+            {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -275,149 +854,143 @@ public class MOSAScheduler extends BaseScheduler
 
     /**
      * 获取当前非支配集中的解（用于邻域生成）
+     * @return 随机选取的非支配解，非支配集为空时返回null（由调用方退回贪心解）
      */
-    /**
-     * 获取当前非支配集中的解（用于邻域生成）
-     * @return 当前解（分配方案列表）
-     */
-    private List<Assignment> getCurrentAssignments()
+    private NonDominatedSet.NonDominatedSolution getCurrentSolution()
     {
-        // 如果非支配集为空，使用贪心算法生成新解
         if (nonDominatedSet.isEmpty())
         {
-            return new GreedyScheduler().schedule();
+            return null;
         }
 
         // 随机选择一个索引（0到size-1之间）
         int index = random.nextInt(nonDominatedSet.size());
         // 获取指定索引的非支配解
-        NonDominatedSet.NonDominatedSolution solution = nonDominatedSet.get(index);
-        // 返回该解的分配方案列表
-        return solution.getAssignments();
-    }
-
-   
-   public List<Assignment> selectSolutionByObjectives(boolean[] selectedObjectives) {
-    if (nonDominatedSet.isEmpty()) {
-        return new GreedyScheduler().schedule();
-    }
-    return findIdealPointSolution(selectedObjectives);
-}
-
-private List<Assignment> findIdealPointSolution(boolean[] selectedObjectives) {
-    List<MultiObjectiveEvaluator.ObjectiveType> types = new ArrayList<>();
-    MultiObjectiveEvaluator.ObjectiveType[] allTypes = MultiObjectiveEvaluator.ObjectiveType.values();
-    
-    for (int i = 0; i < 5; i++) {
-        if (selectedObjectives[i]) {
-            types.add(allTypes[i]);
-        }
-    }
-
-    if (types.isEmpty()) {
-        return nonDominatedSet.get(0).getAssignments(); // 默认返回第一个
-    }
-
-    double minDistance = Double.MAX_VALUE;
-    List<Assignment> best = null;
-
-    for (NonDominatedSet.NonDominatedSolution sol : nonDominatedSet.getSolutions()) {
-        double sum = 0.0;
-        for (MultiObjectiveEvaluator.ObjectiveType type : types) {
-            double normVal = normalizer.normalize(type, sol.getObjectiveVector().getValue(type));
-            sum += normVal * normVal;
-        }
-        double distance = Math.sqrt(sum);
-        if (distance < minDistance) {
-            minDistance = distance;
-            best = sol.getAssignments();
-        }
-    }
-
-    return best != null ? best : nonDominatedSet.get(0).getAssignments();
+        return nonDominatedSet.get(index);
     }
 
     /**
-     * 初步采样：随机或启发式生成N条路径
+     * 初步采样：在问题快照上并行生成N条路径（一半为随机化贪心解，一半为随机解）
      * 用于计算上界阈值
      * 
+     * 每个采样任务拥有独立的随机数生成器与构造器，只读访问快照，不修改订单与车辆状态；
+     * 任务直接返回目标向量，由调用方在本线程中并入归一化器
+     * 
+     * @param problem 问题快照
      * @param sampleSize 采样数量
-     * @return 采样得到的分配方案列表
-     */
-    /**
-     * 初步采样：随机或启发式生成N条路径
-     * 用于计算上界阈值
-     * @param sampleSize 采样数量
-     * @return 采样得到的分配方案列表
+     * @return 有效采样解的目标向量列表
      */
-    private List<List<Assignment>> performInitialSampling(int sampleSize)
+    private List<ObjectiveVector> performInitialSampling(SchedulingProblem problem, int sampleSize)
     {
-        List<List<Assignment>> samples = new ArrayList<>();
+        List<ObjectiveVector> vectors = new ArrayList<>();
+        if (!problem.hasDemands())
+        {
+            return vectors;
+        }
 
+        List<ForkJoinTask<ObjectiveVector>> tasks = new ArrayList<>();
         for (int i = 0; i < sampleSize / 2; i++)
         {
-            List<Assignment> greedySolution = new GreedyScheduler().schedule();
-            if (containsValidRoute(greedySolution))
-            {
-                samples.add(deepCopyAssignments(greedySolution));
-            }
+            tasks.add(submitSample(problem, true));
+            tasks.add(submitSample(problem, false));
         }
 
-        for (int i = 0; i < sampleSize / 2; i++)
+        for (ForkJoinTask<ObjectiveVector> task : tasks)
         {
-            List<Assignment> randomSolution = generateRandomSolution();
-            if (containsValidRoute(randomSolution))
+            try
             {
-                samples.add(randomSolution);
+                ObjectiveVector vector = joinChainTask(task);
+                if (vector != null)
+                {
+                    vectors.add(vector);
+                }
+            }
+            catch (RuntimeException e)
+            {
+                logger.error("MOSA initial sampling task failed", e);
             }
         }
 
-        return samples;
+        return vectors;
+    }
+
+    /**
+     * 提交单个采样任务
+     * @param problem 问题快照
+     * @param greedy true为随机化贪心解，false为随机解
+     * @return 返回采样解目标向量的任务，截止时刻已到或解为空时结果为null
+     */
+    private ForkJoinTask<ObjectiveVector> submitSample(SchedulingProblem problem, boolean greedy)
+    {
+        Random sampleRandom = new Random(random.nextLong());
+        return CHAIN_POOL.submit(() ->
+        {
+            if (deadlineReached())
+            {
+                return null;
+            }
+            List<Assignment> sample = greedy
+                ? new GreedyScheduler().construct(problem, sampleRandom)
+                : generateRandomSolution(problem, sampleRandom);
+            return containsValidRoute(sample) ? sumObjectiveVector(sample) : null;
+        });
     }
 
+    /**
+     * 直接由评估器累加各路径指标得到总目标向量
+     * 不读写单车指标缓存，可在采样线程中调用
+     */
+    private ObjectiveVector sumObjectiveVector(List<Assignment> assignments)
+    {
+        RouteMetrics total = new RouteMetrics();
+        for (Assignment assignment : assignments)
+        {
+            total.add(evaluator.evaluateMetrics(assignment));
+        }
+        return total.toObjectiveVector();
+    }
 
     /**
      * 生成随机解（用于采样）
      * 随机分配需求到车辆，生成一个初始解
+     * 构造过程在紧凑路径引擎上进行（以各车辆已提交的路径为初值），仅在最后解码为 Assignment
+     * @param problem 问题快照，只读访问
+     * @param random 本次构造使用的随机数生成器
      * @return 随机生成的分配方案列表
      */
-    private List<Assignment> generateRandomSolution()
+    private List<Assignment> generateRandomSolution(SchedulingProblem problem, Random random)
     {
-        List<Assignment> assignments = new ArrayList<>();
-        for (Car car : CarManager.carList.values())
+        List<Assignment> committed = new ArrayList<>(problem.getCars().size());
+        for (Car car : problem.getCars())
         {
-            assignments.add(new Assignment(car));
+            committed.add(committedRoute(car));
         }
+        RouteEngine engine = RouteEngine.fromAssignments(committed);
+        int routeCount = engine.getRouteCount();
 
-        List<Demand> pendingDemands = new ArrayList<>();
-        for (Demand demand : DemandManager.demandList.values())
+        List<Demand> pendingDemands = new ArrayList<>(problem.getDemands());
+        Collections.shuffle(pendingDemands, random);
+        int[] routeOrder = new int[routeCount];
+        for (int r = 0; r < routeCount; r++)
         {
-            if (!demand.isAssigned())
-            {
-                pendingDemands.add(demand);
-            }
+            routeOrder[r] = r;
         }
-
-        Collections.shuffle(pendingDemands, random);
-        Set<String> assignedDemands = new HashSet<>();
-        List<Demand> unassigned = new ArrayList<>();
+        List<Integer> unassigned = new ArrayList<>();
 
         for (Demand demand : pendingDemands)
         {
-            if (assignedDemands.contains(demand.getUUID()))
+            int id = engine.intern(demand);
+            if (engine.getRouteOf(id) >= 0)
             {
                 continue;
             }
 
-            List<Assignment> shuffledAssignments = new ArrayList<>(assignments);
-            Collections.shuffle(shuffledAssignments, random);
-
+            shuffle(routeOrder, random);
             boolean inserted = false;
-            for (Assignment assignment : shuffledAssignments)
+            for (int route : routeOrder)
             {
-                if (tryInsertDemand(assignment, demand))
+                if (engine.insertPairAtRandomPositions(route, id, random))
                 {
-                    assignedDemands.add(demand.getUUID());
                     inserted = true;
                     break;
                 }
@@ -425,27 +998,53 @@ private List<Assignment> findIdealPointSolution(boolean[] selectedObjectives) {
 
             if (!inserted)
             {
-                unassigned.add(demand);
+                unassigned.add(id);
             }
         }
 
         if (!unassigned.isEmpty())
         {
-            for (Demand demand : unassigned)
+            // 随机插入失败的订单按车辆剩余容量从大到小重试
+            List<Integer> byCapacity = new ArrayList<>(routeCount);
+            for (int r = 0; r < routeCount; r++)
             {
-                if (assignedDemands.contains(demand.getUUID()))
-                {
-                    continue;
-                }
+                byCapacity.add(r);
+            }
+            byCapacity.sort((a, b) -> Double.compare(
+                capacityScore(engine.getCar(b)), capacityScore(engine.getCar(a))));
 
-                if (insertDemandWithCapacityPriority(assignments, demand))
+            for (int id : unassigned)
+            {
+                for (int route : byCapacity)
                 {
-                    assignedDemands.add(demand.getUUID());
+                    if (engine.insertPairAtRandomPositions(route, id, random))
+                    {
+                        break;
+                    }
                 }
             }
         }
 
-        return assignments;
+        return engine.toAssignments();
+    }
+
+    /**
+     * 原地随机打乱路径编号数组（Fisher-Yates）
+     */
+    private void shuffle(int[] array)
+    {
+        shuffle(array, random);
+    }
+
+    private static void shuffle(int[] array, Random random)
+    {
+        for (int k = array.length - 1; k > 0; k--)
+        {
+            int swap = random.nextInt(k + 1);
+            int tmp = array[k];
+            array[k] = array[swap];
+            array[swap] = tmp;
+        }
     }
 
     /**
@@ -458,35 +1057,113 @@ private List<Assignment> findIdealPointSolution(boolean[] selectedObjectives) {
 
     /**
      * 生成邻域解
-     * 复用父类的邻域生成逻辑（简化版：使用贪心算法生成新解）
-     * 注意：实际应用中应该实现完整的邻域生成逻辑（交换、转移等操作）
+     * 候选解与父解结构共享：候选列表只复制引用，未修改的路径与父解共用同一个 Assignment，
+     * 邻域操作在修改某条路径前通过 {@link #mutableRoute} 将其写时复制
+     * 操作失败时直接丢弃整个候选列表，父解不受影响
+     *
+     * @param assignments 父解
+     * @param nonEmptyRoutes 父解中非空路径的下标，见 {@link #nonEmptyRoutes(List)}
      */
-    private List<Assignment> generateNeighborSolution(List<Assignment> assignments)
+    private List<Assignment> generateNeighborSolution(List<Assignment> assignments, int[] nonEmptyRoutes)
     {
         if (assignments == null || assignments.isEmpty())
         {
-            return new GreedyScheduler().schedule();
+            return new GreedyScheduler().schedule(problem);
         }
 
         for (int attempt = 0; attempt < MAX_NEIGHBOR_ATTEMPTS; attempt++)
         {
-            List<Assignment> candidate = deepCopyAssignments(assignments);
-            if (applyRandomNeighbor(candidate))
+            touchedRoutes.clear();
+            List<Assignment> candidate = new ArrayList<>(assignments);
+            if (applyRandomNeighbor(candidate, nonEmptyRoutes))
             {
                 return candidate;
             }
         }
 
-        return deepCopyAssignments(assignments);
+        touchedRoutes.clear();
+        return new ArrayList<>(assignments);
+    }
+
+    /**
+     * 写时复制：获取候选解中可修改的路径
+     * 若该路径仍与父解共享，则复制一份替换到候选列表中；同一候选解中每条路径最多复制一次
+     * 
+     * @param candidate 候选解
+     * @param index 路径在候选解中的下标
+     * @return 仅属于该候选解、可安全修改的路径
+     */
+    private Assignment mutableRoute(List<Assignment> candidate, int index)
+    {
+        for (int k = 0; k < touchedRoutes.size(); k++)
+        {
+            if (touchedIndices[k] == index)
+            {
+                return touchedRoutes.get(k);
+            }
+        }
+
+        Assignment copy = new Assignment(candidate.get(index));
+        candidate.set(index, copy);
+        if (touchedRoutes.size() == touchedIndices.length)
+        {
+            touchedIndices = Arrays.copyOf(touchedIndices, touchedIndices.length * 2);
+        }
+        touchedIndices[touchedRoutes.size()] = index;
+        touchedRoutes.add(copy);
+        return copy;
+    }
+
+    /**
+     * 扫描分配方案，收集非空路径的下标
+     * @param assignments 分配方案
+     * @return 非空路径下标，按升序排列
+     */
+    private static int[] nonEmptyRoutes(List<Assignment> assignments)
+    {
+        int[] indices = new int[assignments.size()];
+        int count = 0;
+        for (int i = 0; i < assignments.size(); i++)
+        {
+            Assignment assignment = assignments.get(i);
+            if (assignment != null && !assignment.getNodeList().isEmpty())
+            {
+                indices[count++] = i;
+            }
+        }
+        return Arrays.copyOf(indices, count);
+    }
+
+    /**
+     * 从非空路径下标中随机选择一条路径
+     * @param nonEmptyRoutes 非空路径下标
+     * @param exclude 需排除的路径下标，不排除时传入-1
+     * @return 路径下标，找不到时返回-1
+     */
+    private int pickNonEmptyRoute(int[] nonEmptyRoutes, int exclude)
+    {
+        if (exclude < 0 || Arrays.binarySearch(nonEmptyRoutes, exclude) < 0)
+        {
+            return nonEmptyRoutes.length == 0 ? -1 : nonEmptyRoutes[random.nextInt(nonEmptyRoutes.length)];
+        }
+        if (nonEmptyRoutes.length < 2)
+        {
+            return -1;
+        }
+
+        // 在其余 length-1 条中均匀抽取：抽中被排除者时换成最后一条
+        int k = random.nextInt(nonEmptyRoutes.length - 1);
+        return nonEmptyRoutes[k] == exclude ? nonEmptyRoutes[nonEmptyRoutes.length - 1] : nonEmptyRoutes[k];
     }
 
     /**
      * 应用随机邻域操作
      * 随机选择一个操作，并尝试应用该操作
      * @param assignments 当前分配方案
+     * @param nonEmptyRoutes 非空路径下标
      * @return 是否成功应用随机邻域操作
      */
-    private boolean applyRandomNeighbor(List<Assignment> assignments)
+    private boolean applyRandomNeighbor(List<Assignment> assignments, int[] nonEmptyRoutes)
     {
         if (assignments.isEmpty())
         {
@@ -497,11 +1174,11 @@ private List<Assignment> findIdealPointSolution(boolean[] selectedObjectives) {
         switch (operation)
         {
             case 0:
-                return relocateDemand(assignments);
+                return relocateDemand(assignments, nonEmptyRoutes);
             case 1:
-                return swapDemandsBetweenVehicles(assignments);
+                return swapDemandsBetweenVehicles(assignments, nonEmptyRoutes);
             default:
-                return reorderWithinRoute(assignments);
+                return reorderWithinRoute(assignments, nonEmptyRoutes);
         }
     }
 
@@ -509,12 +1186,13 @@ private List<Assignment> findIdealPointSolution(boolean[] selectedObjectives) {
      * 随机 relocate 需求
      * 随机选择一个需求，并将其从当前车辆中移除，并将其插入到另一个车辆中
      * @param assignments 当前分配方案
+     * @param nonEmptyRoutes 非空路径下标
      * @return 是否成功随机 relocate 需求
      */
-    private boolean relocateDemand(List<Assignment> assignments)
+    private boolean relocateDemand(List<Assignment> assignments, int[] nonEmptyRoutes)
     {
-        Assignment from = pickRandomNonEmptyAssignment(assignments);
-        if (from == null)
+        int fromIndex = pickNonEmptyRoute(nonEmptyRoutes, -1);
+        if (fromIndex < 0)
         {
             return false;
         }
@@ -524,80 +1202,90 @@ private List<Assignment> findIdealPointSolution(boolean[] selectedObjectives) {
             return false;
         }
 
-        Assignment to = assignments.get(random.nextInt(assignments.size()));
-        int guard = 0;
-        while (to == from && guard++ < assignments.size())
-        {
-            to = assignments.get(random.nextInt(assignments.size()));
-        }
-
-        if (to == from)
+        PathNode[] pair = extractPair(assignments.get(fromIndex));
+        if (pair == null)
         {
             return false;
         }
 
-        PathNode[] pair = extractPair(from);
-        if (pair == null)
+        int toIndex = pickNearbyRoute(assignments, fromIndex, pair[0].getDemand().getOrigin());
+        if (toIndex < 0)
         {
             return false;
         }
 
-        List<PathNode> fromBackup = new ArrayList<>(from.getNodeList());
-        List<PathNode> toBackup = new ArrayList<>(to.getNodeList());
+        Assignment from = mutableRoute(assignments, fromIndex);
+        Assignment to = mutableRoute(assignments, toIndex);
 
         from.getNodeList().remove(pair[1]);
         from.getNodeList().remove(pair[0]);
 
-        if (!insertPairAtRandomPositions(to, pair[0], pair[1]))
-        {
-            from.getNodeList().clear();
-            from.getNodeList().addAll(fromBackup);
-            to.getNodeList().clear();
-            to.getNodeList().addAll(toBackup);
-            return false;
-        }
+        // 失败时候选解整体丢弃，无需回滚
+        return insertPairAtRandomPositions(to, pair[0], pair[1])
+            && isFeasibleRoute(from) && isFeasibleRoute(to);
+    }
 
-        if (isFeasibleRoute(from) && isFeasibleRoute(to))
+    /**
+     * 锦标赛方式选择 relocate 目标路径：随机抽取若干条路径，取车辆距订单起点最近者
+     * 使目标偏向邻近车辆，同时保留随机性以维持搜索多样性
+     * 
+     * @param assignments 当前分配方案
+     * @param exclude 需排除的路径下标（订单原所在路径）
+     * @param origin 订单起点
+     * @return 目标路径下标，找不到时返回-1
+     */
+    private int pickNearbyRoute(List<Assignment> assignments, int exclude, Coordinate origin)
+    {
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+        for (int i = 0; i < RELOCATE_TOURNAMENT_SIZE; i++)
         {
-            return true;
-        }
+            int candidate = random.nextInt(assignments.size());
+            if (candidate == exclude)
+            {
+                continue;
+            }
 
-        from.getNodeList().clear();
-        from.getNodeList().addAll(fromBackup);
-        to.getNodeList().clear();
-        to.getNodeList().addAll(toBackup);
-        return false;
+            double distance = Coordinate.distance(assignments.get(candidate).getCar().getPosition(), origin);
+            if (distance < bestDistance)
+            {
+                bestDistance = distance;
+                best = candidate;
+            }
+        }
+        return best;
     }
 
     /**
      * 随机 swap 需求
      * 随机选择两个需求，并将其从两个车辆中移除，并将其插入到两个车辆中
      * @param assignments 当前分配方案
+     * @param nonEmptyRoutes 非空路径下标
      * @return 是否成功随机 swap 需求
      */
-    private boolean swapDemandsBetweenVehicles(List<Assignment> assignments)
+    private boolean swapDemandsBetweenVehicles(List<Assignment> assignments, int[] nonEmptyRoutes)
     {
         if (assignments.size() < 2)
         {
             return false;
         }
 
-        Assignment first = pickRandomNonEmptyAssignment(assignments);
-        Assignment second = pickRandomNonEmptyAssignment(assignments, first);
-        if (first == null || second == null)
+        int firstIndex = pickNonEmptyRoute(nonEmptyRoutes, -1);
+        int secondIndex = pickNonEmptyRoute(nonEmptyRoutes, firstIndex);
+        if (firstIndex < 0 || secondIndex < 0)
         {
             return false;
         }
 
-        PathNode[] pairA = extractPair(first);
-        PathNode[] pairB = extractPair(second);
+        PathNode[] pairA = extractPair(assignments.get(firstIndex));
+        PathNode[] pairB = extractPair(assignments.get(secondIndex));
         if (pairA == null || pairB == null)
         {
             return false;
         }
 
-        List<PathNode> firstBackup = new ArrayList<>(first.getNodeList());
-        List<PathNode> secondBackup = new ArrayList<>(second.getNodeList());
+        Assignment first = mutableRoute(assignments, firstIndex);
+        Assignment second = mutableRoute(assignments, secondIndex);
 
         first.getNodeList().remove(pairA[1]);
         first.getNodeList().remove(pairA[0]);
@@ -607,17 +1295,9 @@ private List<Assignment> findIdealPointSolution(boolean[] selectedObjectives) {
         boolean insertedIntoSecond = insertPairAtRandomPositions(second, pairA[0], pairA[1]);
         boolean insertedIntoFirst = insertPairAtRandomPositions(first, pairB[0], pairB[1]);
 
-        if (insertedIntoFirst && insertedIntoSecond &&
-            isFeasibleRoute(first) && isFeasibleRoute(second))
-        {
-            return true;
-        }
-
-        first.getNodeList().clear();
-        first.getNodeList().addAll(firstBackup);
-        second.getNodeList().clear();
-        second.getNodeList().addAll(secondBackup);
-        return false;
+        // 失败时候选解整体丢弃，无需回滚
+        return insertedIntoFirst && insertedIntoSecond &&
+            isFeasibleRoute(first) && isFeasibleRoute(second);
     }
 
 
@@ -625,88 +1305,46 @@ private List<Assignment> findIdealPointSolution(boolean[] selectedObjectives) {
      * 随机 reorder 需求
      * 随机选择一个需求，并将其从当前车辆中移除，并将其插入到同一个车辆中
      * @param assignments
+     * @param nonEmptyRoutes 非空路径下标
      * @return
      */
-    private boolean reorderWithinRoute(List<Assignment> assignments)
+    private boolean reorderWithinRoute(List<Assignment> assignments, int[] nonEmptyRoutes)
     {
-        Assignment assignment = pickRandomNonEmptyAssignment(assignments);
-        if (assignment == null)
+        int index = pickNonEmptyRoute(nonEmptyRoutes, -1);
+        if (index < 0)
         {
             return false;
         }
 
-        PathNode[] pair = extractPair(assignment);
+        PathNode[] pair = extractPair(assignments.get(index));
         if (pair == null)
         {
             return false;
         }
 
-        List<PathNode> backup = new ArrayList<>(assignment.getNodeList());
+        Assignment assignment = mutableRoute(assignments, index);
         assignment.getNodeList().remove(pair[1]);
         assignment.getNodeList().remove(pair[0]);
 
-        if (insertPairAtRandomPositions(assignment, pair[0], pair[1]) && isFeasibleRoute(assignment))
-        {
-            return true;
-        }
-
-        assignment.getNodeList().clear();
-        assignment.getNodeList().addAll(backup);
-        return false;
+        // 失败时候选解整体丢弃，无需回滚
+        return insertPairAtRandomPositions(assignment, pair[0], pair[1]) && isFeasibleRoute(assignment);
     }
 
 
 
    
-    /**
-     * 尝试插入
-     * @param assignment
-     * @param demand
-     * @return
-     */
-    private boolean tryInsertDemand(Assignment assignment, Demand demand)
-    {
-        PathNode startNode = new PathNode(demand, true);
-        PathNode endNode = new PathNode(demand, false);
-        return insertPairAtRandomPositions(assignment, startNode, endNode);
-    }
-
-    /**
-     * 插入需求，优先考虑容量
-     * @param assignments
-     * @param demand
-     * @return
-     */
-    private boolean insertDemandWithCapacityPriority(List<Assignment> assignments, Demand demand)
-    {
-        List<Assignment> orderedAssignments = new ArrayList<>(assignments);
-        orderedAssignments.sort((a, b) -> Double.compare(
-            capacityScore(b), capacityScore(a)));
-
-        for (Assignment assignment : orderedAssignments)
-        {
-            if (tryInsertDemand(assignment, demand))
-            {
-                return true;
-            }
-        }
-        return false;
-    }
-
     /**
      * 容量得分
-     * @param assignment
-     * @return
+     * @param car 车辆
+     * @return 载重与体积剩余量中较小者
      */
-    private double capacityScore(Assignment assignment)
+    private double capacityScore(Car car)
     {
-        Car car = assignment.getCar();
         double loadSlack = Math.max(0.0, car.getRemainingLoad());
         double volumeSlack = Math.max(0.0, car.getRemainingVolume());
         return Math.min(loadSlack, volumeSlack);
     }
 
- 
     /**
      * 计算所有分配方案的总目标向量
      * 将所有车辆的目标值相加，得到整个分配方案的总目标值
@@ -725,8 +1363,10 @@ private List<Assignment> findIdealPointSolution(boolean[] selectedObjectives) {
         // 遍历所有分配方案（每辆车一个分配方案）
         for (Assignment assignment : assignments)
         {
-            // 计算当前车辆分配方案的多目标向量
-            ObjectiveVector vector = evaluator.evaluateAll(assignment);
+            // 计算当前车辆分配方案的多目标向量（增量模式下顺带写入单车指标缓存）
+            ObjectiveVector vector = incrementalEvaluation
+                ? getRouteMetrics(assignment).toObjectiveVector()
+                : evaluator.evaluateAll(assignment);
          
             totalWaiting += vector.getWaitingTime();
             totalEmptyDistance += vector.getEmptyDistance();
@@ -735,15 +1375,53 @@ private List<Assignment> findIdealPointSolution(boolean[] selectedObjectives) {
             totalCarbon += vector.getCarbonEmission();
         }
 
-        EnumMap<MultiObjectiveEvaluator.ObjectiveType, Double> values =
-            new EnumMap<>(MultiObjectiveEvaluator.ObjectiveType.class);
-        values.put(MultiObjectiveEvaluator.ObjectiveType.WAITING_TIME, totalWaiting);
-        values.put(MultiObjectiveEvaluator.ObjectiveType.EMPTY_DISTANCE, totalEmptyDistance);
-        values.put(MultiObjectiveEvaluator.ObjectiveType.LOAD_WASTE, totalLoadWaste);
-        values.put(MultiObjectiveEvaluator.ObjectiveType.DELIVERED_TONNAGE, totalTonnage);
-        values.put(MultiObjectiveEvaluator.ObjectiveType.CARBON_EMISSION, totalCarbon);
+        return new ObjectiveVector(totalWaiting, totalEmptyDistance, totalLoadWaste, totalTonnage, totalCarbon);
+    }
+
+    /**
+     * 增量计算邻域解的总目标向量
+     * 邻域操作只修改一到两条路径，其余路径与父解完全相同：
+     * 新总值 = 父解总值 - 被修改路径的旧指标 + 被修改路径的新指标
+     * 单次评估的代价只与被修改路径的长度有关，而与车队规模无关
+     * 
+     * @param parentVector 父解的总目标向量
+     * @param parentAssignments 父解的分配方案（与候选解按下标一一对应）
+     * @param newAssignments 邻域操作得到的候选解
+     * @return 候选解的总目标向量
+     */
+    private ObjectiveVector calculateIncrementalObjectiveVector(ObjectiveVector parentVector,
+        List<Assignment> parentAssignments, List<Assignment> newAssignments)
+    {
+        RouteMetrics total = new RouteMetrics(parentVector);
+        for (int k = 0; k < touchedRoutes.size(); k++)
+        {
+            Assignment touched = touchedRoutes.get(k);
+            int index = touchedIndices[k];
+            if (index >= parentAssignments.size())
+            {
+                // 无法对应父解路径，退回全量计算
+                return calculateTotalObjectiveVector(newAssignments);
+            }
+
+            total.subtract(getRouteMetrics(parentAssignments.get(index)));
+            total.add(getRouteMetrics(touched));
+        }
+        return total.toObjectiveVector();
+    }
+
+    /**
+     * 获取单车路径指标，未命中缓存时计算并写入缓存
+     * 注意：缓存以对象身份为键，写入缓存后的 Assignment 不应再被修改
+     */
+    private RouteMetrics getRouteMetrics(Assignment assignment)
+    {
+        return routeMetricsCache.computeIfAbsent(assignment, evaluator::evaluateMetrics);
+    }
 
-        return new ObjectiveVector(values);
+    @Override
+    public ParetoFront getFront()
+    {
+        return front;
     }
 
     /**
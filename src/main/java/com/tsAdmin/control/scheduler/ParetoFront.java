@@ -0,0 +1,89 @@
+package com.tsAdmin.control.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.tsAdmin.common.algorithm.multiobjective.DynamicNormalizer;
+import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator.ObjectiveType;
+import com.tsAdmin.common.algorithm.multiobjective.NonDominatedSet;
+import com.tsAdmin.model.Assignment;
+
+/**
+ * 一次求解发布的帕累托前沿（不可变）
+ * 问题快照、前沿中的解、归一化器与超体积在求解结束时一并发布，
+ * 前端选解与提交都基于同一个对象，不会把新快照与旧前沿（或反之）混用
+ */
+public final class ParetoFront
+{
+    private final SchedulingProblem problem;
+    private final List<NonDominatedSet.NonDominatedSolution> solutions;  // 发布时的前沿副本
+    private final DynamicNormalizer normalizer;                          // 发布时的归一化器副本，此后不再修改
+    private final double hypervolume;
+
+    /**
+     * @param problem 前沿所基于的问题快照
+     * @param front 求解所得前沿，只复制其中的解，此后前沿的变化不影响本对象
+     * @param normalizer 前沿所用的归一化器，同样被复制
+     * @param hypervolume 前沿的超体积
+     */
+    ParetoFront(SchedulingProblem problem, NonDominatedSet front, DynamicNormalizer normalizer, double hypervolume)
+    {
+        this.problem = problem;
+        this.solutions = Collections.unmodifiableList(front.getSolutions());
+        this.normalizer = new DynamicNormalizer(normalizer);
+        this.hypervolume = hypervolume;
+    }
+
+    /** @return 前沿所基于的问题快照，所选解应在其上提交 */
+    public SchedulingProblem getProblem() { return problem; }
+
+    /** @return 前沿的超体积，取值 [0, 1] */
+    public double getHypervolume() { return hypervolume; }
+
+    /**
+     * 以理想点法从前沿中选择解：选中目标的归一化值构成的向量与原点距离最小者
+     * @param selectedObjectives 5个目标的选择信号，均未选中时返回前沿中的第一个解
+     * @return 所选解，前沿为空时返回null
+     */
+    public List<Assignment> select(boolean[] selectedObjectives)
+    {
+        if (solutions.isEmpty())
+        {
+            return null;
+        }
+
+        List<ObjectiveType> types = new ArrayList<>();
+        ObjectiveType[] allTypes = ObjectiveType.values();
+        for (int i = 0; i < allTypes.length && i < selectedObjectives.length; i++)
+        {
+            if (selectedObjectives[i])
+            {
+                types.add(allTypes[i]);
+            }
+        }
+        if (types.isEmpty())
+        {
+            return solutions.get(0).getAssignments();  // 默认返回第一个
+        }
+
+        double minDistance = Double.MAX_VALUE;
+        List<Assignment> best = solutions.get(0).getAssignments();
+        for (NonDominatedSet.NonDominatedSolution solution : solutions)
+        {
+            double sum = 0.0;
+            for (ObjectiveType type : types)
+            {
+                double normalized = normalizer.normalize(type, solution.getObjectiveVector().getValue(type));
+                sum += normalized * normalized;
+            }
+            double distance = Math.sqrt(sum);
+            if (distance < minDistance)
+            {
+                minDistance = distance;
+                best = solution.getAssignments();
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,25 @@
+package com.tsAdmin.control.scheduler;
+
+import java.util.List;
+
+import com.tsAdmin.model.Assignment;
+
+/**
+ * 维护帕累托前沿的调度器
+ * 前端从当前生效调度器最近一次发布的前沿中按目标选择解，并在前沿所基于的快照上提交
+ */
+public interface ParetoScheduler
+{
+    /**
+     * 获取最近一次求解发布的前沿，选解与提交都应基于同一次取得的对象
+     * @return 前沿、其问题快照与超体积，尚未调度时为null
+     */
+    ParetoFront getFront();
+
+    /**
+     * 在快照上提交解，见 {@link BaseScheduler#commit(SchedulingProblem, List)}
+     * @param problem 解所基于的问题快照
+     * @param assignments 分配结果列表
+     */
+    void commit(SchedulingProblem problem, List<Assignment> assignments);
+}
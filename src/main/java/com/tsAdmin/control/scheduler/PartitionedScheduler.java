@@ -0,0 +1,347 @@
+package com.tsAdmin.control.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.tsAdmin.common.ConfigLoader;
+import com.tsAdmin.common.Coordinate;
+import com.tsAdmin.common.PathNode;
+import com.tsAdmin.common.algorithm.graph.DistanceMatrix;
+import com.tsAdmin.model.Assignment;
+import com.tsAdmin.model.Car;
+import com.tsAdmin.model.Demand;
+import com.tsAdmin.model.poi.Poi;
+
+/**
+ * 分区调度器基类
+ * 把全局问题划分为若干互不相交的分区（各自的车辆与待分配订单），每个分区由独立的子调度器并行求解，
+ * 最后在分区之间做一次轻量的边界修复
+ *
+ * 子类只负责划分：{@link #partition(SchedulingProblem)} 返回的分区按下标与子调度器实例一一对应，
+ * 子调度器在周期之间复用，以保留热启动所需的前沿，因此子类应使同一下标在各周期代表相同的分区
+ *
+ * - 并行求解：分区在共享线程池中并行求解，没有待分配订单的分区不求解，其车辆路径保持不变
+ * - 合并：每辆车只属于一个分区，按车辆合并各分区的结果，结果之间不会冲突
+ * - 边界修复：各分区均未能分配的订单按距离增量最小的可行位置插入到邻近车辆（可属于任意分区）的路径中
+ */
+public abstract class PartitionedScheduler extends BaseScheduler
+{
+    private static final Logger logger = LogManager.getLogger(PartitionedScheduler.class);
+
+    /**
+     * 分区子问题求解使用的线程池，所有实例共享，线程数与CPU核数一致
+     */
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    private static final ForkJoinPool PARTITION_POOL = new ForkJoinPool(POOL_SIZE);
+
+    /** 边界修复时优先尝试的邻近车辆数，均不可行时再尝试全部车辆 */
+    private static final int REPAIR_NEAREST_CARS = 16;
+
+    /** 限时模式下为边界修复预留的时间比例（%） */
+    private static final int REPAIR_BUDGET_PERCENT = 10;
+
+    private final String subSchedulerKey;  // 子调度器类型的配置项
+
+    // 各分区的子调度器，按分区下标复用
+    private final List<BaseScheduler> partitionSchedulers = new ArrayList<>();
+    private String partitionSchedulerType;
+
+    private long partitionBudgetMillis = -1;  // 全部分区的时间预算，为负时不限时
+
+    /**
+     * @param subSchedulerKey 子调度器类型的配置项，取值 SA / ALNS / Greedy
+     */
+    protected PartitionedScheduler(String subSchedulerKey) { this.subSchedulerKey = subSchedulerKey; }
+
+    /**
+     * 划分问题
+     * @param problem 全局问题快照，车辆与订单均非空
+     * @return 分区列表，各分区的车辆互不相交，订单互不相交
+     */
+    protected abstract List<Partition> partition(SchedulingProblem problem);
+
+    /**
+     * 限时调度：分区按线程池容量分批并行求解，预留一部分时间给边界修复后，其余时间平均分给各批
+     * @param problem 问题快照
+     * @param timeBudgetMillis 时间预算（毫秒）
+     * @return 分配结果列表，尚未提交
+     */
+    @Override
+    public List<Assignment> schedule(SchedulingProblem problem, long timeBudgetMillis)
+    {
+        partitionBudgetMillis = Math.max(0, timeBudgetMillis) * (100 - REPAIR_BUDGET_PERCENT) / 100;
+        try
+        {
+            return schedule(problem);
+        }
+        finally
+        {
+            partitionBudgetMillis = -1;
+        }
+    }
+
+    /**
+     * 划分问题、并行求解各分区并修复分区边界
+     * @param problem 问题快照
+     * @return 分配结果列表，尚未提交
+     */
+    @Override
+    public List<Assignment> schedule(SchedulingProblem problem)
+    {
+        if (problem.getCars().isEmpty() || !problem.hasDemands())
+        {
+            return new ArrayList<>();
+        }
+
+        List<Partition> partitions = partition(problem);
+        preparePartitionSchedulers(partitions.size());
+
+        List<Integer> active = new ArrayList<>();
+        for (int p = 0; p < partitions.size(); p++)
+        {
+            if (!partitions.get(p).demands.isEmpty())
+            {
+                active.add(p);
+            }
+        }
+
+        long budget = partitionBudgetMillis;
+        if (budget >= 0)
+        {
+            int waves = (active.size() + POOL_SIZE - 1) / POOL_SIZE;
+            budget /= Math.max(1, waves);
+        }
+
+        List<ForkJoinTask<List<Assignment>>> tasks = new ArrayList<>(active.size());
+        for (int p : active)
+        {
+            BaseScheduler partitionScheduler = partitionSchedulers.get(p);
+            Partition partition = partitions.get(p);
+            SchedulingProblem subProblem = problem.subProblem(partition.cars, partition.demands);
+            long partitionBudget = budget;
+            tasks.add(PARTITION_POOL.submit(() -> partitionBudget >= 0
+                ? partitionScheduler.schedule(subProblem, partitionBudget)
+                : partitionScheduler.schedule(subProblem)));
+        }
+
+        // 按车辆合并各分区的结果
+        Map<String, Assignment> merged = new LinkedHashMap<>();
+        for (int i = 0; i < tasks.size(); i++)
+        {
+            try
+            {
+                for (Assignment assignment : tasks.get(i).join())
+                {
+                    merged.put(assignment.getCar().getUUID(), assignment);
+                }
+            }
+            catch (RuntimeException e)
+            {
+                logger.error("Scheduling of partition {} failed", active.get(i), e);
+            }
+        }
+
+        int repaired = repairBoundary(problem, merged);
+        logger.debug("{} scheduled {} demands in {} partitions, {} demands repaired across partitions",
+            getClass().getSimpleName(), problem.getDemands().size(), active.size(), repaired);
+
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * 按配置的子调度器类型准备各分区的调度器实例；类型变化时全部重建
+     */
+    private void preparePartitionSchedulers(int partitionCount)
+    {
+        String type = ConfigLoader.getString(subSchedulerKey, "SA");
+        if (!type.equals(partitionSchedulerType))
+        {
+            partitionSchedulers.clear();
+            partitionSchedulerType = type;
+        }
+        while (partitionSchedulers.size() < partitionCount)
+        {
+            partitionSchedulers.add(createPartitionScheduler(type));
+        }
+    }
+
+    private static BaseScheduler createPartitionScheduler(String type)
+    {
+        switch (type)
+        {
+            case "ALNS":
+                return new ALNSScheduler();
+            case "Greedy":
+                return new GreedyScheduler();
+            default:
+                return new MOSAScheduler();
+        }
+    }
+
+    // ========== 边界修复 ==========
+
+    /**
+     * 将各分区均未分配的订单插入到邻近车辆的路径中，车辆可属于任意分区
+     * 每个订单先尝试距其起点最近的若干车辆，均不可行时尝试全部车辆，取距离增量最小的可行位置
+     *
+     * @param problem 全局问题快照
+     * @param merged 各分区合并后的结果（车辆UUID → 路径），修复结果直接写入
+     * @return 修复成功的订单数
+     */
+    private int repairBoundary(SchedulingProblem problem, Map<String, Assignment> merged)
+    {
+        Set<Demand> assigned = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Assignment assignment : merged.values())
+        {
+            for (PathNode node : assignment.getNodeList())
+            {
+                assigned.add(node.getDemand());
+            }
+        }
+
+        int repaired = 0;
+        for (Demand demand : problem.getDemands())
+        {
+            if (assigned.contains(demand))
+            {
+                continue;
+            }
+
+            List<Car> nearestCars = new ArrayList<>();
+            for (int index : problem.nearestCars(demand.getOrigin(), REPAIR_NEAREST_CARS))
+            {
+                nearestCars.add(problem.getCars().get(index));
+            }
+            if (insertCheapest(merged, nearestCars, demand) || insertCheapest(merged, problem.getCars(), demand))
+            {
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    /**
+     * 在候选车辆的路径中选取距离增量最小的可行位置插入订单
+     * @return 是否插入成功
+     */
+    private boolean insertCheapest(Map<String, Assignment> merged, List<Car> candidates, Demand demand)
+    {
+        Car bestCar = null;
+        int bestStart = -1;
+        int bestEnd = -1;
+        double bestCost = Double.MAX_VALUE;
+
+        RouteProfile profile = new RouteProfile();
+        for (Car car : candidates)
+        {
+            List<PathNode> nodes = routeOf(merged, car);
+            if (!profile.reset(car, nodes).isFeasible())
+            {
+                continue;
+            }
+
+            for (int start = 0; start <= nodes.size(); start++)
+            {
+                for (int end = start; end <= nodes.size(); end++)
+                {
+                    if (!profile.canInsert(demand.getQuantity(), demand.getVolume(), start, end))
+                    {
+                        continue;
+                    }
+                    double cost = insertionCost(car, nodes, demand, start, end);
+                    if (cost < bestCost)
+                    {
+                        bestCost = cost;
+                        bestCar = car;
+                        bestStart = start;
+                        bestEnd = end;
+                    }
+                }
+            }
+        }
+
+        if (bestCar == null)
+        {
+            return false;
+        }
+
+        Assignment assignment = merged.get(bestCar.getUUID());
+        if (assignment == null)
+        {
+            assignment = new Assignment(bestCar);
+            assignment.getNodeList().addAll(bestCar.getNodeList());
+            merged.put(bestCar.getUUID(), assignment);
+        }
+        assignment.getNodeList().add(bestStart, new PathNode(demand, true));
+        assignment.getNodeList().add(bestEnd + 1, new PathNode(demand, false));
+        return true;
+    }
+
+    /** 车辆在合并结果中的路径，未出现在结果中的车辆沿用快照中的路径 */
+    private static List<PathNode> routeOf(Map<String, Assignment> merged, Car car)
+    {
+        Assignment assignment = merged.get(car.getUUID());
+        return assignment != null ? assignment.getNodeList() : car.getNodeList();
+    }
+
+    /**
+     * 起点插入原路径第 start 个节点之前、终点插入原路径第 end 个节点之前时增加的行驶距离
+     */
+    private static double insertionCost(Car car, List<PathNode> nodes, Demand demand, int start, int end)
+    {
+        Poi origin = demand.getOriginPoi();
+        Poi destination = demand.getDestinationPoi();
+
+        Poi beforeStart = start == 0 ? null : nodes.get(start - 1).getPoi();
+        Poi afterStart = start < nodes.size() ? nodes.get(start).getPoi() : null;
+        if (start == end)
+        {
+            double cost = distance(car, beforeStart, origin) + DistanceMatrix.between(origin, destination);
+            if (afterStart != null)
+            {
+                cost += DistanceMatrix.between(destination, afterStart) - distance(car, beforeStart, afterStart);
+            }
+            return cost;
+        }
+
+        // start < end 时 afterStart 必然存在
+        double cost = distance(car, beforeStart, origin) + DistanceMatrix.between(origin, afterStart)
+            - distance(car, beforeStart, afterStart);
+        Poi beforeEnd = nodes.get(end - 1).getPoi();
+        cost += DistanceMatrix.between(beforeEnd, destination);
+        if (end < nodes.size())
+        {
+            Poi afterEnd = nodes.get(end).getPoi();
+            cost += DistanceMatrix.between(destination, afterEnd) - DistanceMatrix.between(beforeEnd, afterEnd);
+        }
+        return cost;
+    }
+
+    /**
+     * @param from 出发兴趣点，为null时表示车辆当前位置（按坐标计算）
+     * @return 出发点到目标兴趣点的距离
+     */
+    private static double distance(Car car, Poi from, Poi to)
+    {
+        return from == null
+            ? Coordinate.distance(car.getPosition(), to.getPosition())
+            : DistanceMatrix.between(from, to);
+    }
+
+    /** 分区：一组车辆及其负责的待分配订单 */
+    protected static final class Partition
+    {
+        final List<Car> cars = new ArrayList<>();
+        final List<Demand> demands = new ArrayList<>();
+    }
+}
@@ -0,0 +1,212 @@
+package com.tsAdmin.control.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.tsAdmin.common.Coordinate;
+import com.tsAdmin.common.PathNode;
+import com.tsAdmin.model.Car;
+import com.tsAdmin.model.Demand;
+import com.tsAdmin.model.ProductType;
+
+/**
+ * 按货物类型分区的调度器
+ * 各类货物的供应链彼此独立（采购方只向同类上游兴趣点下单），本调度器为每种 {@link ProductType} 运行一个独立的子调度器，
+ * 各类型并行求解（见 {@link PartitionedScheduler}），分区下标即类型序号
+ *
+ * 车队在类型之间动态划分，并在周期之间按积压量再平衡：
+ * 1. 路径或当前执行订单中已有某类货物的车辆锁定在该类型
+ * 2. 空闲车辆沿用上一周期所属的类型，新车辆依次分给缺口最大的类型
+ * 3. 各类型的目标运力（核载之和）按待分配货量占比分配全部车队运力；
+ *    缺口最大的类型从其他类型调入距其订单重心最近的一辆空闲车辆，
+ *    调出方不低于目标运力时才调动（调入方尚无车辆时放宽为调出方仍保留运力），直至没有可行的调动
+ */
+public class ProductTypeScheduler extends PartitionedScheduler
+{
+    private static final ProductType[] TYPES = ProductType.values();
+
+    // 上一周期各车辆所属的类型（车辆UUID → 类型）
+    private final Map<String, ProductType> carTypes = new HashMap<>();
+
+    public ProductTypeScheduler() { super("ProductTypeScheduler.sub_scheduler"); }
+
+    @Override
+    protected List<Partition> partition(SchedulingProblem problem)
+    {
+        List<Partition> partitions = new ArrayList<>(TYPES.length);
+        for (int t = 0; t < TYPES.length; t++)
+        {
+            partitions.add(new Partition());
+        }
+
+        // ========== 1. 订单按类型划分，统计积压货量与订单重心 ==========
+        double[] backlog = new double[TYPES.length];
+        double[] sumLat = new double[TYPES.length];
+        double[] sumLon = new double[TYPES.length];
+        for (Demand demand : problem.getDemands())
+        {
+            int t = demand.getType().ordinal();
+            partitions.get(t).demands.add(demand);
+            backlog[t] += demand.getQuantity();
+            sumLat[t] += demand.getOrigin().lat;
+            sumLon[t] += demand.getOrigin().lon;
+        }
+
+        // ========== 2. 锁定有任务的车辆，空闲车辆沿用上一周期的类型 ==========
+        double[] capacity = new double[TYPES.length];
+        double totalCapacity = 0.0;
+        List<List<Car>> idleCars = new ArrayList<>(TYPES.length);
+        for (int t = 0; t < TYPES.length; t++)
+        {
+            idleCars.add(new ArrayList<>());
+        }
+        List<Car> unassigned = new ArrayList<>();
+        for (Car car : problem.getCars())
+        {
+            totalCapacity += car.getMaxLoad();
+            ProductType busyType = busyTypeOf(car);
+            ProductType previousType = busyType != null ? busyType : carTypes.get(car.getUUID());
+            if (previousType == null)
+            {
+                unassigned.add(car);
+                continue;
+            }
+
+            int t = previousType.ordinal();
+            capacity[t] += car.getMaxLoad();
+            if (busyType == null)
+            {
+                idleCars.get(t).add(car);
+            }
+            else
+            {
+                partitions.get(t).cars.add(car);
+            }
+        }
+
+        // ========== 3. 按积压量计算各类型的目标运力 ==========
+        double totalBacklog = 0.0;
+        for (double quantity : backlog)
+        {
+            totalBacklog += quantity;
+        }
+        double[] target = new double[TYPES.length];
+        for (int t = 0; t < TYPES.length; t++)
+        {
+            target[t] = totalBacklog > 0 ? totalCapacity * backlog[t] / totalBacklog : totalCapacity / TYPES.length;
+        }
+
+        for (Car car : unassigned)
+        {
+            int t = maxDeficit(target, capacity, null);
+            capacity[t] += car.getMaxLoad();
+            idleCars.get(t).add(car);
+        }
+
+        // ========== 4. 空闲车辆从富余类型调往缺口类型 ==========
+        boolean[] receivable = new boolean[TYPES.length];
+        for (int t = 0; t < TYPES.length; t++)
+        {
+            receivable[t] = backlog[t] > 0;
+        }
+        while (true)
+        {
+            int receiver = maxDeficit(target, capacity, receivable);
+            if (receiver < 0 || capacity[receiver] >= target[receiver])
+            {
+                break;
+            }
+
+            Coordinate centroid = new Coordinate(sumLat[receiver] / partitions.get(receiver).demands.size(),
+                sumLon[receiver] / partitions.get(receiver).demands.size());
+            boolean starving = capacity[receiver] == 0;
+            int donor = -1;
+            int donorCar = -1;
+            double minDistance = Double.MAX_VALUE;
+            for (int t = 0; t < TYPES.length; t++)
+            {
+                if (t == receiver)
+                {
+                    continue;
+                }
+                List<Car> candidates = idleCars.get(t);
+                for (int c = 0; c < candidates.size(); c++)
+                {
+                    // 调出方不能因此低于目标运力；调入方尚无车辆时放宽为调出方仍保留运力
+                    Car car = candidates.get(c);
+                    double remaining = capacity[t] - car.getMaxLoad();
+                    if (starving ? remaining <= 0 : remaining < target[t])
+                    {
+                        continue;
+                    }
+                    double distance = Coordinate.distance(car.getPosition(), centroid);
+                    if (distance < minDistance)
+                    {
+                        minDistance = distance;
+                        donor = t;
+                        donorCar = c;
+                    }
+                }
+            }
+            if (donor < 0)
+            {
+                receivable[receiver] = false;
+                continue;
+            }
+
+            Car moved = idleCars.get(donor).remove(donorCar);
+            idleCars.get(receiver).add(moved);
+            capacity[donor] -= moved.getMaxLoad();
+            capacity[receiver] += moved.getMaxLoad();
+        }
+
+        // ========== 5. 记录本周期的车队划分 ==========
+        carTypes.clear();
+        for (int t = 0; t < TYPES.length; t++)
+        {
+            Partition partition = partitions.get(t);
+            partition.cars.addAll(idleCars.get(t));
+            for (Car car : partition.cars)
+            {
+                carTypes.put(car.getUUID(), TYPES[t]);
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * @return 车辆路径中首个订单或当前执行订单的类型，车辆空闲时返回null
+     */
+    private static ProductType busyTypeOf(Car car)
+    {
+        if (car.getCurrDemand() != null)
+        {
+            return car.getCurrDemand().getType();
+        }
+        List<PathNode> nodeList = car.getNodeList();
+        return nodeList.isEmpty() ? null : nodeList.getFirst().getDemand().getType();
+    }
+
+    /**
+     * @param allowed 非空时只考虑标记为 true 的类型
+     * @return 运力缺口（目标运力 - 当前运力）最大的类型序号，没有可选类型时返回 -1
+     */
+    private static int maxDeficit(double[] target, double[] capacity, boolean[] allowed)
+    {
+        int best = -1;
+        for (int t = 0; t < target.length; t++)
+        {
+            if (allowed != null && !allowed[t])
+            {
+                continue;
+            }
+            if (best < 0 || target[t] - capacity[t] > target[best] - capacity[best])
+            {
+                best = t;
+            }
+        }
+        return best;
+    }
+}
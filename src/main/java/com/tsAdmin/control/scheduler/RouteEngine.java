@@ -0,0 +1,205 @@
+package com.tsAdmin.control.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.tsAdmin.common.PathNode;
+import com.tsAdmin.model.Assignment;
+import com.tsAdmin.model.Car;
+import com.tsAdmin.model.Demand;
+
+/**
+ * 紧凑路径引擎，供 MOSA 随机解的构造在原始类型数组上插入订单
+ *
+ * 编码方式：
+ * - 订单被驻留为从0开始的稠密整数编号 id
+ * - 每条路径是一个 int[]，起点编码为 +(id+1)，终点编码为 -(id+1)
+ *
+ * 构造过程中不再创建 PathNode，只有在 {@link #toAssignments()} 时才重新生成 Assignment / PathNode 模型；
+ * 每个引擎持有独立的插入辅助对象，多个采样任务可以各自使用一个引擎并行构造
+ */
+class RouteEngine
+{
+    private static final int INITIAL_ROUTE_CAPACITY = 8;
+
+    private final Car[] cars;
+
+    // ========== 订单（按 id 索引） ==========
+    private final Map<Demand, Integer> demandIds = new IdentityHashMap<>();
+    private Demand[] demands = new Demand[16];
+    private double[] quantities = new double[16];
+    private double[] volumes = new double[16];
+    private int[] routeOf = new int[16];
+    private int demandCount = 0;
+
+    // ========== 路径 ==========
+    private final int[][] routes;
+    private final int[] routeSizes;
+
+    // ========== 插入辅助（复用以避免分配） ==========
+    private final InsertionPositionSampler positionSampler = new InsertionPositionSampler();
+    private final RouteProfile insertionProfile = new RouteProfile();
+
+    private RouteEngine(List<Car> cars)
+    {
+        this.cars = cars.toArray(new Car[0]);
+        this.routes = new int[this.cars.length][];
+        this.routeSizes = new int[this.cars.length];
+        for (int r = 0; r < routes.length; r++)
+        {
+            routes[r] = new int[INITIAL_ROUTE_CAPACITY];
+        }
+    }
+
+    /**
+     * 由现有分配方案编码得到路径引擎
+     * @param assignments 分配方案列表，下标即路径编号
+     * @return 编码后的路径引擎
+     */
+    public static RouteEngine fromAssignments(List<Assignment> assignments)
+    {
+        List<Car> cars = new ArrayList<>(assignments.size());
+        for (Assignment assignment : assignments)
+        {
+            cars.add(assignment.getCar());
+        }
+
+        RouteEngine engine = new RouteEngine(cars);
+        for (int r = 0; r < assignments.size(); r++)
+        {
+            for (PathNode node : assignments.get(r).getNodeList())
+            {
+                int id = engine.intern(node.getDemand());
+                engine.insertAt(r, engine.routeSizes[r], node.isOrigin() ? id + 1 : -(id + 1));
+                engine.routeOf[id] = r;
+            }
+        }
+        return engine;
+    }
+
+    /**
+     * 将路径解码为 Assignment 模型
+     * @return 与路径编号一一对应的分配方案列表
+     */
+    public List<Assignment> toAssignments()
+    {
+        List<Assignment> assignments = new ArrayList<>(cars.length);
+        for (int r = 0; r < cars.length; r++)
+        {
+            Assignment assignment = new Assignment(cars[r]);
+            for (int i = 0; i < routeSizes[r]; i++)
+            {
+                int code = routes[r][i];
+                assignment.addPathNode(new PathNode(demands[idOf(code)], isPickup(code)));
+            }
+            assignments.add(assignment);
+        }
+        return assignments;
+    }
+
+    /**
+     * 获取订单的整数编号，首次出现时分配新编号
+     * @param demand 订单
+     * @return 订单编号
+     */
+    public int intern(Demand demand)
+    {
+        Integer id = demandIds.get(demand);
+        if (id != null)
+        {
+            return id;
+        }
+
+        if (demandCount == demands.length)
+        {
+            int capacity = demandCount * 2;
+            demands = Arrays.copyOf(demands, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            volumes = Arrays.copyOf(volumes, capacity);
+            routeOf = Arrays.copyOf(routeOf, capacity);
+        }
+
+        int newId = demandCount++;
+        demands[newId] = demand;
+        quantities[newId] = demand.getQuantity();
+        volumes[newId] = demand.getVolume();
+        routeOf[newId] = -1;
+        demandIds.put(demand, newId);
+        return newId;
+    }
+
+    // ========== 查询 ==========
+
+    public int getRouteCount() { return cars.length; }
+    public int getRouteSize(int route) { return routeSizes[route]; }
+    public Car getCar(int route) { return cars[route]; }
+    public double getQuantity(int id) { return quantities[id]; }
+    public double getVolume(int id) { return volumes[id]; }
+
+    /** @return 订单所在路径编号，未分配时为 -1 */
+    public int getRouteOf(int id) { return routeOf[id]; }
+
+    /**
+     * 获取路径指定位置的节点编码
+     * @return 起点为 +(id+1)，终点为 -(id+1)
+     */
+    public int getCode(int route, int position) { return routes[route][position]; }
+
+    /** 由节点编码得到订单编号 */
+    public static int idOf(int code) { return Math.abs(code) - 1; }
+
+    /** 由节点编码判断是否为起点 */
+    public static boolean isPickup(int code) { return code > 0; }
+
+    // ========== 插入 ==========
+
+    /**
+     * 尝试以随机顺序在路径中寻找可行位置插入订单，语义与 {@code BaseScheduler.insertPairAtRandomPositions} 一致：
+     * 起点插入到原下标 startPos 之前，终点插入到原下标 endPos 之前（startPos ≤ endPos）
+     * @param route 路径编号
+     * @param id 订单编号
+     * @param random 随机数生成器
+     * @return 是否插入成功
+     */
+    public boolean insertPairAtRandomPositions(int route, int id, Random random)
+    {
+        RouteProfile profile = insertionProfile.reset(this, route);
+        if (!profile.isFeasible())
+        {
+            return false;
+        }
+
+        positionSampler.reset(routeSizes[route], random);
+        while (positionSampler.next())
+        {
+            int startPos = positionSampler.startPos();
+            int endPos = positionSampler.endPos();
+            if (profile.canInsert(quantities[id], volumes[id], startPos, endPos))
+            {
+                insertAt(route, startPos, id + 1);
+                insertAt(route, endPos + 1, -(id + 1));
+                routeOf[id] = route;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void insertAt(int route, int position, int code)
+    {
+        int size = routeSizes[route];
+        if (size == routes[route].length)
+        {
+            routes[route] = Arrays.copyOf(routes[route], size * 2);
+        }
+
+        int[] nodes = routes[route];
+        System.arraycopy(nodes, position, nodes, position + 1, size - position);
+        nodes[position] = code;
+        routeSizes[route] = size + 1;
+    }
+}
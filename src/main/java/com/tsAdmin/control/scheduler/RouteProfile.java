@@ -0,0 +1,173 @@
+package com.tsAdmin.control.scheduler;
+
+import java.util.List;
+
+import com.tsAdmin.common.PathNode;
+import com.tsAdmin.model.Car;
+
+/**
+ * 路径载重/体积前缀剖面
+ *
+ * 记录车辆依次执行路径上前 k 个节点后的剩余载重 R[k] 与剩余体积 V[k]（k = 0 ~ n），
+ * 并在其上建立稀疏表以支持 O(1) 区间最小值查询。
+ *
+ * 插入判定：起点插入到原下标 i 之前、终点插入到原下标 j 之前（i ≤ j）时，
+ * 只有 R[i..j] 与 V[i..j] 会减少该订单的货量/体积，其余位置不变，因此
+ * 插入可行 ⇔ 原路径可行 且 min(R[i..j]) ≥ q 且 min(V[i..j]) ≥ v。
+ * 构建剖面 O(n log n)，之后任意 (i, j) 的判定均为 O(1)，无需逐个模拟整条路径。
+ *
+ * 剖面对象可通过 {@code reset} 反复复用，内部数组只在路径变长时扩容，热点路径上不产生垃圾对象
+ */
+public class RouteProfile
+{
+    private int size;
+    private boolean feasible;
+    private double[][] loadMin = new double[0][];    // loadMin[p][k] = min(R[k .. k + 2^p - 1])
+    private double[][] volumeMin = new double[0][];  // volumeMin[p][k] = min(V[k .. k + 2^p - 1])
+
+    /**
+     * 由车辆与节点列表构建剖面，约束语义与 {@code BaseScheduler.isFeasibleRoute} 一致
+     * @param car 车辆
+     * @param nodeList 路径节点列表
+     * @return 新建的路径剖面
+     */
+    public static RouteProfile of(Car car, List<PathNode> nodeList)
+    {
+        return new RouteProfile().reset(car, nodeList);
+    }
+
+    /**
+     * 以车辆与节点列表重建本剖面
+     * @param car 车辆
+     * @param nodeList 路径节点列表
+     * @return 本剖面
+     */
+    public RouteProfile reset(Car car, List<PathNode> nodeList)
+    {
+        int n = nodeList.size();
+        ensureCapacity(n + 1);
+        double[] loads = loadMin[0];
+        double[] volumes = volumeMin[0];
+        loads[0] = car.getRemainingLoad();
+        volumes[0] = car.getRemainingVolume();
+
+        boolean ok = true;  // 与 isFeasibleRoute 一致，只检查执行各节点之后的状态
+        for (int k = 0; k < n; k++)
+        {
+            PathNode node = nodeList.get(k);
+            double sign = node.isOrigin() ? -1.0 : 1.0;
+            loads[k + 1] = loads[k] + sign * node.getDemand().getQuantity();
+            volumes[k + 1] = volumes[k] + sign * node.getDemand().getVolume();
+            ok &= isWithin(loads[k + 1], car.getMaxLoad()) && isWithin(volumes[k + 1], car.getMaxVolume());
+        }
+        return build(n, ok);
+    }
+
+    /**
+     * 以紧凑路径引擎中的一条路径重建本剖面
+     * @param engine 路径引擎
+     * @param route 路径编号
+     * @return 本剖面
+     */
+    RouteProfile reset(RouteEngine engine, int route)
+    {
+        Car car = engine.getCar(route);
+        int n = engine.getRouteSize(route);
+        ensureCapacity(n + 1);
+        double[] loads = loadMin[0];
+        double[] volumes = volumeMin[0];
+        loads[0] = car.getRemainingLoad();
+        volumes[0] = car.getRemainingVolume();
+
+        boolean ok = true;  // 与 isFeasibleRoute 一致，只检查执行各节点之后的状态
+        for (int k = 0; k < n; k++)
+        {
+            int code = engine.getCode(route, k);
+            int id = RouteEngine.idOf(code);
+            double sign = RouteEngine.isPickup(code) ? -1.0 : 1.0;
+            loads[k + 1] = loads[k] + sign * engine.getQuantity(id);
+            volumes[k + 1] = volumes[k] + sign * engine.getVolume(id);
+            ok &= isWithin(loads[k + 1], car.getMaxLoad()) && isWithin(volumes[k + 1], car.getMaxVolume());
+        }
+        return build(n, ok);
+    }
+
+    /** @return 原路径节点数 */
+    public int size() { return size; }
+
+    /** @return 原路径本身是否满足约束 */
+    public boolean isFeasible() { return feasible; }
+
+    /**
+     * O(1) 判断在 (startPos, endPos) 插入一对起终点后路径是否仍然可行
+     * @param quantity 订单货量
+     * @param volume 订单体积
+     * @param startPos 起点插入位置（0 ~ size）
+     * @param endPos 终点插入位置（startPos ~ size）
+     * @return true表示可行
+     */
+    public boolean canInsert(double quantity, double volume, int startPos, int endPos)
+    {
+        return feasible
+            && rangeMin(loadMin, startPos, endPos) >= quantity
+            && rangeMin(volumeMin, startPos, endPos) >= volume;
+    }
+
+    /**
+     * O(1) 查询区间 [from, to] 内剩余载重的最小值
+     */
+    public double minRemainingLoad(int from, int to) { return rangeMin(loadMin, from, to); }
+
+    /**
+     * O(1) 查询区间 [from, to] 内剩余体积的最小值
+     */
+    public double minRemainingVolume(int from, int to) { return rangeMin(volumeMin, from, to); }
+
+    private static boolean isWithin(double remaining, double max)
+    {
+        return remaining >= 0 && remaining <= max;
+    }
+
+    private RouteProfile build(int n, boolean ok)
+    {
+        this.size = n;
+        this.feasible = ok;
+        fillSparseTable(loadMin, n + 1);
+        fillSparseTable(volumeMin, n + 1);
+        return this;
+    }
+
+    /** 保证稀疏表可容纳 length 个前缀值，容量不足时按两倍扩容 */
+    private void ensureCapacity(int length)
+    {
+        if (loadMin.length > 0 && loadMin[0].length >= length)
+        {
+            return;
+        }
+
+        int capacity = Math.max(8, Integer.highestOneBit(length) << 1);
+        int levels = 32 - Integer.numberOfLeadingZeros(capacity);
+        loadMin = new double[levels][capacity];
+        volumeMin = new double[levels][capacity];
+    }
+
+    private static void fillSparseTable(double[][] table, int length)
+    {
+        for (int p = 1; (1 << p) <= length; p++)
+        {
+            int half = 1 << (p - 1);
+            double[] prev = table[p - 1];
+            double[] curr = table[p];
+            for (int k = 0; k + (1 << p) <= length; k++)
+            {
+                curr[k] = Math.min(prev[k], prev[k + half]);
+            }
+        }
+    }
+
+    private static double rangeMin(double[][] table, int from, int to)
+    {
+        int p = 31 - Integer.numberOfLeadingZeros(to - from + 1);
+        return Math.min(table[p][from], table[p][to - (1 << p) + 1]);
+    }
+}
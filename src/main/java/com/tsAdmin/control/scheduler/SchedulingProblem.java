@@ -0,0 +1,349 @@
+package com.tsAdmin.control.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import com.tsAdmin.common.Coordinate;
+import com.tsAdmin.common.PathNode;
+import com.tsAdmin.common.algorithm.spatial.SpatialGrid;
+import com.tsAdmin.control.manager.CarManager;
+import com.tsAdmin.control.manager.DemandManager;
+import com.tsAdmin.model.Assignment;
+import com.tsAdmin.model.Car;
+import com.tsAdmin.model.Demand;
+
+/**
+ * 调度问题快照（只读）
+ * 每个调度周期捕获一次车辆状态副本与订单列表，调度器只在快照上求解，不直接读写管理器中的共享状态，
+ * 因此调度可以与模拟并发进行，同一快照也可被多个调度器实例或线程同时读取
+ *
+ * 快照的捕获与结果的提交均在 {@link #LOCK} 保护下进行：
+ * - {@link #capture()} 得到某一时刻一致的车辆与订单视图
+ * - {@link #commit(List)} 将求解结果一次性写回车辆与订单，对模拟线程表现为原子操作
+ *
+ * 注意：车辆为拷贝得到的副本，订单则直接引用管理器中的对象；
+ * 订单的分配状态与货量只在提交时修改，调度过程中应视为只读
+ */
+public final class SchedulingProblem
+{
+    /** 车辆与订单管理器状态锁，模拟线程修改车辆路径或订单列表时也应持有此锁 */
+    public static final Object LOCK = new Object();
+
+    /** 车辆空间索引的网格边长（与坐标同单位） */
+    private static final double CAR_GRID_CELL_SIZE = 0.02;
+
+    /** 路径点键的前缀：起点与终点，后接订单UUID */
+    private static final String PICKUP = "+";
+    private static final String DROP_OFF = "-";
+
+    private final List<Car> cars;                   // 车辆副本，下标即路径编号
+    private final List<Demand> demands;             // 待分配订单
+    private final Map<String, Demand> liveDemands;  // 捕获时仍存在的全部订单（UUID → 订单）
+
+    private Map<String, Integer> carIndex;          // 车辆UUID → 车辆下标，首次使用时构建
+    private SpatialGrid<Car> carGrid;               // 车辆副本的空间索引，首次使用时构建
+
+    /**
+     * @param cars 车辆副本列表，快照不会修改其中的车辆
+     * @param demands 待分配订单列表
+     */
+    public SchedulingProblem(List<Car> cars, List<Demand> demands)
+    {
+        this(cars, demands, indexByUuid(demands));
+    }
+
+    private SchedulingProblem(List<Car> cars, List<Demand> demands, Map<String, Demand> liveDemands)
+    {
+        this.cars = Collections.unmodifiableList(new ArrayList<>(cars));
+        this.demands = Collections.unmodifiableList(new ArrayList<>(demands));
+        this.liveDemands = Collections.unmodifiableMap(liveDemands);
+    }
+
+    /**
+     * 由车辆与订单管理器的当前状态创建快照
+     * 车辆副本保留位置、载重、当前执行订单、状态以及已提交路径的副本，载重按路径修正（见 {@link #alignLoadWithRoute}）
+     * @return 包含全部车辆副本与全部未分配订单的快照
+     */
+    public static SchedulingProblem capture()
+    {
+        return capture(demand -> true);
+    }
+
+    /**
+     * 由车辆与订单管理器的当前状态创建快照，只纳入部分未分配订单
+     * 未纳入的订单仍视为存在，只是本次不参与分配
+     * @param admitted 判断未分配订单是否纳入本次调度
+     * @return 包含全部车辆副本与被纳入的未分配订单的快照
+     */
+    public static SchedulingProblem capture(Predicate<Demand> admitted)
+    {
+        synchronized (LOCK)
+        {
+            List<Car> cars = new ArrayList<>(CarManager.carList.size());
+            for (Car car : CarManager.carList.values())
+            {
+                Car snapshot = new Car(car);
+                snapshot.setPosition(new Coordinate(car.getPosition()));
+                snapshot.setNodeList(Collections.unmodifiableList(new ArrayList<>(car.getNodeList())));
+                snapshot.setCurrDemand(car.getCurrDemand());
+                snapshot.setState(car.getPrevState());
+                snapshot.setState(car.getState());
+                alignLoadWithRoute(car, snapshot);
+                cars.add(snapshot);
+            }
+
+            List<Demand> demands = DemandManager.getPendingDemands();
+            demands.removeIf(admitted.negate());
+            return new SchedulingProblem(cars, demands, new HashMap<>(DemandManager.demandList));
+        }
+    }
+
+    /**
+     * 由本快照的一部分车辆与订单构成子问题，供分区调度器在各区域上独立求解
+     * 子问题只把区域内的待分配订单、区域内车辆路径上的订单和车辆正在执行的订单视为存在，
+     * 避免热启动的调度器把已划归其他区域的订单修复回本区域的路径
+     *
+     * @param cars 本快照中的部分车辆（直接共享，不再拷贝）
+     * @param demands 本快照中的部分待分配订单
+     * @return 子问题快照
+     */
+    public SchedulingProblem subProblem(List<Car> cars, List<Demand> demands)
+    {
+        Map<String, Demand> owned = new HashMap<>();
+        for (Demand demand : demands)
+        {
+            owned.put(demand.getUUID(), demand);
+        }
+        for (Car car : cars)
+        {
+            for (PathNode node : car.getNodeList())
+            {
+                owned.put(node.getDemand().getUUID(), node.getDemand());
+            }
+            if (car.getCurrDemand() != null)
+            {
+                owned.put(car.getCurrDemand().getUUID(), car.getCurrDemand());
+            }
+        }
+        owned.values().removeIf(demand -> !isAlive(demand));
+        return new SchedulingProblem(cars, demands, owned);
+    }
+
+    /**
+     * 修正车辆快照的载重，使其与快照中的路径一致，调度器只需按路径推算载重
+     * - 前往装货或装货中的订单起点已派发，而载重要在装货结束时才计入；其终点仍在路径中，视为已装载
+     * - 运输或卸货中的订单终点已派发，不再出现在路径中，而载重要在卸货结束时才扣除，视为已卸载
+     */
+    private static void alignLoadWithRoute(Car car, Car snapshot)
+    {
+        Demand current = car.getCurrDemand();
+        if (current == null)
+        {
+            return;
+        }
+
+        boolean pickupPending = false;
+        boolean dropOffPending = false;
+        for (PathNode node : car.getNodeList())
+        {
+            if (node.getDemand() == current)
+            {
+                pickupPending |= node.isOrigin();
+                dropOffPending |= !node.isOrigin();
+            }
+        }
+
+        Car.CarState state = car.getState() == Car.CarState.FREEZE ? car.getPrevState() : car.getState();
+        int sign;
+        if ((state == Car.CarState.ORDER_TAKEN || state == Car.CarState.LOADING) && dropOffPending && !pickupPending)
+        {
+            sign = 1;
+        }
+        else if ((state == Car.CarState.TRANSPORTING || state == Car.CarState.UNLOADING) && !dropOffPending)
+        {
+            sign = -1;
+        }
+        else
+        {
+            return;
+        }
+
+        snapshot.setLoad(Math.max(0, snapshot.getLoad() + sign * current.getQuantity()));
+        snapshot.setVolume(Math.max(0, snapshot.getVolume() + sign * (int)Math.round(current.getVolume())));
+    }
+
+    public List<Car> getCars() { return cars; }
+    public List<Demand> getDemands() { return demands; }
+    public boolean hasDemands() { return !demands.isEmpty(); }
+
+    /**
+     * 判断订单在捕获时是否仍存在（未被卸货移除）
+     * @param demand 订单
+     * @return 同一订单对象仍登记在订单列表中时为true
+     */
+    public boolean isAlive(Demand demand)
+    {
+        return liveDemands.get(demand.getUUID()) == demand;
+    }
+
+    /**
+     * 由车辆UUID查找快照中的车辆下标
+     * @param carUuid 车辆UUID
+     * @return 车辆下标，不存在时返回 -1
+     */
+    public synchronized int indexOf(String carUuid)
+    {
+        if (carIndex == null)
+        {
+            carIndex = new HashMap<>();
+            for (int c = 0; c < cars.size(); c++)
+            {
+                carIndex.put(cars.get(c).getUUID(), c);
+            }
+        }
+        return carIndex.getOrDefault(carUuid, -1);
+    }
+
+    /**
+     * 查询快照中距离某点最近的车辆
+     * 空间索引建立在本快照的车辆副本上：位置为捕获时刻的位置，子问题只返回其自身的车辆
+     * @param center 查询中心
+     * @param k 数量上限
+     * @return 按距离升序排列的车辆下标，长度不超过 k
+     */
+    public int[] nearestCars(Coordinate center, int k)
+    {
+        List<Car> nearest = carGrid().nearest(center, k);
+        int[] result = new int[nearest.size()];
+        for (int i = 0; i < result.length; i++)
+        {
+            result[i] = indexOf(nearest.get(i).getUUID());
+        }
+        return result;
+    }
+
+    private synchronized SpatialGrid<Car> carGrid()
+    {
+        if (carGrid == null)
+        {
+            carGrid = new SpatialGrid<>(CAR_GRID_CELL_SIZE);
+            for (Car car : cars)
+            {
+                carGrid.update(car, car.getPosition());
+            }
+        }
+        return carGrid;
+    }
+
+    /**
+     * 将求解结果提交到车辆与订单
+     * 整个提交过程持有 {@link #LOCK}，模拟线程要么看到提交前的状态，要么看到提交后的状态
+     *
+     * - 自捕获以来已被任一车辆派发或已被移除的路径点不再写回，避免同一车辆或路径点被移到的其他车辆重复前往
+     * - 自捕获以来起点被某车取走的订单，货物已在该车上：其终点只保留在该车路径中；
+     *   求解器把它移到了其他车辆时，从其他车辆的路径中删除，并按当前路径中的顺序放回该车路径最前
+     * - 首次被分配的订单标记为已分配（货量保持不变，由装货时计入车辆载重）
+     * - 车辆路径被替换为结果中的路径
+     *
+     * @param assignments 求解结果
+     */
+    public void commit(List<Assignment> assignments)
+    {
+        synchronized (LOCK)
+        {
+            Map<String, String> dispatched = dispatchedSinceCapture();
+            for (Assignment assignment : assignments)
+            {
+                Car car = CarManager.carList.get(assignment.getCar().getUUID());
+                if (car == null)
+                {
+                    continue;
+                }
+
+                List<PathNode> nodeList = new ArrayList<>(assignment.getNodeList().size());
+                Set<String> committed = new HashSet<>();
+                for (PathNode node : assignment.getNodeList())
+                {
+                    Demand demand = node.getDemand();
+                    String carrier = dispatched.get(PICKUP + demand.getUUID());
+                    if (DemandManager.demandList.get(demand.getUUID()) != demand || dispatched.containsKey(keyOf(node))
+                        || (carrier != null && !carrier.equals(car.getUUID())))
+                    {
+                        continue;
+                    }
+                    if (node.isOrigin() && !demand.isAssigned())
+                    {
+                        DemandManager.markAssigned(demand);
+                    }
+                    nodeList.add(node);
+                    committed.add(keyOf(node));
+                }
+
+                // 本车自捕获以来取走的货物，其终点在结果中被移走时放回路径最前
+                List<PathNode> carried = new ArrayList<>();
+                for (PathNode node : car.getNodeList())
+                {
+                    String uuid = node.getDemand().getUUID();
+                    if (!node.isOrigin() && car.getUUID().equals(dispatched.get(PICKUP + uuid)) && !committed.contains(keyOf(node)))
+                    {
+                        carried.add(node);
+                    }
+                }
+                nodeList.addAll(0, carried);
+                car.setNodeList(nodeList);
+            }
+        }
+    }
+
+    /**
+     * 捕获时在车辆路径中、而当前已不在该车路径中的路径点，即捕获后被车辆取走执行的路径点
+     * 求解器可能把路径点移到其他车辆上，因此汇总全部车辆，提交任一车辆的路径时都要排除
+     * @return 路径点 → 派发该路径点的车辆UUID
+     */
+    private Map<String, String> dispatchedSinceCapture()
+    {
+        Map<String, String> dispatched = new HashMap<>();
+        for (Car captured : cars)
+        {
+            Car car = CarManager.carList.get(captured.getUUID());
+            Set<String> remaining = new HashSet<>();
+            if (car != null)
+            {
+                for (PathNode node : car.getNodeList())
+                {
+                    remaining.add(keyOf(node));
+                }
+            }
+            for (PathNode node : captured.getNodeList())
+            {
+                String key = keyOf(node);
+                if (!remaining.contains(key))
+                {
+                    dispatched.put(key, captured.getUUID());
+                }
+            }
+        }
+        return dispatched;
+    }
+
+    private static String keyOf(PathNode node)
+    {
+        return (node.isOrigin() ? PICKUP : DROP_OFF) + node.getDemand().getUUID();
+    }
+
+    private static Map<String, Demand> indexByUuid(List<Demand> demands)
+    {
+        Map<String, Demand> result = new HashMap<>();
+        for (Demand demand : demands)
+        {
+            result.put(demand.getUUID(), demand);
+        }
+        return result;
+    }
+}
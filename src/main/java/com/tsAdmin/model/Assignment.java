@@ -12,6 +12,17 @@ public class Assignment
 
     public Assignment(Car car) { this.car = new Car(car); }
 
+    /**
+     * 路径的拷贝构造方法，用于写时复制
+     * <p><i>车辆快照与路径点均为只读对象，直接共享引用，仅复制路径点列表本身</i>
+     * @param others 被拷贝的分配方案
+     */
+    public Assignment(Assignment others)
+    {
+        this.car = others.car;
+        this.nodeList = new ArrayList<>(others.nodeList);
+    }
+
     public void addPathNode(PathNode pathNode) { nodeList.add(pathNode); }
 
     public Car getCar() { return car; }
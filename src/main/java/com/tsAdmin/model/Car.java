@@ -8,6 +8,7 @@ import com.tsAdmin.common.Coordinate;
 import com.tsAdmin.common.PathNode;
 import com.tsAdmin.common.Timer;
 import com.tsAdmin.control.Main;
+import com.tsAdmin.control.manager.CarManager;
 import com.tsAdmin.control.manager.DemandManager;
 
 /** 车辆 */
@@ -82,6 +83,7 @@ public class Car
     {
         prevState = currState;
         currState = newState;
+        CarManager.onCarStateChanged(this, prevState, currState);
     }
 
     // Getter
@@ -135,7 +137,7 @@ public class Car
             switch (currState)
             {
                 case ORDER_TAKEN:
-                    position = currDemand.getOrigin();
+                    setPosition(currDemand.getOrigin());
                     nextState = CarState.LOADING;
                     break;
 
@@ -148,7 +150,7 @@ public class Car
                     break;
 
                 case TRANSPORTING:
-                    position = currDemand.getDestination();
+                    setPosition(currDemand.getDestination());
                     nextState = CarState.UNLOADING;
                     break;
 
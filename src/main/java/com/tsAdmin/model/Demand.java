@@ -10,6 +10,7 @@ public class Demand
     private Poi origin;
     private Poi destination;
     private Product product;
+    private Demand parent;  // 拆分前的原订单，未拆分的订单为null
 
     private boolean isAssigned;
 
@@ -22,6 +23,18 @@ public class Demand
         this.isAssigned = false;
     }
 
+    /**
+     * 分批运输的子运单构造函数，起终点与原订单相同
+     * @param uuid 子运单UUID
+     * @param parent 原订单
+     * @param product 子运单承运的货物
+     */
+    public Demand(String uuid, Demand parent, Product product)
+    {
+        this(uuid, parent.origin, parent.destination, product);
+        this.parent = parent;
+    }
+
     // Setter
     public void setQuantity(int quantity) { this.product.setQuantity(quantity); }
     public void setVolume(double volume) { this.product.setVolume(volume); }
@@ -31,10 +44,15 @@ public class Demand
     public String getUUID() { return uuid; }
     public Coordinate getOrigin() { return origin.getPosition(); }
     public Coordinate getDestination() { return destination.getPosition(); }
+    public Poi getOriginPoi() { return origin; }
+    public Poi getDestinationPoi() { return destination; }
+    public double getDestinationStockRatio() { return destination.getStockRatio(); }
     public ProductType getType() { return product.getType(); }
     public int getQuantity() { return product.getQuantity(); }
     public double getVolume() { return product.getVolume(); }
     public boolean isAssigned() { return isAssigned; }
+    /** @return 子运单所属的原订单，未拆分的订单返回null */
+    public Demand getParent() { return parent; }
 
     public int routeLength()
     {
@@ -14,6 +14,7 @@ public abstract class Poi
     protected static double stockAlterSpeed;
 
     protected double stock;
+    protected int index = -1;  // 兴趣点下标，用于查询距离矩阵；未由管理器登记时为 -1
 
     public Poi(String uuid, String name, ProductType productType, Coordinate position, int maxStock)
     {
@@ -30,8 +31,12 @@ public abstract class Poi
     public String getUUID() { return uuid; }
     public ProductType getProductType() { return productType; }
     public Coordinate getPosition() { return position; }
+    public int getIndex() { return index; }
+    /** @return 库存占最大库存的比例 */
+    public double getStockRatio() { return maxStock > 0 ? stock / maxStock : 0.0; }
 
     public static void setStockAlterSpeed(int speed) { stockAlterSpeed = speed / 100.0; }
 
     public void setStock(double stock) { this.stock = stock; }
+    public void setIndex(int index) { this.index = index; }
 }
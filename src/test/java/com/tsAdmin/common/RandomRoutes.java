@@ -0,0 +1,97 @@
+package com.tsAdmin.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.tsAdmin.model.Assignment;
+import com.tsAdmin.model.Car;
+import com.tsAdmin.model.Demand;
+import com.tsAdmin.model.Product;
+import com.tsAdmin.model.ProductType;
+import com.tsAdmin.model.poi.Poi;
+
+/**
+ * 测试用随机路径生成
+ * 兴趣点与车辆坐标均匀分布在 [0, 10) × [0, 10) 内，订单起终点按随机位置成对插入，保证起点在终点之前
+ */
+public final class RandomRoutes
+{
+    private RandomRoutes() {}
+
+    /** @return 随机坐标上的兴趣点，不登记到兴趣点管理器 */
+    public static Poi poi(Random random)
+    {
+        return new Poi("p", "测试点", ProductType.WOOD, coordinate(random), 100)
+        {
+            @Override
+            public void update() {}
+        };
+    }
+
+    /** @return [0, 10) × [0, 10) 内的随机坐标 */
+    public static Coordinate coordinate(Random random)
+    {
+        return new Coordinate(random.nextDouble() * 10, random.nextDouble() * 10);
+    }
+
+    /**
+     * 体积取 1/8 的整数倍：前缀和在任何累加顺序下都没有舍入误差，
+     * 使增量判定与逐节点模拟的比较不受浮点累加顺序影响
+     * @param random 随机数生成器
+     * @param maxQuantity 货量上限（含）
+     * @param maxVolume 体积上限（不含）
+     * @return 随机起终点、随机货量与体积的订单
+     */
+    public static Demand demand(Random random, int maxQuantity, double maxVolume)
+    {
+        double volume = random.nextInt((int)(maxVolume * 8)) / 8.0;
+        Product product = new Product(ProductType.WOOD, 1 + random.nextInt(maxQuantity), volume);
+        return new Demand("d", poi(random), poi(random), product);
+    }
+
+    /**
+     * 生成随机路径：依次在随机位置 (i, j) 插入订单的起终点，不检查载重与体积约束
+     * @param random 随机数生成器
+     * @param pairs 订单数
+     * @param maxQuantity 订单货量上限
+     * @param maxVolume 订单体积上限
+     * @return 路径节点列表
+     */
+    public static List<PathNode> route(Random random, int pairs, int maxQuantity, double maxVolume)
+    {
+        List<PathNode> nodes = new ArrayList<>();
+        for (int p = 0; p < pairs; p++)
+        {
+            Demand demand = demand(random, maxQuantity, maxVolume);
+            int start = random.nextInt(nodes.size() + 1);
+            int end = start + random.nextInt(nodes.size() - start + 1);
+            insertPair(nodes, demand, start, end);
+        }
+        return nodes;
+    }
+
+    /**
+     * 在原路径下标 start、end 之前分别插入订单的起点与终点（start ≤ end）
+     * @param nodes 路径节点列表，原地修改
+     * @param demand 订单
+     * @param start 起点插入位置
+     * @param end 终点插入位置（相对原路径下标）
+     */
+    public static void insertPair(List<PathNode> nodes, Demand demand, int start, int end)
+    {
+        nodes.add(start, new PathNode(demand, true));
+        nodes.add(end + 1, new PathNode(demand, false));
+    }
+
+    /** @return 由车辆与节点列表组成的分配方案 */
+    public static Assignment assignment(Car car, List<PathNode> nodes)
+    {
+        Assignment assignment = new Assignment(car);
+        for (PathNode node : nodes)
+        {
+            assignment.addPathNode(node);
+        }
+        return assignment;
+    }
+}
@@ -0,0 +1,156 @@
+package com.tsAdmin.common.algorithm.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.tsAdmin.common.Coordinate;
+import com.tsAdmin.common.RandomRoutes;
+import com.tsAdmin.model.poi.Poi;
+
+/**
+ * DistanceMatrix 测试：查表结果与按坐标计算逐位相同，持久化文件按指纹失效
+ */
+class DistanceMatrixTest
+{
+    @AfterEach
+    void clearShared()
+    {
+        DistanceMatrix.setShared(null);
+    }
+
+    /** 直线距离矩阵的每个元素与 {@link Coordinate#distance} 逐位相同 */
+    @Test
+    void buildMatchesCoordinateDistance()
+    {
+        List<Coordinate> points = points(new Random(1), 120);
+        DistanceMatrix matrix = DistanceMatrix.build(points, null, DistanceMatrix.fingerprint(points, false));
+
+        assertEquals(points.size(), matrix.size());
+        for (int from = 0; from < points.size(); from++)
+        {
+            for (int to = 0; to < points.size(); to++)
+            {
+                double expected = from == to ? 0.0 : Coordinate.distance(points.get(from), points.get(to));
+                assertEquals(expected, matrix.distance(from, to), "(" + from + ", " + to + ")");
+            }
+        }
+    }
+
+    /** 写入后以相同指纹读回的矩阵与原矩阵逐位相同 */
+    @Test
+    void saveAndLoadRoundTrip() throws IOException
+    {
+        List<Coordinate> points = points(new Random(2), 50);
+        long fingerprint = DistanceMatrix.fingerprint(points, false);
+        DistanceMatrix matrix = DistanceMatrix.build(points, null, fingerprint);
+
+        Path file = Files.createTempFile("distance-matrix", ".bin");
+        try
+        {
+            matrix.save(file);
+            DistanceMatrix loaded = DistanceMatrix.load(file, fingerprint);
+            assertNotNull(loaded);
+            assertEquals(matrix.size(), loaded.size());
+            for (int from = 0; from < points.size(); from++)
+            {
+                for (int to = 0; to < points.size(); to++)
+                {
+                    assertEquals(matrix.distance(from, to), loaded.distance(from, to));
+                }
+            }
+
+            assertNull(DistanceMatrix.load(file, fingerprint + 1), "指纹不一致时不使用缓存");
+        }
+        finally
+        {
+            Files.deleteIfExists(file);
+        }
+        assertNull(DistanceMatrix.load(file, fingerprint), "文件不存在");
+    }
+
+    /** 兴趣点的数量、顺序、坐标或距离来源变化时指纹随之变化 */
+    @Test
+    void fingerprintTracksPoints()
+    {
+        List<Coordinate> points = points(new Random(3), 20);
+        long fingerprint = DistanceMatrix.fingerprint(points, false);
+
+        assertEquals(fingerprint, DistanceMatrix.fingerprint(new ArrayList<>(points), false));
+        assertNotEquals(fingerprint, DistanceMatrix.fingerprint(points, true));
+        assertNotEquals(fingerprint, DistanceMatrix.fingerprint(points.subList(0, 19), false));
+
+        List<Coordinate> swapped = new ArrayList<>(points);
+        Collections.swap(swapped, 0, 1);
+        assertNotEquals(fingerprint, DistanceMatrix.fingerprint(swapped, false));
+
+        List<Coordinate> moved = new ArrayList<>(points);
+        moved.set(5, new Coordinate(points.get(5).lat + 1e-9, points.get(5).lon));
+        assertNotEquals(fingerprint, DistanceMatrix.fingerprint(moved, false));
+    }
+
+    /** 超过上限的兴趣点数不建立矩阵 */
+    @Test
+    void rejectsOversizedInput()
+    {
+        assertTrue(DistanceMatrix.supports(DistanceMatrix.MAX_SIZE));
+        assertFalse(DistanceMatrix.supports(DistanceMatrix.MAX_SIZE + 1));
+
+        List<Coordinate> points = Collections.nCopies(DistanceMatrix.MAX_SIZE + 1, new Coordinate(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> DistanceMatrix.build(points, null, 0));
+    }
+
+    /** 矩阵覆盖的兴趣点查表，未登记或超出矩阵的兴趣点按坐标计算，两者结果一致 */
+    @Test
+    void betweenFallsBackToCoordinates()
+    {
+        Random random = new Random(4);
+        List<Poi> pois = new ArrayList<>();
+        List<Coordinate> points = new ArrayList<>();
+        for (int i = 0; i < 30; i++)
+        {
+            Poi poi = RandomRoutes.poi(random);
+            if (i < 20)
+            {
+                poi.setIndex(i);
+                points.add(poi.getPosition());
+            }
+            pois.add(poi);  // 后10个保持未登记
+        }
+        DistanceMatrix.setShared(DistanceMatrix.build(points, null, DistanceMatrix.fingerprint(points, false)));
+
+        for (Poi from : pois)
+        {
+            for (Poi to : pois)
+            {
+                double expected = from == to ? 0.0 : Coordinate.distance(from.getPosition(), to.getPosition());
+                assertEquals(expected, DistanceMatrix.between(from, to));
+            }
+        }
+    }
+
+    private static List<Coordinate> points(Random random, int count)
+    {
+        List<Coordinate> points = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+        {
+            points.add(RandomRoutes.coordinate(random));
+        }
+        return points;
+    }
+}
@@ -0,0 +1,124 @@
+package com.tsAdmin.common.algorithm.multiobjective;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator.ObjectiveType;
+import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator.ObjectiveVector;
+
+/**
+ * FrontStore 测试：列与按行保存的向量保持同步，距离内核与逐个调用归一化能量差选出同一成员
+ */
+class FrontStoreTest
+{
+    /** 经过随机追加、删除与压缩后，列中的值与按行保存的向量一致，最近成员与逐个计算归一化距离的结果一致 */
+    @Test
+    void nearestMatchesScalarDistance()
+    {
+        Random random = new Random(1);
+        FrontStore store = new FrontStore();
+        List<ObjectiveVector> rows = new ArrayList<>();
+        DynamicNormalizer normalizer = new DynamicNormalizer();
+
+        for (int step = 0; step < 5000; step++)
+        {
+            int action = random.nextInt(10);
+            if (action < 6 || rows.isEmpty())
+            {
+                ObjectiveVector vector = vector(random);
+                store.add(vector);
+                rows.add(vector);
+            }
+            else if (action < 9)
+            {
+                int index = random.nextInt(rows.size());
+                store.remove(index);
+                rows.remove(index);
+            }
+            else
+            {
+                boolean[] keep = new boolean[rows.size()];
+                List<ObjectiveVector> kept = new ArrayList<>();
+                for (int i = 0; i < keep.length; i++)
+                {
+                    keep[i] = random.nextInt(4) > 0;
+                    if (keep[i]) kept.add(rows.get(i));
+                }
+                store.retain(keep);
+                rows = kept;
+            }
+
+            // 归一化范围逐步建立：起初未初始化，之后随机扩展，部分目标长期保持退化范围
+            if (step > 200 && random.nextInt(20) == 0)
+            {
+                normalizer.update(vector(random));
+            }
+
+            assertEquals(rows.size(), store.size());
+            for (int i = 0; i < rows.size(); i++)
+            {
+                for (int d = 0; d < ObjectiveVector.DIMENSION; d++)
+                {
+                    assertEquals(rows.get(i).getComparableValue(d), store.get(d, i));
+                }
+            }
+
+            ObjectiveVector query = vector(random);
+            assertEquals(nearest(rows, query, normalizer), store.nearest(query, normalizer), "step " + step);
+        }
+    }
+
+    /** 所有目标都无法归一化时距离均为0，取下标0；集合为空时返回 -1 */
+    @Test
+    void degenerateRanges()
+    {
+        Random random = new Random(2);
+        FrontStore store = new FrontStore();
+        DynamicNormalizer normalizer = new DynamicNormalizer();
+        assertEquals(-1, store.nearest(vector(random), normalizer));
+
+        for (int i = 0; i < 10; i++)
+        {
+            store.add(vector(random));
+        }
+        assertEquals(0, store.nearest(vector(random), normalizer));
+
+        for (ObjectiveType type : ObjectiveType.values())
+        {
+            normalizer.setRange(type, 5.0, 5.0);
+        }
+        assertEquals(0, store.nearest(vector(random), normalizer));
+
+        store.clear();
+        assertEquals(-1, store.nearest(vector(random), normalizer));
+    }
+
+    /** 标量参考：逐个调用归一化能量差，取距离最小且下标最小的成员 */
+    private static int nearest(List<ObjectiveVector> rows, ObjectiveVector query, DynamicNormalizer normalizer)
+    {
+        int nearest = -1;
+        double minDistance = Double.MAX_VALUE;
+        for (int i = 0; i < rows.size(); i++)
+        {
+            double distance = normalizer.calculateNormalizedEnergyDifference(rows.get(i), query);
+            if (distance < minDistance)
+            {
+                minDistance = distance;
+                nearest = i;
+            }
+        }
+        return nearest;
+    }
+
+    /** 第3个目标恒为同一值，使其归一化范围保持退化 */
+    private static ObjectiveVector vector(Random random)
+    {
+        return new ObjectiveVector(random.nextDouble() * 100, random.nextInt(50), 7.0,
+                                   random.nextDouble() * 500, random.nextGaussian() * 30);
+    }
+}
@@ -0,0 +1,165 @@
+package com.tsAdmin.common.algorithm.multiobjective;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator.ObjectiveVector;
+import com.tsAdmin.common.algorithm.multiobjective.NonDominatedSet.NonDominatedSolution;
+
+/**
+ * NDTree 支配查询测试：随机增删下与逐个成员比较的结果对照，另以手工构造的点覆盖弱支配与相等的边界
+ */
+class NDTreeTest
+{
+    private static final double EPSILON = 1e-6;
+
+    private final DominanceComparator comparator = new DominanceComparator();
+
+    /** 经过随机插入与删除后，三类查询的结果都与线性扫描一致 */
+    @Test
+    void queriesMatchLinearScan()
+    {
+        // 小整数网格上的坐标会频繁出现相等分量，覆盖弱支配与相等的边界情况
+        for (int grid : new int[] { 4, 20, 1000 })
+        {
+            Random random = new Random(grid);
+            NDTree tree = new NDTree();
+            List<NonDominatedSolution> members = new ArrayList<>();
+
+            for (int step = 0; step < 3000; step++)
+            {
+                if (members.isEmpty() || random.nextInt(3) > 0)
+                {
+                    NonDominatedSolution solution = new NonDominatedSolution(vector(random, grid), new ArrayList<>());
+                    members.add(solution);
+                    tree.insert(solution);
+                }
+                else
+                {
+                    NonDominatedSolution solution = members.remove(random.nextInt(members.size()));
+                    assertTrue(tree.remove(solution));
+                    assertFalse(tree.remove(solution), "重复删除");
+                }
+                assertEquals(members.size(), tree.size());
+
+                ObjectiveVector query = random.nextInt(4) == 0 && !members.isEmpty()
+                    ? members.get(random.nextInt(members.size())).getObjectiveVector()
+                    : vector(random, grid);
+                double[] x = NDTree.pointOf(query);
+                String message = "grid " + grid + " step " + step;
+
+                assertEquals(isDominated(members, query), tree.isDominated(x), message);
+                assertEquals(containsEqual(members, query), tree.containsEqual(x, EPSILON), message);
+
+                List<NonDominatedSolution> collected = new ArrayList<>();
+                tree.collectDominated(x, collected);
+                assertEquals(identitySet(dominatedBy(members, query)), identitySet(collected), message);
+                assertEquals(collected.size(), identitySet(collected).size(), "收集结果无重复");
+            }
+        }
+    }
+
+    /** 相等的点互不支配；任一维更优、其余维不劣才构成支配，运量为越大越好的目标 */
+    @Test
+    void equalPointsDoNotDominate()
+    {
+        NDTree tree = new NDTree();
+        NonDominatedSolution member = new NonDominatedSolution(new ObjectiveVector(5, 5, 5, 5, 5), new ArrayList<>());
+        tree.insert(member);
+
+        double[] equal = NDTree.pointOf(new ObjectiveVector(5, 5, 5, 5, 5));
+        assertFalse(tree.isDominated(equal));
+        assertTrue(tree.containsEqual(equal, EPSILON));
+        List<NonDominatedSolution> collected = new ArrayList<>();
+        tree.collectDominated(equal, collected);
+        assertTrue(collected.isEmpty());
+
+        assertTrue(tree.isDominated(NDTree.pointOf(new ObjectiveVector(5, 5, 5, 4, 5))), "运量更少即被支配");
+        assertFalse(tree.isDominated(NDTree.pointOf(new ObjectiveVector(5, 5, 5, 6, 5))));
+        assertFalse(tree.isDominated(NDTree.pointOf(new ObjectiveVector(4, 6, 5, 5, 5))), "互有优劣");
+
+        tree.collectDominated(NDTree.pointOf(new ObjectiveVector(5, 4, 5, 5, 5)), collected);
+        assertEquals(1, collected.size());
+        assertTrue(collected.get(0) == member);
+    }
+
+    /** 清空后树为空，并可继续使用 */
+    @Test
+    void clearResetsTree()
+    {
+        Random random = new Random(1);
+        NDTree tree = new NDTree();
+        for (int i = 0; i < 100; i++)
+        {
+            tree.insert(new NonDominatedSolution(vector(random, 10), new ArrayList<>()));
+        }
+        tree.clear();
+        assertEquals(0, tree.size());
+        assertFalse(tree.isDominated(NDTree.pointOf(vector(random, 10))));
+
+        NonDominatedSolution solution = new NonDominatedSolution(vector(random, 10), new ArrayList<>());
+        tree.insert(solution);
+        assertTrue(tree.containsEqual(NDTree.pointOf(solution.getObjectiveVector()), EPSILON));
+    }
+
+    private boolean isDominated(List<NonDominatedSolution> members, ObjectiveVector x)
+    {
+        for (NonDominatedSolution member : members)
+        {
+            if (comparator.dominates(member.getObjectiveVector(), x)) return true;
+        }
+        return false;
+    }
+
+    private List<NonDominatedSolution> dominatedBy(List<NonDominatedSolution> members, ObjectiveVector x)
+    {
+        List<NonDominatedSolution> dominated = new ArrayList<>();
+        for (NonDominatedSolution member : members)
+        {
+            if (comparator.dominates(x, member.getObjectiveVector())) dominated.add(member);
+        }
+        return dominated;
+    }
+
+    private static boolean containsEqual(List<NonDominatedSolution> members, ObjectiveVector x)
+    {
+        for (NonDominatedSolution member : members)
+        {
+            boolean equal = true;
+            for (int d = 0; d < ObjectiveVector.DIMENSION; d++)
+            {
+                equal &= Math.abs(member.getObjectiveVector().getComparableValue(d) - x.getComparableValue(d)) < EPSILON;
+            }
+            if (equal) return true;
+        }
+        return false;
+    }
+
+    private static Set<NonDominatedSolution> identitySet(List<NonDominatedSolution> solutions)
+    {
+        Map<NonDominatedSolution, Boolean> map = new IdentityHashMap<>();
+        for (NonDominatedSolution solution : solutions)
+        {
+            map.put(solution, true);
+        }
+        return Collections.unmodifiableSet(map.keySet());
+    }
+
+    /** @return 各目标取 [0, grid) 内随机整数的目标向量 */
+    static ObjectiveVector vector(Random random, int grid)
+    {
+        return new ObjectiveVector(random.nextInt(grid), random.nextInt(grid), random.nextInt(grid),
+                                   random.nextInt(grid), random.nextInt(grid));
+    }
+}
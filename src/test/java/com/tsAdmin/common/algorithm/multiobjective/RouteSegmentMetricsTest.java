@@ -0,0 +1,144 @@
+package com.tsAdmin.common.algorithm.multiobjective;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.tsAdmin.common.Coordinate;
+import com.tsAdmin.common.PathNode;
+import com.tsAdmin.common.RandomRoutes;
+import com.tsAdmin.common.algorithm.graph.DistanceMatrix;
+import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator.RouteMetrics;
+import com.tsAdmin.control.scheduler.RouteProfile;
+import com.tsAdmin.model.Car;
+import com.tsAdmin.model.Demand;
+import com.tsAdmin.model.poi.Poi;
+
+/**
+ * RouteSegmentMetrics 测试：O(1) 边际指标须等于修改前后分别整条重算（{@link MultiObjectiveEvaluator#evaluateMetrics}）之差
+ */
+class RouteSegmentMetricsTest {
+
+    private static final int ROUNDS = 1000;
+    private static final double TOLERANCE = 1e-9;
+
+    private final MultiObjectiveEvaluator evaluator = new MultiObjectiveEvaluator();
+
+    @AfterEach
+    void clearDistanceMatrix() {
+        DistanceMatrix.setShared(null);
+    }
+
+    /** 按坐标计算距离时，所有可行插入位置的边际指标等于插入前后整条路径重算之差 */
+    @Test
+    void insertionDeltaMatchesFullEvaluation() {
+        checkInsertion(new Random(1), false);
+    }
+
+    /** 兴趣点距离查表时结果同样一致 */
+    @Test
+    void insertionDeltaMatchesFullEvaluationWithDistanceMatrix() {
+        checkInsertion(new Random(2), true);
+    }
+
+    /** 移除路径中每一对起终点的边际指标等于移除前后整条路径重算之差 */
+    @Test
+    void removalDeltaMatchesFullEvaluation() {
+        Random random = new Random(3);
+        RouteSegmentMetrics segments = new RouteSegmentMetrics(evaluator);
+        RouteMetrics delta = new RouteMetrics();
+        for (int round = 0; round < ROUNDS; round++) {
+            Car car = new Car("c", 100, 100, RandomRoutes.coordinate(random));
+            List<PathNode> nodes = RandomRoutes.route(random, 1 + random.nextInt(6), 40, 1.0);
+            if (!RouteProfile.of(car, nodes).isFeasible()) {
+                continue;
+            }
+
+            segments.reset(car, nodes);
+            RouteMetrics base = evaluator.evaluateMetrics(RandomRoutes.assignment(car, nodes));
+            for (int start = 0; start < nodes.size(); start++) {
+                if (!nodes.get(start).isOrigin()) {
+                    continue;
+                }
+                Demand demand = nodes.get(start).getDemand();
+                int end = start + 1;
+                while (nodes.get(end).getDemand() != demand) {
+                    end++;
+                }
+
+                List<PathNode> removed = new ArrayList<>(nodes);
+                removed.remove(end);
+                removed.remove(start);
+                RouteMetrics full = evaluator.evaluateMetrics(RandomRoutes.assignment(car, removed));
+                segments.removalDelta(demand.getQuantity(), start, end, delta);
+                assertDelta(base, full, delta, "round " + round + " (" + start + ", " + end + ")");
+            }
+        }
+    }
+
+    private void checkInsertion(Random random, boolean useMatrix) {
+        RouteSegmentMetrics segments = new RouteSegmentMetrics(evaluator);
+        RouteMetrics delta = new RouteMetrics();
+        for (int round = 0; round < ROUNDS; round++) {
+            Car car = new Car("c", 100, 100, RandomRoutes.coordinate(random));
+            List<PathNode> nodes = RandomRoutes.route(random, random.nextInt(5), 40, 1.0);
+            Demand demand = RandomRoutes.demand(random, 40, 1.0);
+            if (useMatrix) {
+                registerPois(nodes, demand);
+            }
+
+            RouteProfile profile = RouteProfile.of(car, nodes);
+            if (!profile.isFeasible()) {
+                continue;
+            }
+
+            segments.reset(car, nodes);
+            RouteMetrics base = evaluator.evaluateMetrics(RandomRoutes.assignment(car, nodes));
+            for (int start = 0; start <= nodes.size(); start++) {
+                for (int end = start; end <= nodes.size(); end++) {
+                    if (!profile.canInsert(demand.getQuantity(), demand.getVolume(), start, end)) {
+                        continue;  // 边际计算的前提是插入后路径可行
+                    }
+                    List<PathNode> inserted = new ArrayList<>(nodes);
+                    RandomRoutes.insertPair(inserted, demand, start, end);
+                    RouteMetrics full = evaluator.evaluateMetrics(RandomRoutes.assignment(car, inserted));
+                    segments.insertionDelta(demand.getQuantity(), demand.getOriginPoi(), demand.getDestinationPoi(),
+                                            start, end, delta);
+                    assertDelta(base, full, delta, "round " + round + " (" + start + ", " + end + ")");
+                }
+            }
+        }
+    }
+
+    /** 为路径与订单涉及的兴趣点编号，并以其坐标建立当前生效的距离矩阵 */
+    private static void registerPois(List<PathNode> nodes, Demand demand) {
+        Set<Poi> pois = new LinkedHashSet<>();
+        for (PathNode node : nodes) {
+            pois.add(node.getPoi());
+        }
+        pois.add(demand.getOriginPoi());
+        pois.add(demand.getDestinationPoi());
+
+        List<Coordinate> points = new ArrayList<>();
+        for (Poi poi : pois) {
+            poi.setIndex(points.size());
+            points.add(poi.getPosition());
+        }
+        DistanceMatrix.setShared(DistanceMatrix.build(points, null, DistanceMatrix.fingerprint(points, false)));
+    }
+
+    private static void assertDelta(RouteMetrics before, RouteMetrics after, RouteMetrics delta, String message) {
+        assertEquals(after.getWaitingTime() - before.getWaitingTime(), delta.getWaitingTime(), TOLERANCE, message);
+        assertEquals(after.getEmptyDistance() - before.getEmptyDistance(), delta.getEmptyDistance(), TOLERANCE, message);
+        assertEquals(after.getLoadWaste() - before.getLoadWaste(), delta.getLoadWaste(), TOLERANCE, message);
+        assertEquals(after.getDeliveredTonnage() - before.getDeliveredTonnage(), delta.getDeliveredTonnage(), TOLERANCE, message);
+        assertEquals(after.getCarbonEmission() - before.getCarbonEmission(), delta.getCarbonEmission(), TOLERANCE, message);
+    }
+}
@@ -0,0 +1,113 @@
+package com.tsAdmin.common.algorithm.spatial;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsAdmin.common.Coordinate;
+
+/**
+ * SpatialGrid 测试：逐环扩展的 k 近邻查询须与对全部对象按距离排序的结果相同，查询中心可在已占用区域之外
+ */
+class SpatialGridTest
+{
+    /** 经过随机登记、移动与移除后，k 近邻查询与对全部对象按距离排序取前 k 个的结果一致 */
+    @Test
+    void nearestMatchesBruteForce()
+    {
+        Random random = new Random(1);
+        for (double cellSize : new double[] { 0.05, 0.5, 3.0, 50.0 })
+        {
+            SpatialGrid<Object> grid = new SpatialGrid<>(cellSize);
+            Map<Object, Coordinate> positions = new IdentityHashMap<>();
+            List<Object> items = new ArrayList<>();
+
+            for (int step = 0; step < 2000; step++)
+            {
+                int action = random.nextInt(10);
+                if (action < 4 || items.isEmpty())
+                {
+                    Object item = new Object();
+                    Coordinate position = coordinate(random);
+                    items.add(item);
+                    positions.put(item, position);
+                    grid.update(item, position);
+                }
+                else if (action < 8)
+                {
+                    Object item = items.get(random.nextInt(items.size()));
+                    Coordinate position = random.nextBoolean()
+                        ? coordinate(random)
+                        : new Coordinate(positions.get(item).lat + random.nextGaussian() * 0.01,
+                                         positions.get(item).lon + random.nextGaussian() * 0.01);
+                    positions.put(item, position);
+                    grid.update(item, position);
+                }
+                else
+                {
+                    Object item = items.remove(random.nextInt(items.size()));
+                    positions.remove(item);
+                    assertTrue(grid.remove(item));
+                    assertFalse(grid.remove(item), "重复移除");
+                }
+                assertEquals(items.size(), grid.size());
+
+                // 查询中心可能落在所有已占用单元之外
+                Coordinate center = new Coordinate(random.nextDouble() * 14 - 2, random.nextDouble() * 14 - 2);
+                int k = random.nextInt(12);
+                List<Object> expected = bruteForce(items, positions, center, k);
+                List<Object> actual = grid.nearest(center, k);
+                assertEquals(expected.size(), actual.size(), "cellSize " + cellSize + " step " + step);
+                for (int i = 0; i < expected.size(); i++)
+                {
+                    assertSame(expected.get(i), actual.get(i));
+                }
+            }
+        }
+    }
+
+    /** 登记坐标为副本，调用方之后修改原坐标对象不影响索引 */
+    @Test
+    void storesCopyOfPosition()
+    {
+        SpatialGrid<Object> grid = new SpatialGrid<>(1.0);
+        Object near = new Object();
+        Object far = new Object();
+        Coordinate position = new Coordinate(0, 0);
+        grid.update(near, position);
+        grid.update(far, new Coordinate(5, 5));
+        position.set(new Coordinate(9, 9));
+
+        assertSame(near, grid.nearest(new Coordinate(0, 0), 1).get(0));
+    }
+
+    @Test
+    void rejectsNonPositiveCellSize()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new SpatialGrid<Object>(0));
+    }
+
+    /** 标量参考：对全部对象按到中心的距离排序后取前 k 个 */
+    private static List<Object> bruteForce(List<Object> items, Map<Object, Coordinate> positions, Coordinate center, int k)
+    {
+        List<Object> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparingDouble(item -> Coordinate.distance(center, positions.get(item))));
+        return sorted.subList(0, Math.min(k, sorted.size()));
+    }
+
+    private static Coordinate coordinate(Random random)
+    {
+        return new Coordinate(random.nextDouble() * 10, random.nextDouble() * 10);
+    }
+}
@@ -0,0 +1,122 @@
+package com.tsAdmin.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsAdmin.common.RandomRoutes;
+import com.tsAdmin.common.Timer;
+import com.tsAdmin.model.Demand;
+import com.tsAdmin.model.Product;
+import com.tsAdmin.model.ProductType;
+
+/**
+ * DemandBatcher 测试：按窗口时长、批量与紧急订单三种条件整批放行，不再待分配的订单不再跟踪
+ */
+class DemandBatcherTest
+{
+    private static final int BATCH = 5;
+    private static final double URGENT = 0.2;
+
+    private final Random random = new Random(1);
+    private final DemandBatcher batcher = new DemandBatcher();
+
+    /** 窗口为0时新订单到达即放行 */
+    @Test
+    void zeroWindowReleasesImmediately()
+    {
+        Demand demand = demand("a", 1.0);
+        assertTrue(batcher.update(List.of(demand), 0, BATCH, URGENT));
+        assertTrue(batcher.isReleased(demand));
+        assertEquals(0, batcher.getHeldCount());
+    }
+
+    /** 最早到达的订单等满窗口时长后，窗口中全部订单一起放行，包括刚到达的 */
+    @Test
+    void releasesWholeWindowWhenOldestExpires()
+    {
+        int window = 3 * Timer.TICK_SPEED;
+        List<Demand> pending = new ArrayList<>();
+        pending.add(demand("a", 1.0));
+        assertFalse(batcher.update(pending, window, BATCH, URGENT));
+        assertFalse(batcher.update(pending, window, BATCH, URGENT));
+        assertFalse(batcher.update(pending, window, BATCH, URGENT));
+
+        Demand late = demand("b", 1.0);
+        pending.add(late);
+        assertTrue(batcher.update(pending, window, BATCH, URGENT));
+        assertTrue(batcher.isReleased(pending.get(0)));
+        assertTrue(batcher.isReleased(late));
+        assertEquals(0, batcher.getHeldCount());
+
+        // 已放行的订单不再计入窗口，新窗口从下一个订单重新计时
+        pending.add(demand("c", 1.0));
+        assertFalse(batcher.update(pending, window, BATCH, URGENT));
+        assertEquals(1, batcher.getHeldCount());
+    }
+
+    /** 窗口中的订单数达到批量时立即放行 */
+    @Test
+    void releasesFullBatch()
+    {
+        List<Demand> pending = new ArrayList<>();
+        for (int i = 0; i < BATCH - 1; i++)
+        {
+            pending.add(demand("d" + i, 1.0));
+            assertFalse(batcher.update(pending, Integer.MAX_VALUE, BATCH, URGENT));
+        }
+        pending.add(demand("last", 1.0));
+        assertTrue(batcher.update(pending, Integer.MAX_VALUE, BATCH, URGENT));
+        for (Demand demand : pending)
+        {
+            assertTrue(batcher.isReleased(demand));
+        }
+    }
+
+    /** 终点库存不高于阈值的订单越过窗口，并带出窗口中的其他订单 */
+    @Test
+    void urgentDemandReleasesWindow()
+    {
+        List<Demand> pending = new ArrayList<>();
+        pending.add(demand("a", 1.0));
+        assertFalse(batcher.update(pending, Integer.MAX_VALUE, BATCH, URGENT));
+
+        pending.add(demand("b", 0.1));
+        assertTrue(batcher.update(pending, Integer.MAX_VALUE, BATCH, URGENT));
+        assertTrue(batcher.isReleased(pending.get(0)));
+    }
+
+    /** 已分配或已移除的订单不再视为已放行，也不占用窗口 */
+    @Test
+    void forgetsDemandsNoLongerPending()
+    {
+        Demand assigned = demand("a", 1.0);
+        assertTrue(batcher.update(List.of(assigned), 0, BATCH, URGENT));
+
+        Demand held = demand("b", 1.0);
+        assertFalse(batcher.update(List.of(held), Integer.MAX_VALUE, BATCH, URGENT));
+        assertFalse(batcher.isReleased(assigned));
+        assertEquals(1, batcher.getHeldCount());
+
+        assertFalse(batcher.update(List.of(), Integer.MAX_VALUE, BATCH, URGENT));
+        assertEquals(0, batcher.getHeldCount());
+    }
+
+    /**
+     * @param stockRatio 终点库存比例
+     * @return 终点库存为给定比例的订单
+     */
+    private Demand demand(String uuid, double stockRatio)
+    {
+        Demand demand = new Demand(uuid, RandomRoutes.poi(random), RandomRoutes.poi(random),
+            new Product(ProductType.WOOD, 1, 1.0));
+        demand.getDestinationPoi().setStock(stockRatio * 100);
+        return demand;
+    }
+}
@@ -0,0 +1,167 @@
+package com.tsAdmin.control.manager;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.tsAdmin.common.Coordinate;
+import com.tsAdmin.model.Car;
+
+/**
+ * {@link DemandManager#shipmentSizes} 测试：手算的典型车队，以及随机车队下拆分结果应满足的性质
+ */
+class DemandManagerTest
+{
+    @AfterEach
+    void clearCars()
+    {
+        CarManager.carList.clear();
+    }
+
+    /** 单车装得下的订单不拆分 */
+    @Test
+    void smallOrderIsNotSplit()
+    {
+        addCars(10);
+        assertArrayEquals(new int[] { 10 }, DemandManager.shipmentSizes(10, 1.0));
+    }
+
+    /** 超出单车运力时均分，多出的货量从前往后各分1 */
+    @Test
+    void largeOrderIsSplitEvenly()
+    {
+        addCars(10);
+        assertArrayEquals(new int[] { 6, 5 }, DemandManager.shipmentSizes(11, 1.0));
+
+        addCars(10, 10);
+        assertArrayEquals(new int[] { 9, 8, 8 }, DemandManager.shipmentSizes(25, 1.0));
+    }
+
+    /** 只有一辆大车时继续细分，直到每份都能装进小车 */
+    @Test
+    void splitsUntilSmallCarsFit()
+    {
+        addCars(30, 5, 5, 5, 5);
+        assertArrayEquals(new int[] { 5, 5, 5, 5, 5, 5, 5, 5 }, DemandManager.shipmentSizes(40, 1.0));
+    }
+
+    /** 轻泡货物按容积折算运力：35 t、12 m³ 的车只装得下 18 t 密度为 1.5 t/m³ 的货物 */
+    @Test
+    void volumeLimitsCapacity()
+    {
+        CarManager.carList.put("a", new Car("a", 35, 12, new Coordinate(0, 0)));
+        CarManager.carList.put("b", new Car("b", 35, 12, new Coordinate(0, 0)));
+        assertArrayEquals(new int[] { 15, 15 }, DemandManager.shipmentSizes(30, 20.0));
+    }
+
+    /** 车队为空时按车型等级估计：最大核载 35 t 的车型共 8 种容积组合 */
+    @Test
+    void emptyFleetUsesCarGrades()
+    {
+        assertArrayEquals(new int[] { 35 }, DemandManager.shipmentSizes(35, 0.0));
+        assertArrayEquals(new int[] { 34, 33, 33 }, DemandManager.shipmentSizes(100, 0.0));
+    }
+
+    /** 没有车辆能装下哪怕1个单位时不拆分 */
+    @Test
+    void noUsableCapacityKeepsOrder()
+    {
+        addCars(10);
+        assertArrayEquals(new int[] { 5 }, DemandManager.shipmentSizes(5, 1e6));
+    }
+
+    /**
+     * 随机车队与订单下拆分结果满足：各份之和等于原货量且相差不超过1；
+     * 每份都有 min(份数, 可用车辆数) 辆车装得下；少拆一份则不满足该条件（份数最少）
+     */
+    @Test
+    void randomSplitsAreMinimalAndBalanced()
+    {
+        Random random = new Random(1);
+        int[] loads = CarManager.getLoads();
+        int[] volumes = CarManager.getVolumes();
+        for (int round = 0; round < 300; round++)
+        {
+            CarManager.carList.clear();
+            int carCount = 1 + random.nextInt(40);
+            for (int i = 0; i < carCount; i++)
+            {
+                Car car = new Car("car" + i, loads[random.nextInt(loads.length)],
+                                  volumes[random.nextInt(volumes.length)], new Coordinate(0, 0));
+                CarManager.carList.put(car.getUUID(), car);
+            }
+
+            for (int order = 0; order < 20; order++)
+            {
+                int quantity = 1 + random.nextInt(400);
+                double volume = random.nextInt(5) == 0 ? 0.0 : quantity / (0.1 + random.nextDouble() * 8);
+                int[] sizes = DemandManager.shipmentSizes(quantity, volume);
+                String message = "round " + round + " quantity " + quantity + " volume " + volume;
+
+                int sum = 0, min = Integer.MAX_VALUE, max = 0;
+                for (int size : sizes)
+                {
+                    sum += size;
+                    min = Math.min(min, size);
+                    max = Math.max(max, size);
+                }
+                assertEquals(quantity, sum, message);
+                assertTrue(max - min <= 1, message);
+
+                List<Integer> capacities = usableCapacities(quantity, volume);
+                if (capacities.isEmpty())
+                {
+                    assertEquals(1, sizes.length, message);
+                    continue;
+                }
+                assertTrue(canCarry(capacities, sizes.length, max), message);
+                if (sizes.length > 1)
+                {
+                    int fewer = sizes.length - 1;
+                    assertTrue(!canCarry(capacities, fewer, (quantity + fewer - 1) / fewer), message);
+                }
+            }
+        }
+    }
+
+    /** 至少 min(count, 可用车辆数) 辆车装得下 size */
+    private static boolean canCarry(List<Integer> capacities, int count, int size)
+    {
+        int fitting = 0;
+        for (int capacity : capacities)
+        {
+            if (capacity >= size) fitting++;
+        }
+        return fitting >= Math.min(count, capacities.size());
+    }
+
+    /** 各车可装载该订单货物的最大货量（核载与按密度折算的容积中较小者），去掉装不下1个单位的车 */
+    private static List<Integer> usableCapacities(int quantity, double volume)
+    {
+        double density = volume > 0 ? quantity / volume : Double.POSITIVE_INFINITY;
+        List<Integer> capacities = new ArrayList<>();
+        for (Car car : CarManager.carList.values())
+        {
+            int capacity = (int)Math.min(car.getMaxLoad(), Math.floor(car.getMaxVolume() * density));
+            if (capacity > 0) capacities.add(capacity);
+        }
+        return capacities;
+    }
+
+    /** 登记核载依次为 loads、容积充足的车辆 */
+    private static void addCars(int... loads)
+    {
+        for (int load : loads)
+        {
+            String uuid = "car" + CarManager.carList.size();
+            CarManager.carList.put(uuid, new Car(uuid, load, 1000, new Coordinate(0, 0)));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.tsAdmin.control.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsAdmin.common.PathNode;
+import com.tsAdmin.common.RandomRoutes;
+import com.tsAdmin.model.Assignment;
+import com.tsAdmin.model.Car;
+import com.tsAdmin.model.Demand;
+import com.tsAdmin.model.Product;
+import com.tsAdmin.model.ProductType;
+
+/**
+ * ALNSScheduler 测试：在含已提交路径与已装货订单的问题上，检查结果与发布的前沿都是覆盖全部订单的合法解
+ */
+class ALNSSchedulerTest
+{
+    private static final int CARS = 8;
+    private static final int DEMANDS = 20;
+
+    private final Random random = new Random(1);
+
+    private Demand carried;    // 已装货、只剩终点的订单，在车辆 c0 上
+    private Demand committed;  // 已提交、尚未装货的订单，在车辆 c1 上
+
+    /** 每个订单恰好分配一次，已装货订单留在原车辆上，结果只包含路径有变化的车辆 */
+    @Test
+    void assignsEveryDemandOnce()
+    {
+        SchedulingProblem problem = problem();
+        List<Assignment> result = new ALNSScheduler().schedule(problem);
+
+        for (Assignment assignment : result)
+        {
+            Car car = problem.getCars().get(problem.indexOf(assignment.getCar().getUUID()));
+            assertNotEquals(car.getNodeList(), assignment.getNodeList(), "未变化的路径不应出现在结果中");
+        }
+        assertCovers(problem, SolutionAssertions.merge(problem, result));
+    }
+
+    /** 发布的前沿基于本次快照，从中选出的解同样覆盖全部订单 */
+    @Test
+    void publishesFrontOfSolvedProblem()
+    {
+        ALNSScheduler scheduler = new ALNSScheduler();
+        assertNull(scheduler.getFront());
+
+        SchedulingProblem problem = problem();
+        scheduler.schedule(problem);
+        ParetoFront front = scheduler.getFront();
+        assertNotNull(front);
+        assertSame(problem, front.getProblem());
+        assertTrue(front.getHypervolume() >= 0.0 && front.getHypervolume() <= 1.0);
+
+        List<Assignment> selected = front.select(new boolean[] { true, false, false, false, true });
+        assertNotNull(selected);
+        assertCovers(problem, SolutionAssertions.merge(problem, selected));
+    }
+
+    /** 时间预算为0时立即返回，结果仍是合法解 */
+    @Test
+    void zeroBudgetReturnsValidSolution()
+    {
+        SchedulingProblem problem = problem();
+        assertCovers(problem, SolutionAssertions.merge(problem, new ALNSScheduler().schedule(problem, 0)));
+    }
+
+    private void assertCovers(SchedulingProblem problem, List<Assignment> solution)
+    {
+        Map<Demand, String> carOf = SolutionAssertions.assertPaired(problem, solution);
+        assertEquals(DEMANDS + 2, carOf.size());
+        for (Demand demand : problem.getDemands())
+        {
+            assertTrue(carOf.containsKey(demand), demand.getUUID() + " 未分配");
+        }
+        assertEquals("c0", carOf.get(carried));
+        assertTrue(carOf.containsKey(committed));
+    }
+
+    /**
+     * 车辆 c0 载着订单 carried 的货物，c1 已提交订单 committed，其余车辆空闲；另有 DEMANDS 个待分配订单
+     * 车队运力足以装下全部订单
+     */
+    private SchedulingProblem problem()
+    {
+        List<Car> cars = new ArrayList<>();
+        for (int c = 0; c < CARS; c++)
+        {
+            Car car = new Car("c" + c, 40, 100, RandomRoutes.coordinate(random));
+            car.setNodeList(new ArrayList<>());
+            cars.add(car);
+        }
+
+        carried = demand("carried");
+        cars.get(0).setLoad(carried.getQuantity());
+        cars.get(0).setVolume((int)Math.ceil(carried.getVolume()));
+        cars.get(0).getNodeList().add(new PathNode(carried, false));
+        committed = demand("committed");
+        RandomRoutes.insertPair(cars.get(1).getNodeList(), committed, 0, 0);
+
+        List<Demand> demands = new ArrayList<>();
+        for (int d = 0; d < DEMANDS; d++)
+        {
+            demands.add(demand("d" + d));
+        }
+        return new SchedulingProblem(cars, demands);
+    }
+
+    private Demand demand(String uuid)
+    {
+        return new Demand(uuid, RandomRoutes.poi(random), RandomRoutes.poi(random),
+            new Product(ProductType.WOOD, 1 + random.nextInt(10), random.nextInt(80) / 8.0));
+    }
+}
@@ -0,0 +1,127 @@
+package com.tsAdmin.control.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsAdmin.common.Coordinate;
+import com.tsAdmin.model.Assignment;
+import com.tsAdmin.model.Car;
+import com.tsAdmin.model.Demand;
+import com.tsAdmin.model.Product;
+import com.tsAdmin.model.ProductType;
+import com.tsAdmin.model.poi.Poi;
+
+/**
+ * DecompositionScheduler 测试：区域划分不重不漏且在周期之间稳定，合并后的结果覆盖全部订单
+ */
+class DecompositionSchedulerTest
+{
+    /** 三个相距较远的城市，车辆与订单都聚集在城市周边 */
+    private static final Coordinate[] CITIES = {
+        new Coordinate(0, 0), new Coordinate(5, 5), new Coordinate(10, 0)
+    };
+    private static final int CARS_PER_CITY = 4;
+    private static final int DEMANDS_PER_CITY = 6;
+
+    private final Random random = new Random(1);
+
+    /** 每辆车、每个订单恰好属于一个区域，有订单的区域都有车辆 */
+    @Test
+    void partitionsCoverProblemOnce()
+    {
+        SchedulingProblem problem = problem();
+        List<PartitionedScheduler.Partition> regions = new DecompositionScheduler().partition(problem);
+
+        Map<Object, Integer> regionOf = regionsOf(regions);
+        assertEquals(problem.getCars().size() + problem.getDemands().size(), regionOf.size());
+        for (PartitionedScheduler.Partition region : regions)
+        {
+            assertFalse(!region.demands.isEmpty() && region.cars.isEmpty(), "有订单的区域没有车辆");
+        }
+    }
+
+    /** 问题不变时，下一周期以上一周期的中心为初值，得到相同的划分 */
+    @Test
+    void regionsAreStableAcrossTicks()
+    {
+        SchedulingProblem problem = problem();
+        DecompositionScheduler scheduler = new DecompositionScheduler();
+        Map<Object, Integer> first = regionsOf(scheduler.partition(problem));
+        Map<Object, Integer> second = regionsOf(scheduler.partition(problem));
+        assertEquals(first, second);
+    }
+
+    /** 合并各区域结果后，每个订单恰好分配一次，路径均可行 */
+    @Test
+    void scheduleAssignsEveryDemandOnce()
+    {
+        SchedulingProblem problem = problem();
+        List<Assignment> solution = SolutionAssertions.merge(problem, new DecompositionScheduler().schedule(problem));
+        Map<Demand, String> carOf = SolutionAssertions.assertPaired(problem, solution);
+        for (Demand demand : problem.getDemands())
+        {
+            assertTrue(carOf.containsKey(demand), demand.getUUID() + " 未分配");
+        }
+    }
+
+    /** @return 车辆或订单 → 所在区域下标，同时检查没有对象属于两个区域 */
+    private static Map<Object, Integer> regionsOf(List<PartitionedScheduler.Partition> regions)
+    {
+        Map<Object, Integer> regionOf = new HashMap<>();
+        for (int r = 0; r < regions.size(); r++)
+        {
+            List<Object> members = new ArrayList<>(regions.get(r).cars);
+            members.addAll(regions.get(r).demands);
+            for (Object member : members)
+            {
+                assertEquals(null, regionOf.put(member, r), member + " 属于两个区域");
+            }
+        }
+        return regionOf;
+    }
+
+    private SchedulingProblem problem()
+    {
+        List<Car> cars = new ArrayList<>();
+        List<Demand> demands = new ArrayList<>();
+        for (Coordinate city : CITIES)
+        {
+            for (int c = 0; c < CARS_PER_CITY; c++)
+            {
+                Car car = new Car("c" + cars.size(), 40, 100, near(city));
+                car.setNodeList(new ArrayList<>());
+                cars.add(car);
+            }
+            for (int d = 0; d < DEMANDS_PER_CITY; d++)
+            {
+                demands.add(new Demand("d" + demands.size(), poi(city), poi(city),
+                    new Product(ProductType.WOOD, 1 + random.nextInt(10), random.nextInt(80) / 8.0)));
+            }
+        }
+        return new SchedulingProblem(cars, demands);
+    }
+
+    /** @return 城市周边 ±0.5 范围内的随机坐标 */
+    private Coordinate near(Coordinate city)
+    {
+        return new Coordinate(city.lat + random.nextDouble() - 0.5, city.lon + random.nextDouble() - 0.5);
+    }
+
+    private Poi poi(Coordinate city)
+    {
+        return new Poi("p", "测试点", ProductType.WOOD, near(city), 100)
+        {
+            @Override
+            public void update() {}
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package com.tsAdmin.control.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * InsertionPositionSampler 测试：仿射置换须不重不漏地产出全部候选位置
+ */
+class InsertionPositionSamplerTest
+{
+    /** 每个 (startPos, endPos) 恰好出现一次，与双重循环枚举的候选集合相同 */
+    @Test
+    void enumeratesEveryPositionExactlyOnce()
+    {
+        Random random = new Random(1);
+        InsertionPositionSampler sampler = new InsertionPositionSampler();
+        for (int size = 0; size <= 60; size++)
+        {
+            for (int round = 0; round < 20; round++)
+            {
+                int[][] seen = new int[size + 1][size + 1];
+                int count = 0;
+                sampler.reset(size, random);
+                while (sampler.next())
+                {
+                    int start = sampler.startPos();
+                    int end = sampler.endPos();
+                    assertTrue(0 <= start && start <= end && end <= size, "size " + size + " (" + start + ", " + end + ")");
+                    seen[start][end]++;
+                    count++;
+                }
+                assertFalse(sampler.next(), "枚举结束后不再产出");
+
+                assertEquals((size + 1) * (size + 2) / 2, count, "size " + size);
+                for (int start = 0; start <= size; start++)
+                {
+                    for (int end = start; end <= size; end++)
+                    {
+                        assertEquals(1, seen[start][end], "size " + size + " (" + start + ", " + end + ")");
+                    }
+                }
+            }
+        }
+    }
+
+    /** 枚举顺序随随机数变化，而非固定的双重循环顺序 */
+    @Test
+    void orderDependsOnRandom()
+    {
+        InsertionPositionSampler sampler = new InsertionPositionSampler();
+        int size = 10;
+        String first = order(sampler, size, new Random(1));
+        boolean differs = false;
+        for (long seed = 2; seed < 10 && !differs; seed++)
+        {
+            differs = !first.equals(order(sampler, size, new Random(seed)));
+        }
+        assertTrue(differs);
+    }
+
+    private static String order(InsertionPositionSampler sampler, int size, Random random)
+    {
+        StringBuilder builder = new StringBuilder();
+        sampler.reset(size, random);
+        while (sampler.next())
+        {
+            builder.append(sampler.startPos()).append(',').append(sampler.endPos()).append(';');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package com.tsAdmin.control.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.tsAdmin.common.PathNode;
+import com.tsAdmin.common.RandomRoutes;
+import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator.ObjectiveVector;
+import com.tsAdmin.common.algorithm.multiobjective.NonDominatedSet;
+import com.tsAdmin.control.manager.CarManager;
+import com.tsAdmin.control.manager.DemandManager;
+import com.tsAdmin.model.Assignment;
+import com.tsAdmin.model.Car;
+import com.tsAdmin.model.Demand;
+import com.tsAdmin.model.Product;
+import com.tsAdmin.model.ProductType;
+
+/**
+ * MOSAScheduler 热启动修复测试：修复后的每个解中，每个订单恰好有一对起终点、起点在前，且各路径可行
+ */
+class MOSASchedulerTest
+{
+    private final Random random = new Random(1);
+
+    @AfterEach
+    void clearManagers()
+    {
+        CarManager.carList.clear();
+        DemandManager.demandList.clear();
+    }
+
+    /**
+     * 上一周期提交了方案 X：a 执行 d1，b 执行 d2；前沿中另一个解 Y 把 d2 放在 a 上、没有 d1
+     * 刷新后 a 多了 5 t 货物，Y 中 a 的路径超载，d2 须取出重新插入；d1 已提交却不在 Y 中，同样须重新插入
+     */
+    @Test
+    void repairsUnkeptCommittedPairAndInfeasibleRoute()
+    {
+        Demand d1 = demand("d1", 4);
+        Demand d2 = demand("d2", 8);
+        Car a = car("a", d1);
+        Car b = car("b", d2);
+        a.setLoad(5);
+
+        MOSAScheduler scheduler = new MOSAScheduler();
+        List<PathNode> previous = new ArrayList<>();
+        RandomRoutes.insertPair(previous, d2, 0, 0);
+        scheduler.getNonDominatedSet().add(new ObjectiveVector(0, 0, 0, 0, 0),
+            Arrays.asList(RandomRoutes.assignment(new Car(a), previous), new Assignment(new Car(b))));
+
+        SchedulingProblem problem = SchedulingProblem.capture();
+        assertTrue(scheduler.repairPreviousFront(problem));
+
+        List<NonDominatedSet.NonDominatedSolution> solutions = scheduler.getNonDominatedSet().getSolutions();
+        assertFalse(solutions.isEmpty());
+        for (NonDominatedSet.NonDominatedSolution solution : solutions)
+        {
+            Map<Demand, String> carOf = SolutionAssertions.assertPaired(problem, solution.getAssignments());
+            assertEquals(2, carOf.size(), "每个订单恰好分配一次");
+            assertEquals("b", carOf.get(d2), "a 已装不下 d2");
+            assertTrue(carOf.containsKey(d1));
+        }
+    }
+
+    /** 登记一辆核载 10 t 的空闲车辆，其已提交路径只有订单 demand */
+    private Car car(String uuid, Demand demand)
+    {
+        Car car = new Car(uuid, 10, 100, RandomRoutes.coordinate(random));
+        List<PathNode> nodes = new ArrayList<>();
+        RandomRoutes.insertPair(nodes, demand, 0, 0);
+        car.setNodeList(nodes);
+        CarManager.carList.put(uuid, car);
+        return car;
+    }
+
+    /** 登记一个已分配订单 */
+    private Demand demand(String uuid, int quantity)
+    {
+        Demand demand = new Demand(uuid, RandomRoutes.poi(random), RandomRoutes.poi(random),
+            new Product(ProductType.WOOD, quantity, 1.0));
+        demand.setAssigned();
+        DemandManager.demandList.put(uuid, demand);
+        return demand;
+    }
+}
@@ -0,0 +1,76 @@
+package com.tsAdmin.control.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsAdmin.common.Coordinate;
+import com.tsAdmin.common.algorithm.multiobjective.DynamicNormalizer;
+import com.tsAdmin.common.algorithm.multiobjective.MultiObjectiveEvaluator.ObjectiveVector;
+import com.tsAdmin.common.algorithm.multiobjective.NonDominatedSet;
+import com.tsAdmin.model.Assignment;
+import com.tsAdmin.model.Car;
+
+/**
+ * ParetoFront 测试：理想点法选解，且发布后求解器继续修改前沿与归一化器不影响已发布的对象
+ */
+class ParetoFrontTest
+{
+    /** 只选一个目标时选中该目标最优的解，全不选时返回第一个解 */
+    @Test
+    void selectsIdealPoint()
+    {
+        NonDominatedSet set = new NonDominatedSet();
+        set.add(new ObjectiveVector(1, 5, 0, 0, 0), solution("a"));
+        set.add(new ObjectiveVector(5, 1, 0, 0, 0), solution("b"));
+        DynamicNormalizer normalizer = new DynamicNormalizer();
+        normalizer.updateFromNonDominatedSet(set);
+        ParetoFront front = new ParetoFront(null, set, normalizer, 0.5);
+
+        assertEquals("a", carOf(front.select(new boolean[] { true, false, false, false, false })));
+        assertEquals("b", carOf(front.select(new boolean[] { false, true, false, false, false })));
+        assertEquals("a", carOf(front.select(new boolean[5])));
+        assertEquals(0.5, front.getHypervolume());
+    }
+
+    /** 发布后清空前沿、加入新解并重置归一化器，已发布的前沿仍按发布时的状态选解 */
+    @Test
+    void publishedFrontIsDetached()
+    {
+        NonDominatedSet set = new NonDominatedSet();
+        set.add(new ObjectiveVector(1, 5, 0, 0, 0), solution("a"));
+        set.add(new ObjectiveVector(5, 1, 0, 0, 0), solution("b"));
+        DynamicNormalizer normalizer = new DynamicNormalizer();
+        normalizer.updateFromNonDominatedSet(set);
+        ParetoFront front = new ParetoFront(null, set, normalizer, 0.5);
+
+        set.clear();
+        set.add(new ObjectiveVector(9, 0, 0, 0, 0), solution("c"));
+        normalizer.reset();
+
+        assertEquals("b", carOf(front.select(new boolean[] { false, true, false, false, false })));
+        assertEquals("a", carOf(front.select(new boolean[] { true, false, false, false, false })));
+    }
+
+    /** 空前沿没有可选的解 */
+    @Test
+    void emptyFrontSelectsNothing()
+    {
+        ParetoFront front = new ParetoFront(null, new NonDominatedSet(), new DynamicNormalizer(), 0.0);
+        assertNull(front.select(new boolean[] { true, true, true, true, true }));
+    }
+
+    /** @return 只有一辆空路径车辆的解，以车辆UUID区分 */
+    private static List<Assignment> solution(String carUuid)
+    {
+        return List.of(new Assignment(new Car(carUuid, 10, 10, new Coordinate(0, 0))));
+    }
+
+    private static String carOf(List<Assignment> solution)
+    {
+        return solution.get(0).getCar().getUUID();
+    }
+}
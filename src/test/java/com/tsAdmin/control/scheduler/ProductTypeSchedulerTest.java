@@ -0,0 +1,177 @@
+package com.tsAdmin.control.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsAdmin.common.RandomRoutes;
+import com.tsAdmin.model.Assignment;
+import com.tsAdmin.model.Car;
+import com.tsAdmin.model.Demand;
+import com.tsAdmin.model.Product;
+import com.tsAdmin.model.ProductType;
+import com.tsAdmin.model.poi.Poi;
+
+/**
+ * ProductTypeScheduler 测试：分区按货物类型划分，有任务的车辆锁定类型，空闲车辆在周期之间保持类型并向积压类型调动，
+ * 本类型车辆装不下的订单由边界修复交给其他类型的车辆
+ */
+class ProductTypeSchedulerTest
+{
+    private final Random random = new Random(1);
+
+    /** 每个分区只含本类型的订单，每辆车恰好属于一个分区 */
+    @Test
+    void partitionsAreTypePure()
+    {
+        List<Car> cars = idleCars(6);
+        List<Demand> demands = new ArrayList<>();
+        for (int d = 0; d < 9; d++)
+        {
+            demands.add(demand("d" + d, ProductType.values()[d % 3], 5));
+        }
+        SchedulingProblem problem = new SchedulingProblem(cars, demands);
+
+        List<PartitionedScheduler.Partition> partitions = new ProductTypeScheduler().partition(problem);
+        assertEquals(ProductType.values().length, partitions.size());
+        int carCount = 0;
+        for (ProductType type : ProductType.values())
+        {
+            PartitionedScheduler.Partition partition = partitions.get(type.ordinal());
+            for (Demand demand : partition.demands)
+            {
+                assertEquals(type, demand.getType());
+            }
+            assertFalse(partition.cars.isEmpty(), type + " 有积压却没有车辆");
+            carCount += partition.cars.size();
+        }
+        assertEquals(cars.size(), carCount);
+    }
+
+    /** 路径或当前执行订单中已有货物的车辆留在该类型，即使该类型没有积压 */
+    @Test
+    void busyCarsStayInType()
+    {
+        Car routed = car("routed", 40);
+        RandomRoutes.insertPair(routed.getNodeList(), demand("steel", ProductType.STEEL, 5), 0, 0);
+        Car loaded = car("loaded", 40);
+        loaded.setCurrDemand(demand("pharma", ProductType.PHARMA, 5));
+        List<Car> cars = new ArrayList<>(List.of(routed, loaded));
+        cars.addAll(idleCars(2));
+
+        List<Demand> demands = new ArrayList<>();
+        for (int d = 0; d < 4; d++)
+        {
+            demands.add(demand("d" + d, ProductType.WOOD, 5));
+        }
+
+        Map<String, ProductType> typeOf = typesOf(new ProductTypeScheduler().partition(new SchedulingProblem(cars, demands)));
+        assertEquals(ProductType.STEEL, typeOf.get("routed"));
+        assertEquals(ProductType.PHARMA, typeOf.get("loaded"));
+        assertEquals(ProductType.WOOD, typeOf.get("c0"));
+        assertEquals(ProductType.WOOD, typeOf.get("c1"));
+    }
+
+    /** 空闲车辆沿用上一周期的类型，不随车辆顺序重新分配；出现新积压的类型从其他类型调入空闲车辆 */
+    @Test
+    void idleCarsKeepTypeUntilRebalanced()
+    {
+        List<Car> cars = idleCars(4);
+        List<Demand> demands = new ArrayList<>();
+        for (int d = 0; d < 4; d++)
+        {
+            demands.add(demand("d" + d, d % 2 == 0 ? ProductType.WOOD : ProductType.STEEL, 5));
+        }
+        ProductTypeScheduler scheduler = new ProductTypeScheduler();
+        Map<String, ProductType> first = typesOf(scheduler.partition(new SchedulingProblem(cars, demands)));
+
+        List<Car> reversed = new ArrayList<>(cars);
+        Collections.reverse(reversed);
+        assertEquals(first, typesOf(scheduler.partition(new SchedulingProblem(reversed, demands))));
+        assertFalse(first.containsValue(ProductType.PHARMA));
+
+        demands.add(demand("pharma", ProductType.PHARMA, 5));
+        Map<String, ProductType> rebalanced = typesOf(scheduler.partition(new SchedulingProblem(cars, demands)));
+        assertTrue(rebalanced.containsValue(ProductType.PHARMA), "PHARMA 有积压却没有调入车辆");
+    }
+
+    /**
+     * STEEL 的唯一车辆核载 10 t，装不下 30 t 的 STEEL 订单；WOOD 的车辆在执行 WOOD 订单、不参与调动，
+     * 边界修复把该订单插入 WOOD 车辆的路径
+     */
+    @Test
+    void boundaryRepairCrossesTypes()
+    {
+        Car steel = car("steel", 10);
+        RandomRoutes.insertPair(steel.getNodeList(), demand("small", ProductType.STEEL, 5), 0, 0);
+        Car wood = car("wood", 40);
+        RandomRoutes.insertPair(wood.getNodeList(), demand("wood", ProductType.WOOD, 5), 0, 0);
+        Demand heavy = demand("heavy", ProductType.STEEL, 30);
+        SchedulingProblem problem = new SchedulingProblem(List.of(steel, wood), List.of(heavy));
+
+        ProductTypeScheduler scheduler = new ProductTypeScheduler();
+        Map<String, ProductType> typeOf = typesOf(scheduler.partition(problem));
+        assertEquals(ProductType.STEEL, typeOf.get("steel"));
+        assertEquals(ProductType.WOOD, typeOf.get("wood"));
+
+        List<Assignment> solution = SolutionAssertions.merge(problem, scheduler.schedule(problem));
+        Map<Demand, String> carOf = SolutionAssertions.assertPaired(problem, solution);
+        assertEquals("wood", carOf.get(heavy));
+    }
+
+    /** @return 车辆UUID → 所在分区的类型，同时检查没有车辆属于两个分区 */
+    private static Map<String, ProductType> typesOf(List<PartitionedScheduler.Partition> partitions)
+    {
+        Map<String, ProductType> typeOf = new HashMap<>();
+        for (ProductType type : ProductType.values())
+        {
+            for (Car car : partitions.get(type.ordinal()).cars)
+            {
+                assertNull(typeOf.put(car.getUUID(), type), car.getUUID() + " 属于两个分区");
+            }
+        }
+        return typeOf;
+    }
+
+    private List<Car> idleCars(int count)
+    {
+        List<Car> cars = new ArrayList<>();
+        for (int c = 0; c < count; c++)
+        {
+            cars.add(car("c" + c, 40));
+        }
+        return cars;
+    }
+
+    /** @return 核载 maxLoad t、路径为空的车辆 */
+    private Car car(String uuid, int maxLoad)
+    {
+        Car car = new Car(uuid, maxLoad, 100, RandomRoutes.coordinate(random));
+        car.setNodeList(new ArrayList<>());
+        return car;
+    }
+
+    private Demand demand(String uuid, ProductType type, int quantity)
+    {
+        return new Demand(uuid, poi(type), poi(type), new Product(type, quantity, 1.0));
+    }
+
+    private Poi poi(ProductType type)
+    {
+        return new Poi("p", "测试点", type, RandomRoutes.coordinate(random), 100)
+        {
+            @Override
+            public void update() {}
+        };
+    }
+}
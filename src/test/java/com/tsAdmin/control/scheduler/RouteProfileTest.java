@@ -0,0 +1,139 @@
+package com.tsAdmin.control.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsAdmin.common.Coordinate;
+import com.tsAdmin.common.PathNode;
+import com.tsAdmin.common.RandomRoutes;
+import com.tsAdmin.model.Car;
+import com.tsAdmin.model.Demand;
+
+/**
+ * RouteProfile 测试：O(1) 插入判定须与调度器实际使用的 {@link BaseScheduler#isFeasibleRoute} 对插入后路径的判定一致
+ */
+class RouteProfileTest
+{
+    private static final int ROUNDS = 500;
+
+    private final BaseScheduler scheduler = new GreedyScheduler();
+
+    /** 对所有插入位置，O(1) 判定与插入后整条路径逐节点模拟的结果一致 */
+    @Test
+    void canInsertMatchesFullWalk()
+    {
+        Random random = new Random(1);
+        RouteProfile profile = new RouteProfile();  // 跨轮复用，同时覆盖扩容与重置
+        for (int round = 0; round < ROUNDS; round++)
+        {
+            Car car = new Car("c", 30, 40, RandomRoutes.coordinate(random));
+            car.setLoad(random.nextInt(36));  // 部分车辆初始即超载
+            List<PathNode> nodes = RandomRoutes.route(random, random.nextInt(8), 15, 20.0);
+            Demand demand = RandomRoutes.demand(random, 15, 20.0);
+
+            profile.reset(car, nodes);
+            assertEquals(isFeasible(car, nodes), profile.isFeasible(), "原路径可行性");
+            for (int start = 0; start <= nodes.size(); start++)
+            {
+                for (int end = start; end <= nodes.size(); end++)
+                {
+                    List<PathNode> inserted = new ArrayList<>(nodes);
+                    RandomRoutes.insertPair(inserted, demand, start, end);
+                    assertEquals(isFeasible(car, inserted),
+                        profile.canInsert(demand.getQuantity(), demand.getVolume(), start, end),
+                        "round " + round + " (" + start + ", " + end + ")");
+                }
+            }
+        }
+    }
+
+    /** 区间最小值查询与逐个比较前缀剩余量的结果一致 */
+    @Test
+    void rangeMinimumMatchesLinearScan()
+    {
+        Random random = new Random(2);
+        for (int round = 0; round < ROUNDS; round++)
+        {
+            Car car = new Car("c", 30, 40, RandomRoutes.coordinate(random));
+            List<PathNode> nodes = RandomRoutes.route(random, random.nextInt(10), 15, 20.0);
+            RouteProfile profile = RouteProfile.of(car, nodes);
+
+            double[] loads = new double[nodes.size() + 1];
+            double[] volumes = new double[nodes.size() + 1];
+            loads[0] = car.getRemainingLoad();
+            volumes[0] = car.getRemainingVolume();
+            for (int k = 0; k < nodes.size(); k++)
+            {
+                PathNode node = nodes.get(k);
+                double sign = node.isOrigin() ? -1.0 : 1.0;
+                loads[k + 1] = loads[k] + sign * node.getDemand().getQuantity();
+                volumes[k + 1] = volumes[k] + sign * node.getDemand().getVolume();
+            }
+
+            for (int from = 0; from < loads.length; from++)
+            {
+                double minLoad = Double.POSITIVE_INFINITY;
+                double minVolume = Double.POSITIVE_INFINITY;
+                for (int to = from; to < loads.length; to++)
+                {
+                    minLoad = Math.min(minLoad, loads[to]);
+                    minVolume = Math.min(minVolume, volumes[to]);
+                    assertEquals(minLoad, profile.minRemainingLoad(from, to));
+                    assertEquals(minVolume, profile.minRemainingVolume(from, to));
+                }
+            }
+        }
+    }
+
+    /** 由紧凑路径引擎构建的剖面与由节点列表构建的剖面给出相同的判定 */
+    @Test
+    void engineProfileMatchesListProfile()
+    {
+        Random random = new Random(3);
+        for (int round = 0; round < ROUNDS; round++)
+        {
+            Car car = new Car("c", 30, 40, new Coordinate(0, 0));
+            List<PathNode> nodes = RandomRoutes.route(random, random.nextInt(8), 15, 20.0);
+            RouteEngine engine = RouteEngine.fromAssignments(List.of(RandomRoutes.assignment(car, nodes)));
+            RouteProfile fromList = RouteProfile.of(car, nodes);
+            RouteProfile fromEngine = new RouteProfile().reset(engine, 0);
+            Demand demand = RandomRoutes.demand(random, 15, 20.0);
+
+            assertEquals(fromList.size(), fromEngine.size());
+            assertEquals(fromList.isFeasible(), fromEngine.isFeasible(), "原路径可行性");
+            for (int start = 0; start <= nodes.size(); start++)
+            {
+                for (int end = start; end <= nodes.size(); end++)
+                {
+                    assertEquals(fromList.canInsert(demand.getQuantity(), demand.getVolume(), start, end),
+                        fromEngine.canInsert(demand.getQuantity(), demand.getVolume(), start, end),
+                        "round " + round + " (" + start + ", " + end + ")");
+                }
+            }
+        }
+    }
+
+    /** 空路径在初始超载时仍视为可行，但装不下任何订单 */
+    @Test
+    void overloadedCarWithEmptyRoute()
+    {
+        Car car = new Car("c", 30, 40, new Coordinate(0, 0));
+        car.setLoad(31);
+        RouteProfile profile = RouteProfile.of(car, new ArrayList<>());
+
+        assertTrue(profile.isFeasible());
+        assertFalse(profile.canInsert(1, 0, 0, 0));
+    }
+
+    private boolean isFeasible(Car car, List<PathNode> nodes)
+    {
+        return scheduler.isFeasibleRoute(RandomRoutes.assignment(car, nodes));
+    }
+}
@@ -0,0 +1,133 @@
+package com.tsAdmin.control.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.tsAdmin.common.PathNode;
+import com.tsAdmin.common.RandomRoutes;
+import com.tsAdmin.control.manager.CarManager;
+import com.tsAdmin.control.manager.DemandManager;
+import com.tsAdmin.model.Assignment;
+import com.tsAdmin.model.Car;
+import com.tsAdmin.model.Demand;
+import com.tsAdmin.model.Product;
+import com.tsAdmin.model.ProductType;
+
+/**
+ * SchedulingProblem 提交测试：模拟线程在捕获与提交之间派发路径点、送达订单时，提交结果仍与车辆实际状态一致
+ */
+class SchedulingProblemTest
+{
+    private final Random random = new Random(1);
+
+    @AfterEach
+    void clearManagers()
+    {
+        CarManager.carList.clear();
+        DemandManager.demandList.clear();
+    }
+
+    /** 捕获后 a 取走了 d 的货物，求解器却把 d 移到 b：d 的终点留在 a 上，b 不前往 d */
+    @Test
+    void movedDeliveryStaysWithCarrier()
+    {
+        Demand d = demand();
+        Car a = car("a", d);
+        Car b = car("b");
+        SchedulingProblem problem = SchedulingProblem.capture();
+        PathNode dropOff = a.getNodeList().get(1);
+        a.fetchFirstNode();
+
+        problem.commit(Arrays.asList(route(problem, "a"), route(problem, "b", d)));
+
+        assertEquals(List.of(dropOff), a.getNodeList());
+        assertTrue(b.getNodeList().isEmpty());
+    }
+
+    /** 求解器把 d 留在 a 上时，已派发的起点不再写回，终点保持在结果中的位置且不重复 */
+    @Test
+    void keptDeliveryIsNotDuplicated()
+    {
+        Demand d = demand();
+        Demand e = demand();
+        Car a = car("a", d);
+        SchedulingProblem problem = SchedulingProblem.capture();
+        a.fetchFirstNode();
+
+        Assignment result = route(problem, "a", e);
+        RandomRoutes.insertPair(result.getNodeList(), d, 0, 2);
+        problem.commit(List.of(result));
+
+        assertEquals(3, a.getNodeList().size());
+        assertSame(e, a.getNodeList().get(0).getDemand());
+        assertTrue(a.getNodeList().get(0).isOrigin());
+        assertSame(e, a.getNodeList().get(1).getDemand());
+        assertSame(d, a.getNodeList().get(2).getDemand());
+        assertFalse(a.getNodeList().get(2).isOrigin());
+        assertTrue(e.isAssigned());
+    }
+
+    /** 捕获后送达的订单不再写回，已派发起点的订单只写回终点 */
+    @Test
+    void deliveredDemandsAreDropped()
+    {
+        Demand d = demand();
+        Demand e = demand();
+        Car a = car("a", d, e);
+        SchedulingProblem problem = SchedulingProblem.capture();
+        a.fetchFirstNode();
+        a.fetchFirstNode();
+        a.fetchFirstNode();
+        DemandManager.removeDemand(d.getUUID());
+
+        problem.commit(List.of(route(problem, "a", d, e)));
+
+        assertEquals(1, a.getNodeList().size());
+        assertSame(e, a.getNodeList().get(0).getDemand());
+        assertFalse(a.getNodeList().get(0).isOrigin());
+    }
+
+    /** 由快照中的车辆副本与订单构成分配方案，各订单的起终点依次相邻 */
+    private static Assignment route(SchedulingProblem problem, String carUuid, Demand... demands)
+    {
+        List<PathNode> nodes = new ArrayList<>();
+        for (Demand demand : demands)
+        {
+            RandomRoutes.insertPair(nodes, demand, nodes.size(), nodes.size());
+        }
+        return RandomRoutes.assignment(problem.getCars().get(problem.indexOf(carUuid)), nodes);
+    }
+
+    /** 登记一辆车辆，其已提交路径依次为各订单的起终点 */
+    private Car car(String uuid, Demand... demands)
+    {
+        Car car = new Car(uuid, 30, 100, RandomRoutes.coordinate(random));
+        List<PathNode> nodes = new ArrayList<>();
+        for (Demand demand : demands)
+        {
+            RandomRoutes.insertPair(nodes, demand, nodes.size(), nodes.size());
+        }
+        car.setNodeList(nodes);
+        CarManager.carList.put(uuid, car);
+        return car;
+    }
+
+    /** 登记一个未分配订单 */
+    private Demand demand()
+    {
+        Demand demand = new Demand("d" + DemandManager.demandList.size(), RandomRoutes.poi(random), RandomRoutes.poi(random),
+            new Product(ProductType.WOOD, 1 + random.nextInt(10), 1.0));
+        DemandManager.demandList.put(demand.getUUID(), demand);
+        return demand;
+    }
+}
@@ -0,0 +1,107 @@
+package com.tsAdmin.control.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.tsAdmin.common.PathNode;
+import com.tsAdmin.model.Assignment;
+import com.tsAdmin.model.Car;
+import com.tsAdmin.model.Demand;
+
+/**
+ * 调度结果的通用检查：不依赖具体算法，只检查任何合法解都应满足的性质
+ */
+final class SolutionAssertions
+{
+    private static final BaseScheduler SCHEDULER = new GreedyScheduler();
+
+    private SolutionAssertions() {}
+
+    /**
+     * 把调度结果合并到快照的已提交路径上：结果中没有的车辆沿用快照中的路径
+     * @return 与快照车辆按下标一一对应的完整解
+     */
+    static List<Assignment> merge(SchedulingProblem problem, List<Assignment> result)
+    {
+        Map<String, Assignment> byCar = new HashMap<>();
+        for (Assignment assignment : result)
+        {
+            assertFalse(byCar.containsKey(assignment.getCar().getUUID()), "同一车辆有多条路径");
+            byCar.put(assignment.getCar().getUUID(), assignment);
+        }
+
+        List<Assignment> solution = new ArrayList<>();
+        for (Car car : problem.getCars())
+        {
+            Assignment assignment = byCar.get(car.getUUID());
+            solution.add(assignment != null ? assignment : BaseScheduler.committedRoute(car));
+        }
+        return solution;
+    }
+
+    /**
+     * 检查解中每条路径：
+     * - 同一订单的起点与终点是两个不同节点，在同一路径上且起点在前，订单不重复分配
+     * - 只有起点已派发（快照路径中只有终点）的订单可以只有终点，且必须留在原车辆上
+     * - 路径满足载重与体积约束
+     * @param problem 解所基于的问题快照
+     * @return 订单 → 所在车辆UUID
+     */
+    static Map<Demand, String> assertPaired(SchedulingProblem problem, List<Assignment> assignments)
+    {
+        Map<Demand, String> carOf = new HashMap<>();
+        for (Assignment assignment : assignments)
+        {
+            String carUuid = assignment.getCar().getUUID();
+            Map<Demand, PathNode> pickups = new HashMap<>();
+            for (PathNode node : assignment.getNodeList())
+            {
+                Demand demand = node.getDemand();
+                if (node.isOrigin())
+                {
+                    assertFalse(carOf.containsKey(demand), demand.getUUID() + " 被重复分配");
+                    carOf.put(demand, carUuid);
+                    pickups.put(demand, node);
+                }
+                else if (pickups.containsKey(demand))
+                {
+                    assertNotSame(pickups.remove(demand), node);
+                }
+                else
+                {
+                    Car car = problem.getCars().get(problem.indexOf(carUuid));
+                    assertTrue(isCarried(car, demand), demand.getUUID() + " 的终点不在其起点之后");
+                    assertFalse(carOf.containsKey(demand), demand.getUUID() + " 被重复分配");
+                    carOf.put(demand, carUuid);
+                }
+            }
+            assertTrue(pickups.isEmpty(), "起点缺少配对的终点：" + pickups.keySet());
+            assertTrue(SCHEDULER.isFeasibleRoute(assignment), carUuid + " 的路径不可行");
+        }
+        return carOf;
+    }
+
+    /** @return 订单在车辆快照的路径中只有终点，即货物已在车上 */
+    private static boolean isCarried(Car car, Demand demand)
+    {
+        boolean dropOff = false;
+        for (PathNode node : car.getNodeList())
+        {
+            if (node.getDemand() == demand)
+            {
+                if (node.isOrigin())
+                {
+                    return false;
+                }
+                dropOff = true;
+            }
+        }
+        return dropOff;
+    }
+}